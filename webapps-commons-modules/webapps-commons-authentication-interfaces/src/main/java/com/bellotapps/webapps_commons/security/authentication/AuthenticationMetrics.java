@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+/**
+ * Defines behaviour for an object that records metrics of the authentication process.
+ * All methods receive primitives (or already existing objects), and do nothing by default,
+ * which means that the {@link #NOOP} implementation does not allocate anything.
+ */
+public interface AuthenticationMetrics {
+
+    /**
+     * An {@link AuthenticationMetrics} that does not record anything.
+     */
+    AuthenticationMetrics NOOP = new AuthenticationMetrics() {
+    };
+
+
+    /**
+     * Records a token decoding operation.
+     *
+     * @param nanos   The amount of nanoseconds the operation took.
+     * @param success {@code true} if the token could be decoded, or {@code false} otherwise.
+     */
+    default void recordDecoding(final long nanos, final boolean success) {
+        // Do nothing
+    }
+
+    /**
+     * Records a blacklist check operation.
+     *
+     * @param nanos       The amount of nanoseconds the operation took.
+     * @param blacklisted {@code true} if the token was blacklisted, or {@code false} otherwise.
+     */
+    default void recordBlacklistCheck(final long nanos, final boolean blacklisted) {
+        // Do nothing
+    }
+
+    /**
+     * Records an access to the negative cache of tokens that failed to be decoded.
+     *
+     * @param hit {@code true} if the token was found in the cache, or {@code false} otherwise.
+     */
+    default void recordNegativeCacheAccess(final boolean hit) {
+        // Do nothing
+    }
+
+    /**
+     * Records a whole authentication attempt.
+     *
+     * @param nanos   The amount of nanoseconds the attempt took.
+     * @param success {@code true} if the attempt was successful, or {@code false} otherwise.
+     */
+    default void recordAuthentication(final long nanos, final boolean success) {
+        // Do nothing
+    }
+
+    /**
+     * Records an authentication failure.
+     *
+     * @param cause The type of exception that caused the failure
+     *              (i.e the most specific one, like an expired token exception).
+     */
+    default void recordFailure(final Class<? extends Throwable> cause) {
+        // Do nothing
+    }
+}
@@ -16,16 +16,27 @@
 
 package com.bellotapps.webapps_commons.security.authentication;
 
+import com.bellotapps.webapps_commons.exceptions.StacklessExceptions;
+
 /**
  * Exception thrown when there are token decoding issues.
+ * In stackless mode (see {@link StacklessExceptions}), it does not capture its stack trace
+ * (e.g when rethrown for each hit of a negatively cached token).
  */
 /* package */ final class TokenDecodingException extends TokenException {
 
+    /**
+     * Indicates whether the failure depends on the time the token was decoded
+     * (e.g the token is not valid yet, so it might be valid later).
+     */
+    private final boolean timeDependent;
+
     /**
      * Default constructor.
      */
     /* package */ TokenDecodingException() {
         super();
+        this.timeDependent = false;
     }
 
     /**
@@ -35,6 +46,7 @@ package com.bellotapps.webapps_commons.security.authentication;
      */
     /* package */ TokenDecodingException(final String message) {
         super(message);
+        this.timeDependent = false;
     }
 
     /**
@@ -45,6 +57,33 @@ package com.bellotapps.webapps_commons.security.authentication;
      *                For more information, see {@link RuntimeException#RuntimeException(Throwable)}.
      */
     /* package */ TokenDecodingException(final String message, final Throwable cause) {
+        this(message, cause, false);
+    }
+
+    /**
+     * Constructor which can set a {@code message}, a {@code cause}, and whether the failure depends on time.
+     *
+     * @param message       The detail message, which is saved for later retrieval by the {@link #getMessage()} method.
+     * @param cause         The cause (which is saved for later retrieval by the {@link #getCause()} method).
+     *                      For more information, see {@link RuntimeException#RuntimeException(Throwable)}.
+     * @param timeDependent Indicates whether the failure depends on the time the token was decoded.
+     */
+    /* package */ TokenDecodingException(final String message, final Throwable cause, final boolean timeDependent) {
         super(message, cause);
+        this.timeDependent = timeDependent;
+    }
+
+    /**
+     * @return {@code true} if the failure depends on the time the token was decoded
+     * (i.e decoding the same token later might succeed), or {@code false} otherwise.
+     */
+    /* package */ boolean isTimeDependent() {
+        return timeDependent;
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
     }
 }
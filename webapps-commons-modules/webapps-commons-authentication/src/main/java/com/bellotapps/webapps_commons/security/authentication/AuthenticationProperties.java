@@ -37,6 +37,12 @@ public class AuthenticationProperties {
     @NestedConfigurationProperty
     private JwtProperties jwt;
 
+    /**
+     * The "metrics" group.
+     */
+    @NestedConfigurationProperty
+    private MetricsProperties metrics = new MetricsProperties();
+
 
     /**
      * Getter for the "jwt" group.
@@ -56,6 +62,24 @@ public class AuthenticationProperties {
         this.jwt = jwt;
     }
 
+    /**
+     * Getter for the "metrics" group.
+     *
+     * @return The {@link MetricsProperties}.
+     */
+    public MetricsProperties getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Setter for the "metrics" group.
+     *
+     * @param metrics The {@link MetricsProperties}.
+     */
+    public void setMetrics(final MetricsProperties metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Sub-Configuration properties for jwts.
      */
@@ -73,6 +97,11 @@ public class AuthenticationProperties {
          * The duration of the jwt.
          */
         private Long duration;
+        /**
+         * The "negative-cache" group.
+         */
+        @NestedConfigurationProperty
+        private NegativeCacheProperties negativeCache = new NegativeCacheProperties();
 
         /**
          * Getter for the public key.
@@ -101,6 +130,15 @@ public class AuthenticationProperties {
             return duration;
         }
 
+        /**
+         * Getter for the "negative-cache" group.
+         *
+         * @return The {@link NegativeCacheProperties}.
+         */
+        public NegativeCacheProperties getNegativeCache() {
+            return negativeCache;
+        }
+
         /**
          * Setter for the public key.
          *
@@ -127,5 +165,121 @@ public class AuthenticationProperties {
         public void setDuration(final Long duration) {
             this.duration = duration;
         }
+
+        /**
+         * Setter for the "negative-cache" group.
+         *
+         * @param negativeCache The {@link NegativeCacheProperties}.
+         */
+        public void setNegativeCache(final NegativeCacheProperties negativeCache) {
+            this.negativeCache = negativeCache;
+        }
+    }
+
+    /**
+     * Sub-Configuration properties for the negative cache of tokens that failed to be decoded.
+     *
+     * @see NegativeCachingAuthenticationTokenDecoder
+     */
+    public static final class NegativeCacheProperties {
+
+        /**
+         * Indicates whether the negative cache is enabled.
+         */
+        private boolean enabled = true;
+        /**
+         * The amount of milliseconds a failure stays in the cache.
+         */
+        private long timeToLive = 30_000;
+        /**
+         * The maximum amount of entries in the cache.
+         */
+        private int maxSize = 10_000;
+
+        /**
+         * Getter for the enabled flag.
+         *
+         * @return {@code true} if the negative cache is enabled, or {@code false} otherwise.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Getter for the time to live.
+         *
+         * @return The amount of milliseconds a failure stays in the cache.
+         */
+        public long getTimeToLive() {
+            return timeToLive;
+        }
+
+        /**
+         * Getter for the max. size.
+         *
+         * @return The maximum amount of entries in the cache.
+         */
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Setter for the enabled flag.
+         *
+         * @param enabled {@code true} if the negative cache is enabled, or {@code false} otherwise.
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Setter for the time to live.
+         *
+         * @param timeToLive The amount of milliseconds a failure stays in the cache.
+         */
+        public void setTimeToLive(final long timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        /**
+         * Setter for the max. size.
+         *
+         * @param maxSize The maximum amount of entries in the cache.
+         */
+        public void setMaxSize(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Sub-Configuration properties for authentication metrics.
+     *
+     * @see MicrometerAuthenticationMetrics
+     */
+    public static final class MetricsProperties {
+
+        /**
+         * Indicates whether authentication metrics must be recorded
+         * (a Micrometer {@link io.micrometer.core.instrument.MeterRegistry} must be available).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Getter for the enabled flag.
+         *
+         * @return {@code true} if authentication metrics must be recorded, or {@code false} otherwise.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Setter for the enabled flag.
+         *
+         * @param enabled {@code true} if authentication metrics must be recorded, or {@code false} otherwise.
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
     }
 }
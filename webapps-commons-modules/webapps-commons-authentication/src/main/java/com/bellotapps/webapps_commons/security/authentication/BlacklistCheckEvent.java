@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event emitted when the {@link JwtAuthenticationTokenDataProvider}
+ * checks whether a token is blacklisted.
+ */
+@Name(BlacklistCheckEvent.NAME)
+@Label("Token Blacklist Check")
+@Category({"Webapps Commons", "Authentication"})
+@Description("Check of whether a token is blacklisted")
+@Threshold("1 ms")
+@StackTrace(false)
+/* package */ final class BlacklistCheckEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    /* package */ static final String NAME = "com.bellotapps.webapps_commons.TokenBlacklistCheck";
+
+    /**
+     * The id of the checked token.
+     */
+    @Label("Token Id")
+    private long tokenId;
+
+    /**
+     * Indicates whether the token is blacklisted.
+     */
+    @Label("Blacklisted")
+    private boolean blacklisted;
+
+
+    /**
+     * Creates a {@link BlacklistCheckEvent}, and starts its timing.
+     *
+     * @return The created {@link BlacklistCheckEvent}.
+     */
+    /* package */ static BlacklistCheckEvent start() {
+        final var event = new BlacklistCheckEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing of this event, and commits it if it must be committed.
+     *
+     * @param tokenId     The id of the checked token.
+     * @param blacklisted Indicates whether the token is blacklisted.
+     */
+    /* package */ void finish(final long tokenId, final boolean blacklisted) {
+        end();
+        if (shouldCommit()) {
+            this.tokenId = tokenId;
+            this.blacklisted = blacklisted;
+            commit();
+        }
+    }
+}
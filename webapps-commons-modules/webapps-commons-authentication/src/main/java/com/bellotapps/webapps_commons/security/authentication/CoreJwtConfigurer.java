@@ -16,6 +16,7 @@
 
 package com.bellotapps.webapps_commons.security.authentication;
 
+import com.bellotapps.webapps_commons.core.WarmUpTask;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 
@@ -24,6 +25,7 @@ import java.security.NoSuchAlgorithmException;
 
 /**
  * Core configuration for any type of jwt system (authentication or issuer).
+ * It also defines a {@link WarmUpTask} that encodes and decodes tokens (executed only if warm-up is enabled).
  */
 public class CoreJwtConfigurer {
 
@@ -32,4 +34,9 @@ public class CoreJwtConfigurer {
     public KeyFactory keyFactory() throws NoSuchAlgorithmException {
         return KeyFactory.getInstance(JwtAuthenticationTokenConstants.KEY_FACTORY_ALGORITHM);
     }
+
+    @Bean
+    public WarmUpTask jwtWarmUpTask() {
+        return new JwtWarmUpTask();
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AuthenticationTokenBlacklistedChecker} that records the time and outcome of each check
+ * performed by another checker in an {@link AuthenticationMetrics}.
+ */
+public final class InstrumentedAuthenticationTokenBlacklistedChecker implements AuthenticationTokenBlacklistedChecker {
+
+    /**
+     * The {@link AuthenticationTokenBlacklistedChecker} to which checks are delegated.
+     */
+    private final AuthenticationTokenBlacklistedChecker delegate;
+
+    /**
+     * The {@link AuthenticationMetrics} in which checks are recorded.
+     */
+    private final AuthenticationMetrics metrics;
+
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The {@link AuthenticationTokenBlacklistedChecker} to which checks are delegated.
+     * @param metrics  The {@link AuthenticationMetrics} in which checks are recorded.
+     */
+    public InstrumentedAuthenticationTokenBlacklistedChecker(final AuthenticationTokenBlacklistedChecker delegate,
+                                                             final AuthenticationMetrics metrics) {
+        Assert.notNull(delegate, "The delegate checker must not be null");
+        Assert.notNull(metrics, "The metrics must not be null");
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+
+    @Override
+    public boolean isBlacklisted(final long tokenId) {
+        final var start = System.nanoTime();
+        final var blacklisted = delegate.isBlacklisted(tokenId);
+        metrics.recordBlacklistCheck(System.nanoTime() - start, blacklisted);
+        return blacklisted;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AuthenticationTokenDecoder} that records the time and outcome of each decoding operation
+ * performed by another decoder in an {@link AuthenticationMetrics}.
+ */
+public final class InstrumentedAuthenticationTokenDecoder implements AuthenticationTokenDecoder {
+
+    /**
+     * The {@link AuthenticationTokenDecoder} to which decoding is delegated.
+     */
+    private final AuthenticationTokenDecoder delegate;
+
+    /**
+     * The {@link AuthenticationMetrics} in which operations are recorded.
+     */
+    private final AuthenticationMetrics metrics;
+
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The {@link AuthenticationTokenDecoder} to which decoding is delegated.
+     * @param metrics  The {@link AuthenticationMetrics} in which operations are recorded.
+     */
+    public InstrumentedAuthenticationTokenDecoder(final AuthenticationTokenDecoder delegate,
+                                                  final AuthenticationMetrics metrics) {
+        Assert.notNull(delegate, "The delegate decoder must not be null");
+        Assert.notNull(metrics, "The metrics must not be null");
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+
+    @Override
+    public TokenData decode(final String encodedToken) throws TokenException {
+        final var start = System.nanoTime();
+        var success = false;
+        try {
+            final var tokenData = delegate.decode(encodedToken);
+            success = true;
+            return tokenData;
+        } finally {
+            metrics.recordDecoding(System.nanoTime() - start, success);
+        }
+    }
+}
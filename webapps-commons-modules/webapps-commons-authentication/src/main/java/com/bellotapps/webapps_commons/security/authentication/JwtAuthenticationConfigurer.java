@@ -21,7 +21,10 @@ import com.bellotapps.webapps_commons.security.authorization.RoleGrantsProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,6 +41,11 @@ import java.util.Optional;
  * and {@link AuthenticationTokenBlacklistedChecker} and {@link GrantsProvider} beans
  * must exist in the application context
  * (if they are not defined, the application will boot but won't work as expected).
+ * Tokens that fail to be decoded are kept in a negative cache,
+ * which can be configured (or disabled) through the "com.bellotapps.webapps-commons.authentication.jwt.negative-cache"
+ * properties.
+ * Authentication metrics can be recorded in a Micrometer {@link MeterRegistry} by setting the
+ * "com.bellotapps.webapps-commons.authentication.metrics.enabled" property to {@code true}.
  *
  * @see EnableJwtAuthentication
  */
@@ -60,7 +68,8 @@ public class JwtAuthenticationConfigurer extends AbstractJwtConfigurer {
     @Autowired
     @ConditionalOnMissingBean
     public AuthenticationTokenDecoder authenticationTokenDecoder(final KeyFactory keyFactory,
-                                                                 final GrantsProvider grantsProvider) {
+                                                                 final GrantsProvider grantsProvider,
+                                                                 final AuthenticationMetrics metrics) {
         final var encodedPublicKeyString = Optional.ofNullable(getJwtProperties().getPublicKey())
                 .orElseThrow(() -> {
                     LOGGER.error("A public key must be set!");
@@ -69,7 +78,16 @@ public class JwtAuthenticationConfigurer extends AbstractJwtConfigurer {
         final var publicKeyString = Base64Utils.decodeFromString(encodedPublicKeyString);
         final var publicKeySpec = new X509EncodedKeySpec(publicKeyString);
         final var publicKey = generateKey(keyFactory, publicKeySpec, KeyFactory::generatePublic);
-        return new JwtAuthenticationTokenDecoder(publicKey, grantsProvider);
+        final var jwtDecoder = new JwtAuthenticationTokenDecoder(publicKey, grantsProvider);
+        final var negativeCache = getJwtProperties().getNegativeCache();
+        final AuthenticationTokenDecoder decoder = negativeCache == null || !negativeCache.isEnabled() ?
+                jwtDecoder :
+                new NegativeCachingAuthenticationTokenDecoder(jwtDecoder,
+                        negativeCache.getTimeToLive(),
+                        negativeCache.getMaxSize(),
+                        metrics);
+        return metrics == AuthenticationMetrics.NOOP ?
+                decoder : new InstrumentedAuthenticationTokenDecoder(decoder, metrics);
     }
 
     @Bean
@@ -77,8 +95,16 @@ public class JwtAuthenticationConfigurer extends AbstractJwtConfigurer {
     @ConditionalOnMissingBean
     public AuthenticationTokenDataProvider authenticationTokenDataProvider(
             final AuthenticationTokenDecoder decoder,
-            final AuthenticationTokenBlacklistedChecker checker) {
-        return new JwtAuthenticationTokenDataProvider(decoder, checker);
+            final AuthenticationTokenBlacklistedChecker checker,
+            final AuthenticationMetrics metrics) {
+        return new JwtAuthenticationTokenDataProvider(decoder, metrics == AuthenticationMetrics.NOOP ?
+                checker : new InstrumentedAuthenticationTokenBlacklistedChecker(checker, metrics));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthenticationMetrics noopAuthenticationMetrics() {
+        return AuthenticationMetrics.NOOP;
     }
 
     @Bean
@@ -96,4 +122,21 @@ public class JwtAuthenticationConfigurer extends AbstractJwtConfigurer {
         LOGGER.warn("Using default grants provider, which is based on simple roles: user and admin");
         return new RoleGrantsProvider();
     }
+
+    /**
+     * Configuration class that defines a Micrometer based {@link AuthenticationMetrics},
+     * which is only processed if Micrometer is in the classpath, and metrics are enabled.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(prefix = AuthenticationProperties.PREFIX, name = "metrics.enabled", havingValue = "true")
+    /* package */ static class MicrometerMetricsConfigurer {
+
+        @Bean
+        @Autowired
+        @ConditionalOnMissingBean
+        public AuthenticationMetrics micrometerAuthenticationMetrics(final MeterRegistry meterRegistry) {
+            return new MicrometerAuthenticationMetrics(meterRegistry);
+        }
+    }
 }
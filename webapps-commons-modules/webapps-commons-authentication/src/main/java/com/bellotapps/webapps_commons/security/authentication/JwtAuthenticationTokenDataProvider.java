@@ -53,7 +53,21 @@ public class JwtAuthenticationTokenDataProvider implements AuthenticationTokenDa
         // If it is not null, and is not blacklisted, then provide.
         // Else if null, or if it is blacklisted, then throw a TokenException
         return Optional.ofNullable(authenticationTokenDecoder.decode(encodedToken))
-                .filter(tokenData -> !authenticationTokenBlacklistedChecker.isBlacklisted(tokenData.getId()))
+                .filter(tokenData -> !isBlacklisted(tokenData.getId()))
                 .orElseThrow(() -> new TokenException("Blacklisted token"));
     }
+
+    /**
+     * Checks whether the token with the given {@code tokenId} is blacklisted,
+     * using the {@link #authenticationTokenBlacklistedChecker}.
+     *
+     * @param tokenId The id of the token to be checked.
+     * @return {@code true} if the token is blacklisted, or {@code false} otherwise.
+     */
+    private boolean isBlacklisted(final long tokenId) {
+        final var event = BlacklistCheckEvent.start();
+        final var blacklisted = authenticationTokenBlacklistedChecker.isBlacklisted(tokenId);
+        event.finish(tokenId, blacklisted);
+        return blacklisted;
+    }
 }
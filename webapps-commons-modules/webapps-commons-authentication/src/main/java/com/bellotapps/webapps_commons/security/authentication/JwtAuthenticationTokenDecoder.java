@@ -64,6 +64,8 @@ public class JwtAuthenticationTokenDecoder implements AuthenticationTokenDecoder
         if (!StringUtils.hasText(encodedToken)) {
             throw new IllegalArgumentException("The token must not be null or empty");
         }
+        final var event = TokenDecodingEvent.start();
+        Throwable failure = null;
         try {
             final var claims = Jwts.parser()
                     .setSigningKey(publicKey)
@@ -78,9 +80,19 @@ public class JwtAuthenticationTokenDecoder implements AuthenticationTokenDecoder
 
             return new TokenData(tokenId, username, roles);
 
+        } catch (final PrematureJwtException e) {
+            failure = e;
+            // The token might become valid later (e.g it was issued by a node whose clock is ahead of this one's)
+            throw new TokenDecodingException("The jwt token is not valid yet", e, true);
         } catch (final MalformedJwtException | SignatureException | ExpiredJwtException | UnsupportedJwtException
                 | MissingClaimException e) {
+            failure = e;
             throw new TokenDecodingException("There was a problem with the jwt token", e);
+        } catch (final RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.finish(failure);
         }
     }
 
@@ -144,7 +156,7 @@ public class JwtAuthenticationTokenDecoder implements AuthenticationTokenDecoder
                     .orElseThrow(() ->
                             new MissingClaimException(header, claims, "Missing \"issued at\" date"));
             if (issuedAt.after(new Date())) {
-                throw new MalformedJwtException("The \"issued at\" date is a future date");
+                throw new PrematureJwtException(header, claims, "The \"issued at\" date is a future date");
             }
             // Check expiration date is not missing
             if (claims.getExpiration() == null) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import com.bellotapps.webapps_commons.security.authorization.RoleGrant;
+import com.bellotapps.webapps_commons.security.authorization.RoleGrantsProvider;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * A {@link WarmUpTask} that encodes and decodes jwt tokens, using a throwaway key pair
+ * (so the configured keys are not needed, and the real blacklist checker and metrics are not involved).
+ * As signing is much more expensive than verifying (and tokens are decoded far more often than issued),
+ * a token is only encoded every {@value #ITERATIONS_PER_ENCODING} iterations.
+ */
+/* package */ final class JwtWarmUpTask implements WarmUpTask {
+
+    /**
+     * The name of this task.
+     */
+    /* package */ static final String NAME = "jwt";
+
+    /**
+     * The size (in bits) of the throwaway RSA keys.
+     */
+    private static final int KEY_SIZE = 2048;
+
+    /**
+     * The duration (in seconds) of the encoded tokens.
+     */
+    private static final long TOKEN_DURATION = 60;
+
+    /**
+     * The amount of iterations between token encodings.
+     */
+    private static final int ITERATIONS_PER_ENCODING = 100;
+
+    /**
+     * The {@link TokenData} that is encoded.
+     */
+    private final TokenData tokenData;
+
+    /**
+     * The encoder (lazily created, as generating keys is expensive).
+     */
+    private JwtAuthenticationTokenEncoder encoder;
+
+    /**
+     * The decoder (lazily created, as generating keys is expensive).
+     */
+    private JwtAuthenticationTokenDecoder decoder;
+
+    /**
+     * The last encoded token.
+     */
+    private String token;
+
+    /**
+     * The amount of executed iterations.
+     */
+    private long iterations;
+
+
+    /**
+     * Constructor.
+     */
+    /* package */ JwtWarmUpTask() {
+        this.tokenData = new TokenData(0L, "warm-up", List.of(RoleGrant.ROLE_USER, RoleGrant.ROLE_ADMIN));
+        this.encoder = null;
+        this.decoder = null;
+        this.token = null;
+        this.iterations = 0;
+    }
+
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void run() throws NoSuchAlgorithmException {
+        if (encoder == null) {
+            final var keyPairGenerator = KeyPairGenerator
+                    .getInstance(JwtAuthenticationTokenConstants.KEY_FACTORY_ALGORITHM);
+            keyPairGenerator.initialize(KEY_SIZE);
+            final var keyPair = keyPairGenerator.generateKeyPair();
+            this.encoder = new JwtAuthenticationTokenEncoder(keyPair.getPrivate(), TOKEN_DURATION);
+            this.decoder = new JwtAuthenticationTokenDecoder(keyPair.getPublic(), new RoleGrantsProvider());
+        }
+        if (iterations++ % ITERATIONS_PER_ENCODING == 0) {
+            token = encoder.encode(tokenData);
+        }
+        decoder.decode(token);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link AuthenticationMetrics} that records metrics in a Micrometer {@link MeterRegistry}.
+ * All meters (except failure counters, which are created the first time a given exception type is recorded)
+ * are registered when this object is created, so recording does not need to look them up.
+ */
+public final class MicrometerAuthenticationMetrics implements AuthenticationMetrics {
+
+    /**
+     * Prefix for all the meters names.
+     */
+    private static final String PREFIX = "webapps-commons.authentication.";
+
+    /**
+     * Name of the tag holding the outcome of an operation.
+     */
+    private static final String OUTCOME_TAG = "outcome";
+
+    /**
+     * Name of the tag holding the exception type of a failure.
+     */
+    private static final String EXCEPTION_TAG = "exception";
+
+
+    /**
+     * The {@link MeterRegistry} in which meters are registered.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * {@link Timer} for successful decoding operations.
+     */
+    private final Timer decodingSuccesses;
+
+    /**
+     * {@link Timer} for failed decoding operations.
+     */
+    private final Timer decodingFailures;
+
+    /**
+     * {@link Timer} for blacklist checks of non blacklisted tokens.
+     */
+    private final Timer blacklistCheckPasses;
+
+    /**
+     * {@link Timer} for blacklist checks of blacklisted tokens.
+     */
+    private final Timer blacklistCheckRejections;
+
+    /**
+     * {@link Counter} for negative cache hits.
+     */
+    private final Counter negativeCacheHits;
+
+    /**
+     * {@link Counter} for negative cache misses.
+     */
+    private final Counter negativeCacheMisses;
+
+    /**
+     * {@link Timer} for successful authentication attempts.
+     */
+    private final Timer authenticationSuccesses;
+
+    /**
+     * {@link Timer} for failed authentication attempts.
+     */
+    private final Timer authenticationFailures;
+
+    /**
+     * {@link Counter}s of failures, by exception type.
+     */
+    private final Map<Class<? extends Throwable>, Counter> failures;
+
+
+    /**
+     * Constructor.
+     *
+     * @param registry The {@link MeterRegistry} in which meters are registered.
+     */
+    public MicrometerAuthenticationMetrics(final MeterRegistry registry) {
+        Assert.notNull(registry, "The meter registry must not be null");
+        this.registry = registry;
+        this.decodingSuccesses = timer("decode", "success");
+        this.decodingFailures = timer("decode", "failure");
+        this.blacklistCheckPasses = timer("blacklist-check", "not-blacklisted");
+        this.blacklistCheckRejections = timer("blacklist-check", "blacklisted");
+        this.negativeCacheHits = counter("negative-cache", "result", "hit");
+        this.negativeCacheMisses = counter("negative-cache", "result", "miss");
+        this.authenticationSuccesses = timer("attempt", "success");
+        this.authenticationFailures = timer("attempt", "failure");
+        this.failures = new ConcurrentHashMap<>();
+    }
+
+
+    @Override
+    public void recordDecoding(final long nanos, final boolean success) {
+        (success ? decodingSuccesses : decodingFailures).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBlacklistCheck(final long nanos, final boolean blacklisted) {
+        (blacklisted ? blacklistCheckRejections : blacklistCheckPasses).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordNegativeCacheAccess(final boolean hit) {
+        (hit ? negativeCacheHits : negativeCacheMisses).increment();
+    }
+
+    @Override
+    public void recordAuthentication(final long nanos, final boolean success) {
+        (success ? authenticationSuccesses : authenticationFailures).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFailure(final Class<? extends Throwable> cause) {
+        failures.computeIfAbsent(cause, type -> counter("failures", EXCEPTION_TAG, type.getSimpleName()))
+                .increment();
+    }
+
+    /**
+     * Registers a {@link Timer}.
+     *
+     * @param name    The name of the timer (without the prefix).
+     * @param outcome The value of the outcome tag.
+     * @return The registered {@link Timer}.
+     */
+    private Timer timer(final String name, final String outcome) {
+        return Timer.builder(PREFIX + name)
+                .tag(OUTCOME_TAG, outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Registers a {@link Counter}.
+     *
+     * @param name     The name of the counter (without the prefix).
+     * @param tagName  The name of the tag.
+     * @param tagValue The value of the tag.
+     * @return The registered {@link Counter}.
+     */
+    private Counter counter(final String name, final String tagName, final String tagValue) {
+        return Counter.builder(PREFIX + name)
+                .tag(tagName, tagValue)
+                .register(registry);
+    }
+}
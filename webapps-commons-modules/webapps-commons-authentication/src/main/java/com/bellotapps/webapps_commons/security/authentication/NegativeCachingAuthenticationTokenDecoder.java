@@ -0,0 +1,277 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link AuthenticationTokenDecoder} that keeps a bounded negative cache in front of another decoder.
+ * Tokens that failed to be decoded (i.e those for which a {@link TokenDecodingException} was thrown)
+ * are remembered (using a digest of them) for a given amount of time,
+ * so presenting them again results in the cached failure being thrown,
+ * without performing parsing or signature verification again.
+ * <p>
+ * Note that only decoding failures are cached, except for the ones that depend on time
+ * (e.g tokens that are not valid yet, because of clock skew). Any other {@link TokenException} is just propagated.
+ * Once the cache is full, expired entries are swept at most once per second,
+ * and new failures are not cached until there is room for them.
+ */
+public final class NegativeCachingAuthenticationTokenDecoder implements AuthenticationTokenDecoder {
+
+    /**
+     * The algorithm used to digest tokens.
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * A {@link ThreadLocal} holding the {@link MessageDigest} used to digest tokens in each thread.
+     */
+    private static final ThreadLocal<MessageDigest> DIGESTS =
+            ThreadLocal.withInitial(NegativeCachingAuthenticationTokenDecoder::newMessageDigest);
+
+    /**
+     * The minimum amount of nanoseconds between two sweeps of expired entries.
+     */
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+
+    /**
+     * The {@link AuthenticationTokenDecoder} to which decoding is delegated when the token is not in the cache.
+     */
+    private final AuthenticationTokenDecoder delegate;
+
+    /**
+     * The cache, holding the failure of each known-bad token, keyed by the token's digest.
+     */
+    private final Map<TokenDigest, CachedFailure> cache;
+
+    /**
+     * The amount of nanoseconds a failure stays in the cache.
+     */
+    private final long timeToLive;
+
+    /**
+     * The maximum amount of entries in the cache.
+     */
+    private final int maxSize;
+
+    /**
+     * The time (in nanoseconds) after which expired entries can be swept again.
+     */
+    private final AtomicLong nextSweep;
+
+    /**
+     * The {@link AuthenticationMetrics} in which cache hits and misses are recorded.
+     */
+    private final AuthenticationMetrics metrics;
+
+
+    /**
+     * Constructor.
+     *
+     * @param delegate   The {@link AuthenticationTokenDecoder} to which decoding is delegated
+     *                   when the token is not in the cache.
+     * @param timeToLive The amount of milliseconds a failure stays in the cache.
+     * @param maxSize    The maximum amount of entries in the cache.
+     */
+    public NegativeCachingAuthenticationTokenDecoder(final AuthenticationTokenDecoder delegate,
+                                                     final long timeToLive,
+                                                     final int maxSize) {
+        this(delegate, timeToLive, maxSize, AuthenticationMetrics.NOOP);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate   The {@link AuthenticationTokenDecoder} to which decoding is delegated
+     *                   when the token is not in the cache.
+     * @param timeToLive The amount of milliseconds a failure stays in the cache.
+     * @param maxSize    The maximum amount of entries in the cache.
+     * @param metrics    The {@link AuthenticationMetrics} in which cache hits and misses are recorded.
+     */
+    public NegativeCachingAuthenticationTokenDecoder(final AuthenticationTokenDecoder delegate,
+                                                     final long timeToLive,
+                                                     final int maxSize,
+                                                     final AuthenticationMetrics metrics) {
+        Assert.notNull(delegate, "The delegate decoder must not be null");
+        Assert.isTrue(timeToLive > 0, "The time to live must be positive");
+        Assert.isTrue(maxSize > 0, "The max. size must be positive");
+        Assert.notNull(metrics, "The metrics must not be null");
+        this.delegate = delegate;
+        this.cache = new ConcurrentHashMap<>();
+        this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+        this.maxSize = maxSize;
+        this.nextSweep = new AtomicLong(System.nanoTime());
+        this.metrics = metrics;
+    }
+
+
+    @Override
+    public TokenData decode(final String encodedToken) throws TokenException {
+        if (!StringUtils.hasText(encodedToken)) {
+            throw new IllegalArgumentException("The token must not be null or empty");
+        }
+        final var digest = TokenDigest.of(encodedToken);
+        final var now = System.nanoTime();
+        final var cached = cache.get(digest);
+        if (cached != null) {
+            if (now - cached.expiration < 0) {
+                metrics.recordNegativeCacheAccess(true);
+                // A new exception is thrown each time, as the cached one might be thrown in other threads
+                // (which, in stackless mode, does not capture its stack trace, as it is just a cache hit)
+                throw new TokenDecodingException(cached.failure.getMessage(), cached.failure);
+            }
+            cache.remove(digest, cached);
+        }
+        metrics.recordNegativeCacheAccess(false);
+        try {
+            return delegate.decode(encodedToken);
+        } catch (final TokenDecodingException e) {
+            if (!e.isTimeDependent()) {
+                remember(digest, e, now);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stores the given {@code failure} in the cache, if there is room for it.
+     * If the cache is full, expired entries are swept (unless they were swept less than a sweep interval ago).
+     *
+     * @param digest  The {@link TokenDigest} of the token that failed to be decoded.
+     * @param failure The {@link TokenDecodingException} thrown when decoding the token.
+     * @param now     The current time, in nanoseconds.
+     */
+    private void remember(final TokenDigest digest, final TokenDecodingException failure, final long now) {
+        if (cache.size() >= maxSize) {
+            final var sweepTime = nextSweep.get();
+            // Only one thread sweeps each interval, so floods of bad tokens do not sweep on each request
+            if (now - sweepTime < 0 || !nextSweep.compareAndSet(sweepTime, now + SWEEP_INTERVAL)) {
+                return;
+            }
+            cache.values().removeIf(entry -> now - entry.expiration >= 0);
+            if (cache.size() >= maxSize) {
+                return; // Do not grow beyond the max. size.
+            }
+        }
+        cache.put(digest, new CachedFailure(failure, now + timeToLive));
+    }
+
+    /**
+     * Creates a new {@link MessageDigest} for the {@link #DIGEST_ALGORITHM}.
+     *
+     * @return The created {@link MessageDigest}.
+     */
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported by the platform", e);
+        }
+    }
+
+
+    /**
+     * A token digest, used as a key in the cache.
+     */
+    private static final class TokenDigest {
+
+        /**
+         * The digest bytes.
+         */
+        private final byte[] bytes;
+
+        /**
+         * The hash code (computed when creating the object).
+         */
+        private final int hash;
+
+        /**
+         * Constructor.
+         *
+         * @param bytes The digest bytes.
+         */
+        private TokenDigest(final byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        /**
+         * Creates a {@link TokenDigest} for the given {@code encodedToken}.
+         *
+         * @param encodedToken The token to be digested.
+         * @return The {@link TokenDigest}.
+         */
+        private static TokenDigest of(final String encodedToken) {
+            return new TokenDigest(DIGESTS.get().digest(encodedToken.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TokenDigest)) {
+                return false;
+            }
+            final var that = (TokenDigest) o;
+            return hash == that.hash && Arrays.equals(bytes, that.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A cached failure.
+     */
+    private static final class CachedFailure {
+
+        /**
+         * The {@link TokenDecodingException} that was thrown when trying to decode the token.
+         */
+        private final TokenDecodingException failure;
+
+        /**
+         * The time at which this entry expires, in nanoseconds.
+         */
+        private final long expiration;
+
+        /**
+         * Constructor.
+         *
+         * @param failure    The {@link TokenDecodingException} that was thrown when trying to decode the token.
+         * @param expiration The time at which this entry expires, in nanoseconds.
+         */
+        private CachedFailure(final TokenDecodingException failure, final long expiration) {
+            this.failure = failure;
+            this.expiration = expiration;
+        }
+    }
+}
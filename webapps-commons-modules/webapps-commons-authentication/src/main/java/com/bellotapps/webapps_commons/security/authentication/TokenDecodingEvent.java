@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event emitted when a jwt token is decoded by the {@link JwtAuthenticationTokenDecoder}.
+ * When recording is off, creating and committing the event is optimized away by the JVM.
+ */
+@Name(TokenDecodingEvent.NAME)
+@Label("Token Decoding")
+@Category({"Webapps Commons", "Authentication"})
+@Description("Decoding (i.e parsing and signature verification) of a jwt token")
+@Threshold("1 ms")
+@StackTrace(false)
+/* package */ final class TokenDecodingEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    /* package */ static final String NAME = "com.bellotapps.webapps_commons.TokenDecoding";
+
+    /**
+     * Indicates whether the token could be decoded.
+     */
+    @Label("Success")
+    private boolean success;
+
+    /**
+     * The type of exception that caused the decoding to fail (if it failed).
+     */
+    @Label("Failure Type")
+    private Class<?> failureType;
+
+
+    /**
+     * Creates a {@link TokenDecodingEvent}, and starts its timing.
+     *
+     * @return The created {@link TokenDecodingEvent}.
+     */
+    /* package */ static TokenDecodingEvent start() {
+        final var event = new TokenDecodingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing of this event, and commits it if it must be committed.
+     *
+     * @param failure The exception thrown when decoding the token (or {@code null} if it could be decoded).
+     */
+    /* package */ void finish(final Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.success = failure == null;
+            this.failureType = failure == null ? null : failure.getClass();
+            commit();
+        }
+    }
+}
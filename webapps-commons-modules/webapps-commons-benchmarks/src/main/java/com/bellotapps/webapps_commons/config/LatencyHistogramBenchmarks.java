@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks measuring the cost of recording latencies in a {@link LatencyHistogram}
+ * (i.e the overhead added to each request by the {@link ResourceMethodMetricsFilter}),
+ * both uncontended and contended, and the cost of taking interval snapshots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencyHistogramBenchmarks {
+
+    /**
+     * The {@link ResourceMethodMetrics} in which latencies are recorded.
+     */
+    private ResourceMethodMetrics metrics;
+
+    /**
+     * The {@link LatencyHistogram} shared by all the benchmark threads.
+     */
+    private LatencyHistogram histogram;
+
+
+    @Setup
+    public void setup() {
+        this.metrics = new ResourceMethodMetrics();
+        this.histogram = metrics.histogram("GET /users/{id}");
+    }
+
+
+    @Benchmark
+    public void record() {
+        histogram.record(randomLatency());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(randomLatency());
+    }
+
+    @Benchmark
+    public Map<String, LatencyHistogram.Snapshot> snapshotAndReset() {
+        histogram.record(randomLatency());
+        return metrics.snapshotAndReset();
+    }
+
+
+    /**
+     * @return A random latency (in nanoseconds), between 100 microseconds and 100 milliseconds.
+     */
+    private static long randomLatency() {
+        return ThreadLocalRandom.current().nextLong(100_000L, 100_000_000L);
+    }
+}
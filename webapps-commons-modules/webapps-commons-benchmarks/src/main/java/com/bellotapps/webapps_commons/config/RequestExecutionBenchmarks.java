@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing the throughput of blocking resource methods (e.g waiting for JDBC or downstream HTTP calls)
+ * when executed by a pool of platform threads sized like the default servlet container pool,
+ * against when executed by the {@link ManagedAsyncExecutorServiceProvider}'s executor
+ * (i.e virtual threads if the running JVM supports them, or the fallback pool of platform threads otherwise).
+ * Each operation executes a burst of concurrent requests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestExecutionBenchmarks {
+
+    /**
+     * The default maximum amount of threads of the servlet container.
+     */
+    private static final int CONTAINER_THREADS = 200;
+
+    /**
+     * The amount of platform threads used by the {@link ManagedAsyncExecutorServiceProvider}
+     * if virtual threads are not supported (i.e the default value of the property).
+     */
+    private static final int FALLBACK_POOL_SIZE = 1000;
+
+    /**
+     * The capacity of the fallback pool queue, big enough for the biggest burst
+     * (as these benchmarks measure throughput, and not load shedding).
+     */
+    private static final int FALLBACK_QUEUE_CAPACITY = 5000;
+
+    /**
+     * The amount of concurrent requests in each burst.
+     */
+    @Param({"200", "1000", "5000"})
+    private int requests;
+
+    /**
+     * The amount of milliseconds each request is blocked.
+     */
+    @Param({"5"})
+    private long blockingMillis;
+
+    /**
+     * The {@link ExecutorService} sized like the servlet container pool.
+     */
+    private ExecutorService containerExecutor;
+
+    /**
+     * The {@link ExecutorService} used by the {@link ManagedAsyncExecutorServiceProvider}.
+     */
+    private ExecutorService managedAsyncExecutor;
+
+
+    @Setup
+    public void setUp() {
+        this.containerExecutor = Executors.newFixedThreadPool(CONTAINER_THREADS);
+        this.managedAsyncExecutor = ManagedAsyncExecutorServiceProvider.newExecutorService(FALLBACK_POOL_SIZE,
+                FALLBACK_QUEUE_CAPACITY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        containerExecutor.shutdownNow();
+        managedAsyncExecutor.shutdownNow();
+    }
+
+
+    @Benchmark
+    public int containerThreads() throws InterruptedException, ExecutionException {
+        return burst(containerExecutor);
+    }
+
+    @Benchmark
+    public int managedAsync() throws InterruptedException, ExecutionException {
+        return burst(managedAsyncExecutor);
+    }
+
+
+    /**
+     * Executes a burst of {@link #requests} blocking requests in the given {@code executor},
+     * waiting till all of them finish.
+     *
+     * @param executor The {@link ExecutorService} in which requests are executed.
+     * @return The amount of finished requests.
+     * @throws InterruptedException If interrupted while waiting for the requests.
+     * @throws ExecutionException   If a request fails.
+     */
+    private int burst(final ExecutorService executor) throws InterruptedException, ExecutionException {
+        final var futures = new ArrayList<Future<Integer>>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(this::blockingRequest));
+        }
+        var finished = 0;
+        for (final var future : futures) {
+            finished += future.get();
+        }
+        return finished;
+    }
+
+    /**
+     * Simulates a resource method that is blocked waiting for I/O.
+     *
+     * @return {@code 1}.
+     * @throws InterruptedException If interrupted while blocked.
+     */
+    private int blockingRequest() throws InterruptedException {
+        Thread.sleep(blockingMillis);
+        return 1;
+    }
+}
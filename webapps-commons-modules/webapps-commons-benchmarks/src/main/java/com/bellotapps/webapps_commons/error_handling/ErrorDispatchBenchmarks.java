@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.utils.error_handler.ErrorHandlerFactory;
+import com.bellotapps.utils.error_handler.HandlingResult;
+import com.bellotapps.webapps_commons.exceptions.NoSuchEntityException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing the resolution of exception handlers performed by the {@link ErrorHandler}
+ * created by the {@link ErrorHandlerFactory} against the one performed by the {@link DispatchingErrorHandler},
+ * for exceptions at different depths of the class hierarchy below the handled exception type.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorDispatchBenchmarks {
+
+    /**
+     * The package containing the exception handlers.
+     */
+    private static final String ERROR_HANDLERS_PACKAGE = "com.bellotapps.webapps_commons.error_handlers";
+
+    /**
+     * How many classes are between the thrown exception and the handled {@link NoSuchEntityException}.
+     */
+    @Param({"0", "4", "8"})
+    private int depth;
+
+    /**
+     * The {@link ErrorHandler} created by the {@link ErrorHandlerFactory}.
+     */
+    private ErrorHandler factoryErrorHandler;
+
+    /**
+     * The {@link DispatchingErrorHandler} wrapping the {@link #factoryErrorHandler}.
+     */
+    private ErrorHandler dispatchingErrorHandler;
+
+    /**
+     * The exception to be handled.
+     */
+    private Throwable exception;
+
+
+    @Setup
+    public void setUp() {
+        final var beanFactory = new DefaultListableBeanFactory();
+        final var classLoader = ErrorDispatchBenchmarks.class.getClassLoader();
+        this.factoryErrorHandler = new ErrorHandlerFactory(classLoader, beanFactory)
+                .createErrorHandler(ERROR_HANDLERS_PACKAGE);
+        this.dispatchingErrorHandler = DispatchingErrorHandler.wrap(factoryErrorHandler,
+                ExceptionHandlerDispatchTable.scanning(beanFactory, classLoader, ERROR_HANDLERS_PACKAGE));
+        this.exception = createException(depth);
+    }
+
+
+    @Benchmark
+    public HandlingResult<?> factory() {
+        return factoryErrorHandler.handle(exception);
+    }
+
+    @Benchmark
+    public HandlingResult<?> dispatching() {
+        return dispatchingErrorHandler.handle(exception);
+    }
+
+
+    /**
+     * Creates an exception whose class is {@code depth} levels below {@link NoSuchEntityException}.
+     *
+     * @param depth The depth of the exception class.
+     * @return The created exception.
+     */
+    private static Throwable createException(final int depth) {
+        switch (depth) {
+            case 0:
+                return new NoSuchEntityException();
+            case 4:
+                return new Depth4Exception();
+            case 8:
+                return new Depth8Exception();
+            default:
+                throw new IllegalArgumentException("Unsupported depth: " + depth);
+        }
+    }
+
+    private static class Depth1Exception extends NoSuchEntityException {
+    }
+
+    private static class Depth2Exception extends Depth1Exception {
+    }
+
+    private static class Depth3Exception extends Depth2Exception {
+    }
+
+    private static class Depth4Exception extends Depth3Exception {
+    }
+
+    private static class Depth5Exception extends Depth4Exception {
+    }
+
+    private static class Depth6Exception extends Depth5Exception {
+    }
+
+    private static class Depth7Exception extends Depth6Exception {
+    }
+
+    private static class Depth8Exception extends Depth7Exception {
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.utils.error_handler.ErrorHandlerFactory;
+import com.bellotapps.utils.error_handler.HandlingResult;
+import com.bellotapps.webapps_commons.exceptions.NoSuchEntityException;
+import com.bellotapps.webapps_commons.exceptions.StacklessExceptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a 404-heavy workload (i.e a {@link NoSuchEntityException} thrown deep in the call stack,
+ * as if thrown by a repository below several framework layers, and then handled),
+ * with and without the stackless mode.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class NotFoundBenchmarks {
+
+    /**
+     * The package containing the exception handlers.
+     */
+    private static final String ERROR_HANDLERS_PACKAGE = "com.bellotapps.webapps_commons.error_handlers";
+
+    /**
+     * Whether the stackless mode is enabled.
+     */
+    @Param({"false", "true"})
+    private boolean stackless;
+
+    /**
+     * The depth of the call stack at which the exception is thrown.
+     */
+    @Param({"32", "128"})
+    private int stackDepth;
+
+    /**
+     * The {@link ErrorHandler} that handles the thrown exceptions.
+     */
+    private ErrorHandler errorHandler;
+
+
+    @Setup
+    public void setUp() {
+        StacklessExceptions.setEnabled(stackless);
+        final var beanFactory = new DefaultListableBeanFactory();
+        final var classLoader = NotFoundBenchmarks.class.getClassLoader();
+        final var factoryErrorHandler = new ErrorHandlerFactory(classLoader, beanFactory)
+                .createErrorHandler(ERROR_HANDLERS_PACKAGE);
+        this.errorHandler = DispatchingErrorHandler.wrap(factoryErrorHandler,
+                ExceptionHandlerDispatchTable.scanning(beanFactory, classLoader, ERROR_HANDLERS_PACKAGE));
+    }
+
+    @TearDown
+    public void tearDown() {
+        StacklessExceptions.setEnabled(false);
+    }
+
+
+    @Benchmark
+    public HandlingResult<?> notFound() {
+        try {
+            return findEntity(stackDepth);
+        } catch (final NoSuchEntityException e) {
+            return errorHandler.handle(e);
+        }
+    }
+
+
+    /**
+     * Recurses {@code depth} times before throwing a {@link NoSuchEntityException}.
+     *
+     * @param depth The remaining depth.
+     * @return Never returns normally.
+     */
+    private static HandlingResult<?> findEntity(final int depth) {
+        if (depth == 0) {
+            throw NoSuchEntityException.create();
+        }
+        return findEntity(depth - 1);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.errors;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validation;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks the conversion of a set of 10k {@link ConstraintViolation}s (e.g a bulk import with many invalid rows)
+ * into {@link ConstraintViolationError}s, comparing it with the former conversion
+ * (i.e resolving the {@link ConstraintViolationError.ErrorCause} for each violation,
+ * and splitting the string representation of the property path).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConstraintViolationErrorBenchmarks {
+
+    /**
+     * The amount of invalid rows (each of them produces two violations).
+     */
+    private static final int INVALID_ROWS = 5_000;
+
+    /**
+     * The violations to be converted.
+     */
+    private List<ConstraintViolation<?>> violations;
+
+
+    @Setup
+    public void setUp() {
+        final var validator = Validation.byProvider(HibernateValidator.class)
+                .configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory()
+                .getValidator();
+        final var rows = IntStream.range(0, INVALID_ROWS)
+                .mapToObj(i -> new Row(null, -i))
+                .collect(Collectors.toList());
+        this.violations = List.copyOf(validator.validate(new BulkImport(rows)));
+    }
+
+
+    @Benchmark
+    public void current(final Blackhole blackhole) {
+        for (final var violation : violations) {
+            blackhole.consume(ConstraintViolationError.fromConstraintViolation(violation));
+        }
+    }
+
+    @Benchmark
+    public void former(final Blackhole blackhole) {
+        for (final var violation : violations) {
+            blackhole.consume(formerFromConstraintViolation(violation));
+        }
+    }
+
+
+    /**
+     * The former implementation of {@link ConstraintViolationError#fromConstraintViolation(ConstraintViolation)}.
+     *
+     * @param violation The {@link ConstraintViolation} from where the error will be built.
+     * @return The created {@link ConstraintViolationError}.
+     */
+    private static ConstraintViolationError formerFromConstraintViolation(final ConstraintViolation<?> violation) {
+        final var errorCause = violation.getConstraintDescriptor()
+                .getPayload()
+                .stream()
+                .filter(klass -> ClassUtils.isAssignable(ConstraintViolationError.ErrorCausePayload.class, klass))
+                .findFirst()
+                .map(klass -> klass == ConstraintViolationError.ErrorCausePayload.MissingValue.class ?
+                        ConstraintViolationError.ErrorCause.MISSING_VALUE :
+                        ConstraintViolationError.ErrorCause.ILLEGAL_VALUE)
+                .orElse(ConstraintViolationError.ErrorCause.UNKNOWN);
+        final var path = StringUtils.delimitedListToStringArray(violation.getPropertyPath().toString(), ".", null);
+        final var message = violation.getMessageTemplate();
+        return new ConstraintViolationError(errorCause, path[path.length - 1], message);
+    }
+
+
+    /**
+     * A bulk import request.
+     */
+    private static final class BulkImport {
+
+        /**
+         * The imported rows.
+         */
+        @Valid
+        private final List<Row> rows;
+
+        /**
+         * Constructor.
+         *
+         * @param rows The imported rows.
+         */
+        private BulkImport(final List<Row> rows) {
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * An imported row.
+     */
+    private static final class Row {
+
+        /**
+         * The name (mandatory).
+         */
+        @NotNull(payload = ConstraintViolationError.ErrorCausePayload.MissingValue.class)
+        private final String name;
+
+        /**
+         * The quantity (must be positive).
+         */
+        @Positive(payload = ConstraintViolationError.ErrorCausePayload.IllegalValue.class)
+        private final int quantity;
+
+        /**
+         * Constructor.
+         *
+         * @param name     The name.
+         * @param quantity The quantity.
+         */
+        private Row(final String name, final int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.security.authorization.RoleGrant;
+import com.bellotapps.webapps_commons.security.authorization.RoleGrantsProvider;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * JMH state shared by the authentication benchmarks.
+ * It holds the components of the authentication pipeline, built as they are built by the configurers,
+ * but without a Spring context, together with a valid token (and the request carrying it).
+ */
+@State(Scope.Benchmark)
+public class AuthenticationBenchmarkState {
+
+    /**
+     * The size (in bits) of the RSA keys used to sign and verify tokens.
+     */
+    private static final int KEY_SIZE = 2048;
+
+    /**
+     * The duration (in seconds) of the issued tokens.
+     */
+    private static final long TOKEN_DURATION = 3600;
+
+    /**
+     * The token data used to issue tokens.
+     */
+    /* package */ TokenData tokenData;
+
+    /**
+     * The encoder being benchmarked.
+     */
+    /* package */ JwtAuthenticationTokenEncoder encoder;
+
+    /**
+     * The decoder being benchmarked.
+     */
+    /* package */ JwtAuthenticationTokenDecoder decoder;
+
+    /**
+     * The data provider being benchmarked.
+     */
+    /* package */ JwtAuthenticationTokenDataProvider dataProvider;
+
+    /**
+     * The authentication provider being benchmarked.
+     */
+    /* package */ TokenAuthenticationProvider authenticationProvider;
+
+    /**
+     * A {@link TokenAuthenticationFilter} that performs the whole authentication process.
+     */
+    /* package */ TokenAuthenticationFilter filter;
+
+    /**
+     * A {@link TokenAuthenticationFilter} whose authentication manager does nothing,
+     * used to measure the header parsing step.
+     */
+    /* package */ TokenAuthenticationFilter parsingOnlyFilter;
+
+    /**
+     * A valid encoded token.
+     */
+    /* package */ String token;
+
+    /**
+     * A request including the valid token in the authentication header.
+     */
+    /* package */ MockHttpServletRequest request;
+
+    /**
+     * The response passed to the filter.
+     */
+    /* package */ MockHttpServletResponse response;
+
+
+    /**
+     * Builds the authentication pipeline.
+     *
+     * @throws NoSuchAlgorithmException If RSA is not supported by the platform.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchAlgorithmException {
+        final var keyPairGenerator = KeyPairGenerator.getInstance(JwtAuthenticationTokenConstants.KEY_FACTORY_ALGORITHM);
+        keyPairGenerator.initialize(KEY_SIZE);
+        final var keyPair = keyPairGenerator.generateKeyPair();
+
+        this.tokenData = new TokenData(1L, "benchmark-user", List.of(RoleGrant.ROLE_USER, RoleGrant.ROLE_ADMIN));
+        this.encoder = new JwtAuthenticationTokenEncoder(keyPair.getPrivate(), TOKEN_DURATION);
+        this.decoder = new JwtAuthenticationTokenDecoder(keyPair.getPublic(), new RoleGrantsProvider());
+        this.dataProvider = new JwtAuthenticationTokenDataProvider(decoder, id -> false);
+        this.authenticationProvider = new TokenAuthenticationProvider(dataProvider);
+
+        // The failure handler is never reached, as the benchmarked requests are always valid
+        // (the object mapper is still needed, as static results are rendered when the handler is created).
+        final var failureHandler = new TokenAuthenticationFailureHandler(null, new ApiObjectMapper());
+        this.filter = new TokenAuthenticationFilter(failureHandler);
+        this.filter.setAuthenticationManager(new ProviderManager(List.of(authenticationProvider)));
+        this.parsingOnlyFilter = new TokenAuthenticationFilter(failureHandler);
+        this.parsingOnlyFilter.setAuthenticationManager(authentication -> authentication);
+
+        this.token = encoder.encode(tokenData);
+        this.request = new MockHttpServletRequest("GET", "/benchmark");
+        this.request.addHeader(AuthenticationConstants.AUTHENTICATION_HEADER,
+                AuthenticationConstants.AUTHENTICATION_SCHEME + " " + token);
+        this.response = new MockHttpServletResponse();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Spring Security side of the token authentication mechanism
+ * (i.e the {@link TokenAuthenticationProvider} and the {@link TokenAuthenticationFilter}).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenAuthenticationBenchmarks {
+
+    @Benchmark
+    public Authentication authenticate(final AuthenticationBenchmarkState state) {
+        return state.authenticationProvider.authenticate(new RawAuthenticationToken(state.token));
+    }
+
+    /**
+     * Measures the header parsing step of the {@link TokenAuthenticationFilter}
+     * (the authentication manager just returns the raw token).
+     */
+    @Benchmark
+    public Authentication parseHeader(final AuthenticationBenchmarkState state) {
+        return state.parsingOnlyFilter.attemptAuthentication(state.request, state.response);
+    }
+
+    /**
+     * Measures the whole authentication step performed by the {@link TokenAuthenticationFilter}.
+     */
+    @Benchmark
+    public Authentication filter(final AuthenticationBenchmarkState state) {
+        return state.filter.attemptAuthentication(state.request, state.response);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * An index of framework components (e.g Jersey providers, or exception handlers), built at compile time by the
+ * webapps-commons-index-processor annotation processor, and stored in {@value #LOCATION} files.
+ * It allows finding components without scanning the classpath, which is slow on large applications.
+ * <p>
+ * Each line of an index file has the form {@code className=stereotype1,stereotype2},
+ * where stereotypes are the names of the annotations that mark the class as a component.
+ * All the index files in the classpath are merged.
+ * <p>
+ * As the annotation processor writes an index file (even an empty one) in each jar (or classes directory)
+ * it is applied to, those files also act as markers: the index is only authoritative for a package if each
+ * classpath root containing it has an index file (see {@link #isAuthoritativeFor(String)}).
+ * Otherwise (e.g some jar was built without the annotation processor), the package must be scanned.
+ */
+public final class ComponentIndex {
+
+    /**
+     * The location of the index files.
+     */
+    public static final String LOCATION = "META-INF/webapps-commons.components";
+
+    /**
+     * Stereotype for Jersey providers.
+     */
+    public static final String PROVIDER = "javax.ws.rs.ext.Provider";
+
+    /**
+     * Stereotype for Jersey controllers (which are also Jersey providers).
+     */
+    public static final String JERSEY_CONTROLLER = "com.bellotapps.webapps_commons.config.JerseyController";
+
+    /**
+     * Stereotype for exception handlers.
+     */
+    public static final String EXCEPTION_HANDLER_OBJECT = "com.bellotapps.utils.error_handler.ExceptionHandlerObject";
+
+    /**
+     * Separates the class name from its stereotypes in each line of an index file.
+     */
+    public static final char CLASS_NAME_SEPARATOR = '=';
+
+    /**
+     * Separates stereotypes in each line of an index file.
+     */
+    public static final String STEREOTYPES_SEPARATOR = ",";
+
+    /**
+     * Prefix of the comment lines in an index file.
+     */
+    public static final String COMMENT_PREFIX = "#";
+
+
+    /**
+     * The indexed class names, by stereotype.
+     */
+    private final Map<String, Set<String>> classNamesByStereotype;
+
+    /**
+     * The classpath roots (i.e jars or directories) that have an index file.
+     */
+    private final Set<String> indexedRoots;
+
+    /**
+     * The {@link ClassLoader} from which the index was loaded.
+     */
+    private final ClassLoader classLoader;
+
+
+    /**
+     * Constructor.
+     *
+     * @param classNamesByStereotype The indexed class names, by stereotype.
+     * @param indexedRoots           The classpath roots (i.e jars or directories) that have an index file.
+     * @param classLoader            The {@link ClassLoader} from which the index was loaded.
+     */
+    private ComponentIndex(final Map<String, Set<String>> classNamesByStereotype, final Set<String> indexedRoots,
+                           final ClassLoader classLoader) {
+        this.classNamesByStereotype = classNamesByStereotype;
+        this.indexedRoots = indexedRoots;
+        this.classLoader = classLoader;
+    }
+
+
+    /**
+     * Indicates whether this index can be used instead of scanning the given {@code basePackage},
+     * which is the case if each classpath root (i.e jar or directory) containing the package has an index file.
+     *
+     * @param basePackage The package to be checked.
+     * @return {@code true} if the index is authoritative for the package, or {@code false} if it must be scanned.
+     */
+    public boolean isAuthoritativeFor(final String basePackage) {
+        final var path = basePackage.replace('.', '/');
+        try {
+            final var resources = classLoader.getResources(path);
+            while (resources.hasMoreElements()) {
+                final var root = rootOf(resources.nextElement(), path);
+                if (root == null || !indexedRoots.contains(root)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+
+    /**
+     * Returns the names of the indexed classes with the given {@code stereotype}
+     * that are in the given {@code basePackage} (or in any of its subpackages).
+     *
+     * @param basePackage The package in which classes are searched.
+     * @param stereotype  The stereotype of the classes.
+     * @return The names of the classes (empty if there are none).
+     */
+    public Set<String> getCandidateTypes(final String basePackage, final String stereotype) {
+        final var prefix = basePackage + ".";
+        return classNamesByStereotype.getOrDefault(stereotype, Collections.emptySet()).stream()
+                .filter(className -> className.startsWith(prefix))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+
+    /**
+     * Loads the index from all the index files visible to the given {@code classLoader}.
+     *
+     * @param classLoader The {@link ClassLoader} used to find the index files.
+     * @return An {@link Optional} containing the {@link ComponentIndex},
+     * or empty if there are no index files (or if they could not be read), in which case the classpath must be scanned.
+     * @see #isAuthoritativeFor(String)
+     */
+    public static Optional<ComponentIndex> load(final ClassLoader classLoader) {
+        final var loader = Optional.ofNullable(classLoader).orElse(ComponentIndex.class.getClassLoader());
+        try {
+            final var resources = loader.getResources(LOCATION);
+            if (!resources.hasMoreElements()) {
+                return Optional.empty();
+            }
+            final var classNamesByStereotype = new HashMap<String, Set<String>>();
+            final var indexedRoots = new HashSet<String>();
+            while (resources.hasMoreElements()) {
+                final var url = resources.nextElement();
+                read(url, classNamesByStereotype);
+                Optional.ofNullable(rootOf(url, LOCATION)).ifPresent(indexedRoots::add);
+            }
+            return Optional.of(new ComponentIndex(classNamesByStereotype, indexedRoots, loader));
+        } catch (final IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the index file in the given {@code url}, adding its entries into the given {@code classNamesByStereotype}.
+     *
+     * @param url                    The {@link URL} of the index file.
+     * @param classNamesByStereotype The {@link Map} holding the indexed class names, by stereotype.
+     * @throws IOException              If the file could not be read.
+     * @throws IllegalArgumentException If the file is malformed.
+     */
+    private static void read(final URL url, final Map<String, Set<String>> classNamesByStereotype)
+            throws IOException, IllegalArgumentException {
+        try (final var reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                final var separatorIndex = line.indexOf(CLASS_NAME_SEPARATOR);
+                if (separatorIndex <= 0) {
+                    throw new IllegalArgumentException("Malformed component index entry in " + url + ": " + line);
+                }
+                final var className = line.substring(0, separatorIndex).trim();
+                for (final var stereotype : line.substring(separatorIndex + 1).split(STEREOTYPES_SEPARATOR)) {
+                    classNamesByStereotype.computeIfAbsent(stereotype.trim(), ignored -> new TreeSet<>())
+                            .add(className);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the classpath root (i.e jar or directory) of the resource in the given {@code url}.
+     *
+     * @param url  The {@link URL} of the resource.
+     * @param path The path of the resource, relative to its classpath root.
+     * @return The classpath root, or {@code null} if the {@code url} does not end with the given {@code path}.
+     */
+    private static String rootOf(final URL url, final String path) {
+        var location = url.toString();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1); // Directories might end with a slash
+        }
+        return location.endsWith(path) ? location.substring(0, location.length() - path.length()) : null;
+    }
+}
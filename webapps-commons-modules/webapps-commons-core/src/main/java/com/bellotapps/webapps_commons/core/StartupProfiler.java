@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the wall time and the allocated memory of the phases of the application startup
+ * (e.g the creation of beans, or the scanning of packages), in order to build a {@link StartupReport}.
+ * <p>
+ * Profiling is opt-in: phases are only recorded between calls to {@link #start()} and {@link #stop()}
+ * (otherwise, {@link #begin(String, String)} returns a no-op {@link Phase}).
+ * Phases can be nested (in the same thread), in which case the time and memory of the inner phases
+ * are not included in the "self" values of the outer one.
+ */
+public final class StartupProfiler {
+
+    /**
+     * Kind of phase used for the creation of beans.
+     */
+    public static final String BEAN = "bean";
+
+    /**
+     * Kind of phase used for the scanning of packages.
+     */
+    public static final String SCAN = "scan";
+
+    /**
+     * Kind of phase used for the execution of {@link WarmUpTask}s.
+     */
+    public static final String WARM_UP = "warm-up";
+
+    /**
+     * A no-op {@link Phase}, returned when profiling is not enabled.
+     */
+    private static final Phase NO_OP_PHASE = new Phase(null, null, 0, 0);
+
+    /**
+     * The stack of open phases of each thread.
+     */
+    private static final ThreadLocal<Deque<Phase>> OPEN_PHASES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * The entries recorded since profiling started.
+     */
+    private static final Queue<StartupReport.Entry> ENTRIES = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Flag indicating whether profiling is enabled.
+     */
+    private static volatile boolean enabled = false;
+
+    /**
+     * The moment in which profiling started (as returned by {@link System#nanoTime()}).
+     */
+    private static volatile long startNanos = 0;
+
+    /**
+     * The last {@link StartupReport} (i.e the one built when profiling was stopped), or {@code null} if none.
+     */
+    private static volatile StartupReport report = null;
+
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private StartupProfiler() {
+    }
+
+
+    /**
+     * Starts profiling. Does nothing if profiling is already started.
+     */
+    public static synchronized void start() {
+        if (enabled) {
+            return;
+        }
+        ENTRIES.clear();
+        startNanos = System.nanoTime();
+        enabled = true;
+    }
+
+    /**
+     * Stops profiling, building the {@link StartupReport} with the phases recorded since profiling started.
+     * Phases that are still open are not included.
+     *
+     * @return An {@link Optional} containing the built {@link StartupReport}, or empty if profiling was not started.
+     */
+    public static synchronized Optional<StartupReport> stop() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        enabled = false;
+        report = new StartupReport(System.nanoTime() - startNanos, new ArrayList<>(ENTRIES));
+        ENTRIES.clear();
+        return Optional.of(report);
+    }
+
+    /**
+     * @return {@code true} if profiling is enabled, or {@code false} otherwise.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return An {@link Optional} containing the last {@link StartupReport}, or empty if profiling was never stopped.
+     */
+    public static Optional<StartupReport> getReport() {
+        return Optional.ofNullable(report);
+    }
+
+    /**
+     * Begins a phase in the current thread, which ends when the returned {@link Phase} is closed.
+     * It is meant to be used in a try-with-resources block.
+     *
+     * @param kind The kind of phase (e.g {@link #BEAN}, or {@link #SCAN}).
+     * @param name The name of the phase.
+     * @return The begun {@link Phase} (a no-op one if profiling is not enabled).
+     */
+    public static Phase begin(final String kind, final String name) {
+        if (!enabled) {
+            return NO_OP_PHASE;
+        }
+        final var phase = new Phase(kind, name, System.nanoTime(), allocatedBytes());
+        OPEN_PHASES.get().push(phase);
+        return phase;
+    }
+
+    /**
+     * Returns the amount of bytes allocated by the current thread, if the JVM supports measuring it.
+     *
+     * @return The allocated bytes, or {@code -1} if they can not be measured.
+     */
+    private static long allocatedBytes() {
+        final var threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) threadMXBean)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+
+    /**
+     * A phase of the application startup, which ends when it is closed.
+     */
+    public static final class Phase implements AutoCloseable {
+
+        /**
+         * The kind of phase.
+         */
+        private final String kind;
+
+        /**
+         * The name of the phase.
+         */
+        private final String name;
+
+        /**
+         * The moment in which the phase began (as returned by {@link System#nanoTime()}).
+         */
+        private final long beginNanos;
+
+        /**
+         * The amount of bytes allocated by the thread when the phase began.
+         */
+        private final long beginBytes;
+
+        /**
+         * The wall time of the inner phases.
+         */
+        private long innerNanos;
+
+        /**
+         * The amount of bytes allocated by the inner phases.
+         */
+        private long innerBytes;
+
+        /**
+         * Constructor.
+         *
+         * @param kind       The kind of phase.
+         * @param name       The name of the phase.
+         * @param beginNanos The moment in which the phase began.
+         * @param beginBytes The amount of bytes allocated by the thread when the phase began.
+         */
+        private Phase(final String kind, final String name, final long beginNanos, final long beginBytes) {
+            this.kind = kind;
+            this.name = name;
+            this.beginNanos = beginNanos;
+            this.beginBytes = beginBytes;
+            this.innerNanos = 0;
+            this.innerBytes = 0;
+        }
+
+        /**
+         * Ends this phase, recording it (if profiling is still enabled).
+         * Inner phases that were not ended (e.g because of an exception) are discarded.
+         */
+        @Override
+        public void close() {
+            if (this == NO_OP_PHASE) {
+                return;
+            }
+            final var openPhases = OPEN_PHASES.get();
+            if (!openPhases.contains(this)) {
+                return; // Already closed.
+            }
+            while (openPhases.peek() != this) {
+                openPhases.pop();
+            }
+            openPhases.pop();
+            if (openPhases.isEmpty()) {
+                OPEN_PHASES.remove();
+            }
+
+            final var wallNanos = System.nanoTime() - beginNanos;
+            final var bytes = beginBytes < 0 ? -1 : allocatedBytes() - beginBytes;
+            Optional.ofNullable(openPhases.peek()).ifPresent(outer -> {
+                outer.innerNanos += wallNanos;
+                outer.innerBytes += Math.max(bytes, 0);
+            });
+            if (enabled) {
+                ENTRIES.add(new StartupReport.Entry(kind, name, wallNanos, wallNanos - innerNanos,
+                        bytes, bytes < 0 ? -1 : bytes - innerBytes));
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.core;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A report of the application startup, built by the {@link StartupProfiler}.
+ * Entries are sorted by their "self" wall time (i.e excluding inner phases), in descending order,
+ * so the most expensive phases come first.
+ * Getters are meant to be used to serialize the report as a JSON document.
+ */
+public final class StartupReport {
+
+    /**
+     * Amount of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    /**
+     * The wall time of the whole profiled startup, in nanoseconds.
+     */
+    private final long totalNanos;
+
+    /**
+     * The recorded {@link Entry Entries}, sorted by self wall time (in descending order).
+     */
+    private final List<Entry> entries;
+
+
+    /**
+     * Constructor.
+     *
+     * @param totalNanos The wall time of the whole profiled startup, in nanoseconds.
+     * @param entries    The recorded {@link Entry Entries}.
+     */
+    /* package */ StartupReport(final long totalNanos, final Collection<Entry> entries) {
+        this.totalNanos = totalNanos;
+        this.entries = entries.stream()
+                .sorted(Comparator.comparingLong(Entry::getSelfNanos).reversed())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+
+    /**
+     * @return The wall time of the whole profiled startup, in milliseconds.
+     */
+    public double getTotalTimeMillis() {
+        return totalNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return The recorded {@link Entry Entries}, sorted by self wall time (in descending order).
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return A human readable table with the recorded entries.
+     */
+    @Override
+    public String toString() {
+        final var builder = new StringBuilder()
+                .append(String.format("Startup report (%.1f ms profiled):%n", getTotalTimeMillis()))
+                .append(String.format("%10s %10s %14s %14s  %-7s %s%n",
+                        "self ms", "total ms", "self bytes", "total bytes", "kind", "name"));
+        entries.forEach(entry -> builder.append(String.format("%10.1f %10.1f %14d %14d  %-7s %s%n",
+                entry.getSelfTimeMillis(), entry.getWallTimeMillis(),
+                entry.getSelfAllocatedBytes(), entry.getAllocatedBytes(),
+                entry.getKind(), entry.getName())));
+        return builder.toString();
+    }
+
+
+    /**
+     * An entry of the {@link StartupReport}, holding the measures of a startup phase.
+     * Allocated bytes are {@code -1} if the JVM does not support measuring them.
+     */
+    public static final class Entry {
+
+        /**
+         * The kind of phase.
+         */
+        private final String kind;
+
+        /**
+         * The name of the phase.
+         */
+        private final String name;
+
+        /**
+         * The wall time of the phase, in nanoseconds.
+         */
+        private final long wallNanos;
+
+        /**
+         * The wall time of the phase excluding inner phases, in nanoseconds.
+         */
+        private final long selfNanos;
+
+        /**
+         * The amount of bytes allocated during the phase.
+         */
+        private final long allocatedBytes;
+
+        /**
+         * The amount of bytes allocated during the phase, excluding inner phases.
+         */
+        private final long selfAllocatedBytes;
+
+        /**
+         * Constructor.
+         *
+         * @param kind               The kind of phase.
+         * @param name               The name of the phase.
+         * @param wallNanos          The wall time of the phase, in nanoseconds.
+         * @param selfNanos          The wall time of the phase excluding inner phases, in nanoseconds.
+         * @param allocatedBytes     The amount of bytes allocated during the phase.
+         * @param selfAllocatedBytes The amount of bytes allocated during the phase, excluding inner phases.
+         */
+        /* package */ Entry(final String kind, final String name, final long wallNanos, final long selfNanos,
+                            final long allocatedBytes, final long selfAllocatedBytes) {
+            this.kind = kind;
+            this.name = name;
+            this.wallNanos = wallNanos;
+            this.selfNanos = selfNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.selfAllocatedBytes = selfAllocatedBytes;
+        }
+
+        /**
+         * @return The kind of phase.
+         */
+        public String getKind() {
+            return kind;
+        }
+
+        /**
+         * @return The name of the phase.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The wall time of the phase, in milliseconds.
+         */
+        public double getWallTimeMillis() {
+            return wallNanos / NANOS_PER_MILLI;
+        }
+
+        /**
+         * @return The wall time of the phase excluding inner phases, in milliseconds.
+         */
+        public double getSelfTimeMillis() {
+            return selfNanos / NANOS_PER_MILLI;
+        }
+
+        /**
+         * @return The amount of bytes allocated during the phase.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @return The amount of bytes allocated during the phase, excluding inner phases.
+         */
+        public long getSelfAllocatedBytes() {
+            return selfAllocatedBytes;
+        }
+
+        /**
+         * @return The wall time of the phase excluding inner phases, in nanoseconds (used for sorting).
+         */
+        private long getSelfNanos() {
+            return selfNanos;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.core;
+
+/**
+ * A synthetic workload that is executed several times before the application starts accepting requests,
+ * in order to get the code paths used by requests (e.g token decoding, or JSON serialization) compiled by the JIT.
+ * <p>
+ * Tasks are defined as beans, or registered through {@link java.util.ServiceLoader}
+ * (i.e in a {@code META-INF/services/com.bellotapps.webapps_commons.core.WarmUpTask} file)
+ * by those modules without a configuration class.
+ * Tasks must not have side effects (e.g they must not persist anything, or record metrics).
+ */
+public interface WarmUpTask {
+
+    /**
+     * @return The name of the task, used to configure it (e.g its amount of iterations) and to report its outcome.
+     */
+    String getName();
+
+    /**
+     * Executes one iteration of the workload.
+     *
+     * @throws Exception If the iteration fails (in which case the task is not executed again).
+     */
+    void run() throws Exception;
+}
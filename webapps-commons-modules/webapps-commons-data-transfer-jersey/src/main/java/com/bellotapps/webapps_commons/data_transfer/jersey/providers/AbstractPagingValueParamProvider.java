@@ -163,18 +163,45 @@ public abstract class AbstractPagingValueParamProvider<C, S, P, D> implements Va
                     "The default page size must be lower than or equal to the max. page size");
 
             // Create the PagingDataProvider
-            return new PagingDataProvider<>(injectionManager, sortOrderDataValidator,
-                    unsortedPagingProvider, directionProvider, defaultDirectionProvider,
-                    propertySortProvider, finisher, pagingDataProvider, annotation);
+            return newPagingDataProvider(annotation);
         }
         return null;
     }
 
+    /**
+     * Builds a paging data object from the given query params values, performing the same validation and parsing
+     * that is performed when providing a value for a request (but without needing one).
+     * It is meant to be used in order to warm up paging (e.g by a {@link PagingWarmUpTask}).
+     *
+     * @param pageNumber      The value of the page number query param (might be {@code null}).
+     * @param pageSize        The value of the page size query param (might be {@code null}).
+     * @param sort            The values of the sort query param.
+     * @param paginationParam The {@link PaginationParam} with the default values and the max. page size.
+     * @return The paging data object.
+     * @throws IllegalParamValueException If any of the given values is not valid.
+     */
+    public C provide(final Integer pageNumber, final Integer pageSize, final List<String> sort,
+                     final PaginationParam paginationParam) throws IllegalParamValueException {
+        return newPagingDataProvider(paginationParam).provide(new PaginationParams(pageNumber, pageSize, sort));
+    }
+
     @Override
     public PriorityType getPriority() {
         return Priority.NORMAL;
     }
 
+    /**
+     * Creates a {@link PagingDataProvider} for parameters annotated with the given {@code paginationParam}.
+     *
+     * @param paginationParam The {@link PaginationParam} from where pagination metadata can be obtained.
+     * @return The created {@link PagingDataProvider}.
+     */
+    private PagingDataProvider<C, S, P, D> newPagingDataProvider(final PaginationParam paginationParam) {
+        return new PagingDataProvider<>(injectionManager, sortOrderDataValidator,
+                unsortedPagingProvider, directionProvider, defaultDirectionProvider,
+                propertySortProvider, finisher, pagingDataProvider, paginationParam);
+    }
+
 
     /**
      * A {@link Function} that takes a {@link ContainerRequest} and builds an object with paging information
@@ -275,8 +302,17 @@ public abstract class AbstractPagingValueParamProvider<C, S, P, D> implements Va
 
         @Override
         public C apply(final ContainerRequest containerRequest) {
-            final var paginationParams = injectionManager.createAndInitialize(PaginationParams.class);
+            return provide(injectionManager.createAndInitialize(PaginationParams.class));
+        }
 
+        /**
+         * Validates the given {@code paginationParams}, and builds the paging information object from them.
+         *
+         * @param paginationParams The {@link PaginationParams} taken from the query params.
+         * @return The paging information object.
+         * @throws IllegalParamValueException If any of the params is not valid.
+         */
+        private C provide(final PaginationParams paginationParams) throws IllegalParamValueException {
             final var pageNumberOptional = paginationParams.getPageNumber();
             final var pageSizeOptional = paginationParams.getPageSize();
             final var sorts = paginationParams.getSortOrderDataList();
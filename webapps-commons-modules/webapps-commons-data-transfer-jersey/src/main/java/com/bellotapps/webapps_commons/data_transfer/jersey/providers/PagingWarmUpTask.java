@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.data_transfer.jersey.providers;
+
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import com.bellotapps.webapps_commons.data_transfer.jersey.annotations.PaginationParam;
+
+import java.util.List;
+
+/**
+ * A {@link WarmUpTask} that parses sample pagination params values (with and without sorting),
+ * using a {@link PagingRequestValueParamProvider}.
+ * As this module does not define beans, this task is registered through {@link java.util.ServiceLoader}.
+ */
+public final class PagingWarmUpTask implements WarmUpTask {
+
+    /**
+     * The name of this task.
+     */
+    public static final String NAME = "paging";
+
+    /**
+     * Sample values for the sort query param.
+     */
+    private static final List<String> SORT = List.of("name,asc", "createdAt,desc", "id");
+
+    /**
+     * A {@link PaginationParam} with the default values.
+     */
+    private static final PaginationParam PAGINATION_PARAM = defaultPaginationParam();
+
+    /**
+     * The {@link PagingRequestValueParamProvider} used to parse the params
+     * (without an injection manager, as it is not needed to parse values outside of a request).
+     */
+    private final PagingRequestValueParamProvider provider;
+
+
+    /**
+     * Constructor.
+     */
+    public PagingWarmUpTask() {
+        this.provider = new PagingRequestValueParamProvider(null);
+    }
+
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void run() {
+        provider.provide(null, null, List.of(), PAGINATION_PARAM);
+        provider.provide(1, 50, SORT, PAGINATION_PARAM);
+    }
+
+
+    /**
+     * @return A {@link PaginationParam} with the default values (taken from {@link #annotated(Object)}).
+     */
+    private static PaginationParam defaultPaginationParam() {
+        try {
+            return PagingWarmUpTask.class.getDeclaredMethod("annotated", Object.class)
+                    .getParameters()[0]
+                    .getAnnotation(PaginationParam.class);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException("The annotated method must exist", e);
+        }
+    }
+
+    /**
+     * A method whose parameter is annotated with a default {@link PaginationParam}, used to get an instance of it.
+     *
+     * @param pagingRequest Not used.
+     */
+    @SuppressWarnings("unused")
+    private static void annotated(@PaginationParam final Object pagingRequest) {
+    }
+}
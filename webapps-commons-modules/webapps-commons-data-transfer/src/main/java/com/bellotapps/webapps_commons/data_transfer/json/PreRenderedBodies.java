@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.data_transfer.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Keeps the JSON serialized version of static entities (i.e constants that are written as response bodies
+ * many times, like error DTOs constants), in order to serialize them only once.
+ * Static entities are registered globally (see {@link #register(Object...)}),
+ * while each instance of this class renders them with its own {@link ObjectMapper},
+ * the first time they are looked up.
+ * Entities are compared by identity, so only the registered instances will be matched.
+ */
+public final class PreRenderedBodies {
+
+    /**
+     * The content type of the rendered bodies.
+     */
+    public static final String CONTENT_TYPE = "application/json";
+
+    /**
+     * The registered static entities.
+     * The array is replaced (never modified) when registering, so it can be read without locking.
+     */
+    private static volatile Object[] staticEntities = new Object[0];
+
+
+    /**
+     * The {@link ObjectMapper} used to render the static entities.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The static entities already rendered by this instance (at the same index as their rendered bodies).
+     */
+    private volatile Object[] renderedEntities;
+
+    /**
+     * The bodies rendered by this instance (at the same index as the entities in {@link #renderedEntities}).
+     */
+    private volatile RenderedBody[] renderedBodies;
+
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapper The {@link ObjectMapper} used to render the static entities.
+     */
+    public PreRenderedBodies(final ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "The object mapper must not be null");
+        this.objectMapper = objectMapper;
+        this.renderedEntities = new Object[0];
+        this.renderedBodies = new RenderedBody[0];
+    }
+
+
+    /**
+     * Registers the given {@code entities} as static entities.
+     *
+     * @param entities The entities to be registered.
+     */
+    public static void register(final Object... entities) {
+        Assert.noNullElements(entities, "The entities must not be null");
+        synchronized (PreRenderedBodies.class) {
+            var updated = staticEntities;
+            for (final Object entity : entities) {
+                if (indexOf(updated, entity) < 0) {
+                    updated = Arrays.copyOf(updated, updated.length + 1);
+                    updated[updated.length - 1] = entity;
+                }
+            }
+            staticEntities = updated;
+        }
+    }
+
+    /**
+     * Returns the {@link RenderedBody} of the given {@code entity}, if it is a registered static entity.
+     *
+     * @param entity The entity whose {@link RenderedBody} must be returned.
+     * @return An {@link Optional} containing the {@link RenderedBody} of the given {@code entity}
+     * if it is a static entity, or empty otherwise (or if it could not be rendered).
+     */
+    public Optional<RenderedBody> lookup(final Object entity) {
+        if (entity == null) {
+            return Optional.empty();
+        }
+        final var index = indexOf(renderedEntities, entity);
+        if (index >= 0) {
+            return Optional.of(renderedBodies[index]);
+        }
+        if (indexOf(staticEntities, entity) < 0) {
+            return Optional.empty();
+        }
+        return render(entity);
+    }
+
+
+    /**
+     * Renders the given static {@code entity}, storing the result in this instance.
+     *
+     * @param entity The entity to be rendered.
+     * @return An {@link Optional} containing the {@link RenderedBody}, or empty if it could not be rendered.
+     */
+    private synchronized Optional<RenderedBody> render(final Object entity) {
+        // Check again, as it might have been rendered while waiting for the lock
+        final var index = indexOf(renderedEntities, entity);
+        if (index >= 0) {
+            return Optional.of(renderedBodies[index]);
+        }
+        final RenderedBody body;
+        try {
+            body = new RenderedBody(objectMapper.writeValueAsBytes(entity), CONTENT_TYPE);
+        } catch (final JsonProcessingException e) {
+            return Optional.empty();
+        }
+        final var entities = Arrays.copyOf(renderedEntities, renderedEntities.length + 1);
+        final var bodies = Arrays.copyOf(renderedBodies, renderedBodies.length + 1);
+        entities[entities.length - 1] = entity;
+        bodies[bodies.length - 1] = body;
+        // Bodies must be published before entities, as lookups use the entities array to find the index
+        this.renderedBodies = bodies;
+        this.renderedEntities = entities;
+        return Optional.of(body);
+    }
+
+    /**
+     * Searches for the given {@code entity} in the given {@code array}, comparing by identity.
+     *
+     * @param array  The array in which the search is performed.
+     * @param entity The entity to be searched.
+     * @return The index of the entity in the array, or {@code -1} if not present.
+     */
+    private static int indexOf(final Object[] array, final Object entity) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == entity) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.data_transfer.json;
+
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An immutable, already serialized, response body, together with its content type.
+ * It allows writing the same body several times without serializing it again.
+ */
+public final class RenderedBody {
+
+    /**
+     * The serialized body.
+     */
+    private final byte[] content;
+
+    /**
+     * The content type of the body.
+     */
+    private final String contentType;
+
+
+    /**
+     * Constructor.
+     *
+     * @param content     The serialized body (it is copied in order to keep this object immutable).
+     * @param contentType The content type of the body.
+     */
+    public RenderedBody(final byte[] content, final String contentType) {
+        Assert.notNull(content, "The content must not be null");
+        Assert.hasText(contentType, "The content type must not be empty");
+        this.content = content.clone();
+        this.contentType = contentType;
+    }
+
+
+    /**
+     * @return The content type of the body.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return The length (in bytes) of the body.
+     */
+    public int getContentLength() {
+        return content.length;
+    }
+
+    /**
+     * Writes the body into the given {@code outputStream}.
+     *
+     * @param outputStream The {@link OutputStream} into which the body will be written.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        outputStream.write(content);
+    }
+}
@@ -172,6 +172,21 @@ public abstract class ClientErrorDto extends ApiErrorDto {
                 return "An operation was tried to be performed over an entity " +
                         "when its state was not valid for the operation to be performed.";
             }
+        },
+        /**
+         * Indicates that the client has sent too many requests in a given amount of time
+         * (i.e it has exceeded the rate limit applied to it).
+         */
+        TOO_MANY_REQUESTS {
+            @Override
+            protected String getDescription() {
+                return "Too Many Requests";
+            }
+
+            @Override
+            protected String getMessage() {
+                return "The request rate limit was exceeded. Try again later.";
+            }
         };
 
         /**
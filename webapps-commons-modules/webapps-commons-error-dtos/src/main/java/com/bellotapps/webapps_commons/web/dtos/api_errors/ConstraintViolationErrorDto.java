@@ -18,7 +18,12 @@ package com.bellotapps.webapps_commons.web.dtos.api_errors;
 
 
 import com.bellotapps.webapps_commons.errors.ConstraintViolationError;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.util.Assert;
 
+import javax.validation.ConstraintViolation;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,12 +31,60 @@ import java.util.List;
  */
 public final class ConstraintViolationErrorDto extends EntityErrorDto<ConstraintViolationError> {
 
+    /**
+     * The amount of errors that were not reported.
+     */
+    private final int omittedErrors;
+
     /**
      * Constructor.
      *
      * @param errors The {@link List} of {@link ConstraintViolationError}s.
      */
     public ConstraintViolationErrorDto(final List<ConstraintViolationError> errors) {
+        this(errors, 0);
+    }
+
+    /**
+     * Private constructor.
+     *
+     * @param errors        The {@link List} of {@link ConstraintViolationError}s.
+     * @param omittedErrors The amount of errors that were not reported.
+     */
+    private ConstraintViolationErrorDto(final List<ConstraintViolationError> errors, final int omittedErrors) {
         super(ErrorFamily.CONSTRAINT_VIOLATION, errors);
+        this.omittedErrors = omittedErrors;
+    }
+
+    /**
+     * @return The amount of errors that were not reported (not included when zero).
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int getOmittedErrors() {
+        return omittedErrors;
+    }
+
+    /**
+     * Creates a {@link ConstraintViolationErrorDto} that reports, at most, {@code maxErrors} of the given
+     * {@code violations}, which are streamed (i.e each {@link ConstraintViolationError} is created when it is accessed
+     * for serialization, and not kept after that), so memory does not grow with the amount of violations.
+     * The rest of them are just counted as omitted errors.
+     *
+     * @param violations The {@link ConstraintViolation}s to be reported.
+     * @param maxErrors  The max. amount of errors to be reported.
+     * @return The created {@link ConstraintViolationErrorDto}.
+     * @see ConstraintViolationError#fromConstraintViolation(ConstraintViolation)
+     */
+    public static ConstraintViolationErrorDto fromConstraintViolations(
+            final Collection<? extends ConstraintViolation<?>> violations,
+            final int maxErrors) {
+        Assert.notNull(violations, "The violations collection must not be null");
+        Assert.isTrue(maxErrors >= 0, "The max. amount of errors must not be negative");
+        final var reported = violations.stream().limit(maxErrors).toArray(ConstraintViolation<?>[]::new);
+        return new ConstraintViolationErrorDto(
+                new MappedList<>(reported, ConstraintViolationError::fromConstraintViolation),
+                violations.size() - reported.length
+        );
     }
 }
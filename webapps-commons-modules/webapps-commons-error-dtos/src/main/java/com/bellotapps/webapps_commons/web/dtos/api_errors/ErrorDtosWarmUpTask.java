@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.web.dtos.api_errors;
+
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import com.bellotapps.webapps_commons.errors.ConstraintViolationError;
+import com.bellotapps.webapps_commons.errors.ConstraintViolationError.ErrorCause;
+import com.bellotapps.webapps_commons.errors.IllegalEntityStateError;
+import com.bellotapps.webapps_commons.errors.NotPresentReferenceError;
+import com.bellotapps.webapps_commons.errors.UniqueViolationError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.Assert;
+
+import java.util.List;
+
+/**
+ * A {@link WarmUpTask} that serializes a sample of each error dto with a given {@link ObjectMapper}
+ * (which should be the one used to send error responses, so its serializers are also cached).
+ */
+public final class ErrorDtosWarmUpTask implements WarmUpTask {
+
+    /**
+     * The name of this task.
+     */
+    public static final String NAME = "error-dtos";
+
+    /**
+     * A sample of each error dto.
+     */
+    private static final List<ApiErrorDto> SAMPLES = List.of(
+            new ConstraintViolationErrorDto(List.of(
+                    new ConstraintViolationError(ErrorCause.MISSING_VALUE, "username", "must not be null"),
+                    new ConstraintViolationError(ErrorCause.ILLEGAL_VALUE, "email", "must be a well-formed email"))),
+            new IllegalEntityStateErrorDto(new IllegalEntityStateError("Illegal state", "state")),
+            new IllegalParamValueErrorDto(List.of("page", "size")),
+            new InvalidParamValueErrorDto("sort"),
+            new NotPresentReferenceErrorDto(List.of(new NotPresentReferenceError("Not present", "ownerId"))),
+            new UniqueViolationErrorDto(List.of(new UniqueViolationError("Already in use", "email"))),
+            RepresentationErrorDto.REPRESENTATION_ERROR_DTO,
+            TooManyRequestsErrorDto.TOO_MANY_REQUESTS_ERROR_DTO,
+            ServerErrorDto.BASIC_SERVER_ERROR_DTO,
+            ServerErrorDto.SERVICE_UNAVAILABLE_ERROR_DTO,
+            ServerErrorDto.NOT_IMPLEMENTED_ERROR_DTO
+    );
+
+    /**
+     * The {@link ObjectMapper} used to serialize the error dtos.
+     */
+    private final ObjectMapper objectMapper;
+
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapper The {@link ObjectMapper} used to serialize the error dtos.
+     */
+    public ErrorDtosWarmUpTask(final ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "The object mapper must not be null");
+        this.objectMapper = objectMapper;
+    }
+
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void run() throws JsonProcessingException {
+        for (final var sample : SAMPLES) {
+            objectMapper.writeValueAsBytes(sample);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.web.dtos.api_errors;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * An unmodifiable {@link java.util.List} view that maps each of its source elements when they are accessed.
+ * Elements are not stored, so the mapped graph is never built as a whole:
+ * when serialized, each element is created, written and discarded before the next one is mapped.
+ *
+ * @param <S> The type of the source elements.
+ * @param <T> The type of the mapped elements.
+ */
+/* package */ final class MappedList<S, T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * The source elements.
+     */
+    private final S[] sources;
+
+    /**
+     * The {@link Function} that maps each source element.
+     */
+    private final Function<? super S, ? extends T> mapper;
+
+    /**
+     * Constructor.
+     *
+     * @param sources The source elements.
+     * @param mapper  The {@link Function} that maps each source element.
+     */
+    /* package */ MappedList(final S[] sources, final Function<? super S, ? extends T> mapper) {
+        this.sources = sources;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public T get(final int index) {
+        return mapper.apply(sources[index]);
+    }
+
+    @Override
+    public int size() {
+        return sources.length;
+    }
+}
@@ -36,6 +36,12 @@ public class ServerErrorDto extends ApiErrorDto {
     public static final ServerErrorDto SERVICE_UNAVAILABLE_ERROR_DTO =
             new ServerErrorDto("The service is currently unavailable");
 
+    /**
+     * A {@link ServerErrorDto} to be sent when a request could not be completed before its deadline.
+     */
+    public static final ServerErrorDto GATEWAY_TIMEOUT_ERROR_DTO =
+            new ServerErrorDto("The request could not be completed within its deadline");
+
     /**
      * A {@link ServerErrorDto} to be sent when trying to invoke an operation that is not implemented yet.
      */
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.web.dtos.api_errors;
+
+/**
+ * Data transfer object for client errors caused by exceeding the request rate limit.
+ */
+public final class TooManyRequestsErrorDto extends ClientErrorDto {
+
+    /**
+     * The {@link TooManyRequestsErrorDto} to be sent when a client exceeds the request rate limit.
+     * Using this constant avoids creating one each time there are problems.
+     */
+    public static final TooManyRequestsErrorDto TOO_MANY_REQUESTS_ERROR_DTO = new TooManyRequestsErrorDto();
+
+    /**
+     * Constructor.
+     */
+    private TooManyRequestsErrorDto() {
+        super(ErrorFamily.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handlers;
+
+import com.bellotapps.utils.error_handler.ExceptionHandler;
+import com.bellotapps.utils.error_handler.ExceptionHandlerObject;
+import com.bellotapps.utils.error_handler.HandlingResult;
+import com.bellotapps.webapps_commons.resilience.CallNotPermittedException;
+import com.bellotapps.webapps_commons.web.dtos.api_errors.ServerErrorDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ExceptionHandler} in charge of handling {@link CallNotPermittedException}.
+ * Will handle according to {@link HandlingResults#SERVICE_UNAVAILABLE} result.
+ * Rejected calls are expected while a service is down or saturated, so they are not logged as failures.
+ */
+@ExceptionHandlerObject
+public class CallNotPermittedExceptionHandler implements ExceptionHandler<CallNotPermittedException, ServerErrorDto> {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CallNotPermittedExceptionHandler.class);
+
+    @Override
+    public HandlingResult<ServerErrorDto> handle(final CallNotPermittedException exception) {
+        LOGGER.debug("Call to {} was not permitted: {}", exception.getService(), exception.getMessage());
+        return HandlingResults.SERVICE_UNAVAILABLE;
+    }
+}
@@ -21,25 +21,76 @@ import com.bellotapps.utils.error_handler.ExceptionHandler;
 import com.bellotapps.utils.error_handler.ExceptionHandlerObject;
 import com.bellotapps.utils.error_handler.HandlingResult;
 import com.bellotapps.webapps_commons.constants.HttpStatus;
-import com.bellotapps.webapps_commons.errors.ConstraintViolationError;
 import com.bellotapps.webapps_commons.exceptions.CustomConstraintViolationException;
 import com.bellotapps.webapps_commons.web.dtos.api_errors.ConstraintViolationErrorDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * {@link ExceptionHandler} in charge of handling {@link CustomConstraintViolationException}.
  * Will result into a <b>422 Unprocessable Entity</b> response.
+ * <p>
+ * The violations are streamed into the response (i.e each one is converted when it is written),
+ * and at most {@value #DEFAULT_MAX_REPORTED_VIOLATIONS} of them are reported (the rest are just counted).
+ * This cap can be changed through the {@value #MAX_REPORTED_VIOLATIONS_PROPERTY} system property
+ * (malformed or negative values are ignored, with a warning).
  */
 @ExceptionHandlerObject
 public class CustomConstraintViolationExceptionHandler
         implements ExceptionHandler<CustomConstraintViolationException, ConstraintViolationErrorDto> {
 
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomConstraintViolationExceptionHandler.class);
+
+    /**
+     * System property to configure the max. amount of violations reported in a response.
+     */
+    /* package */ static final String MAX_REPORTED_VIOLATIONS_PROPERTY =
+            "com.bellotapps.webapps-commons.constraint-violations.max-reported";
+
+    /**
+     * The default max. amount of violations reported in a response.
+     */
+    /* package */ static final int DEFAULT_MAX_REPORTED_VIOLATIONS = 1000;
+
+    /**
+     * The max. amount of violations reported in a response.
+     */
+    private static final int MAX_REPORTED_VIOLATIONS = maxReportedViolations();
+
     @Override
     public HandlingResult<ConstraintViolationErrorDto> handle(final CustomConstraintViolationException exception) {
-        var payload = exception.getConstraintViolations().stream()
-                .map(ConstraintViolationError::fromConstraintViolation)
-                .collect(Collectors.collectingAndThen(Collectors.toList(), ConstraintViolationErrorDto::new));
+        final var violations = Optional.ofNullable(exception.getConstraintViolations()).orElse(Set.of());
+        final var payload = ConstraintViolationErrorDto.fromConstraintViolations(violations, MAX_REPORTED_VIOLATIONS);
         return HandlingResult.withPayload(HttpStatus.UNPROCESSABLE_ENTITY.getCode(), payload);
     }
+
+    /**
+     * Reads the max. amount of violations reported in a response from the {@value #MAX_REPORTED_VIOLATIONS_PROPERTY}
+     * system property, falling back to {@value #DEFAULT_MAX_REPORTED_VIOLATIONS} if it is not set or not valid.
+     *
+     * @return The max. amount of violations reported in a response.
+     */
+    private static int maxReportedViolations() {
+        final var value = System.getProperty(MAX_REPORTED_VIOLATIONS_PROPERTY);
+        if (value == null) {
+            return DEFAULT_MAX_REPORTED_VIOLATIONS;
+        }
+        try {
+            final var maxReportedViolations = Integer.parseInt(value.trim());
+            if (maxReportedViolations >= 0) {
+                return maxReportedViolations;
+            }
+        } catch (final NumberFormatException ignored) {
+            // Handled below
+        }
+        LOGGER.warn("Invalid value for the {} property: \"{}\" (it must be a non negative integer). Using {} instead.",
+                MAX_REPORTED_VIOLATIONS_PROPERTY, value, DEFAULT_MAX_REPORTED_VIOLATIONS);
+        return DEFAULT_MAX_REPORTED_VIOLATIONS;
+    }
 }
@@ -36,9 +36,14 @@ public class DataAccessExceptionHandler implements ExceptionHandler<DataAccessEx
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(DataAccessExceptionHandler.class);
 
+    /**
+     * The {@link DeduplicatingErrorLogger} used to log errors without flooding the logs.
+     */
+    private static final DeduplicatingErrorLogger ERROR_LOGGER = new DeduplicatingErrorLogger(LOGGER);
+
     @Override
     public HandlingResult<ServerErrorDto> handle(DataAccessException exception) {
-        LOGGER.error("Could not access database", exception);
+        ERROR_LOGGER.error("Could not access database", exception);
         return HandlingResults.SERVICE_UNAVAILABLE;
     }
 }
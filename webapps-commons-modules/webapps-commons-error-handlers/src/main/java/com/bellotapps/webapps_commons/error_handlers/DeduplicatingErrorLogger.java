@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.error_handlers;
+
+import org.slf4j.Logger;
+import org.springframework.util.Assert;
+
+/**
+ * Logs errors through the running {@link ErrorLogDeduplicator} (i.e asynchronously, and without flooding the logs
+ * during error storms), or synchronously if there is none (e.g the application context is not running).
+ */
+/* package */ final class DeduplicatingErrorLogger {
+
+    /**
+     * The {@link Logger} to which errors are logged.
+     */
+    private final Logger logger;
+
+
+    /**
+     * Constructor.
+     *
+     * @param logger The {@link Logger} to which errors are logged.
+     */
+    /* package */ DeduplicatingErrorLogger(final Logger logger) {
+        Assert.notNull(logger, "The logger must not be null");
+        this.logger = logger;
+    }
+
+
+    /**
+     * Logs the given {@code message} and {@code exception} at error level,
+     * unless an exception with the same fingerprint was already logged within the current window.
+     *
+     * @param message   The message to be logged.
+     * @param exception The exception to be logged.
+     */
+    /* package */ void error(final String message, final Throwable exception) {
+        log(exception, () -> logger.error(message, exception));
+    }
+
+    /**
+     * Performs the given {@code logAction} for the given {@code exception},
+     * unless an exception with the same fingerprint was already logged within the current window.
+     * This allows deduplicating logging that is not just an error message with the exception's stack trace.
+     *
+     * @param exception The exception being logged.
+     * @param logAction The logging action, which will be performed by the logging thread (if there is one).
+     */
+    /* package */ void log(final Throwable exception, final Runnable logAction) {
+        final var deduplicator = ErrorLogDeduplicator.running();
+        if (deduplicator == null) {
+            logAction.run();
+            return;
+        }
+        deduplicator.log(logger, exception, logAction);
+    }
+}
@@ -0,0 +1,446 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.error_handlers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs errors (with their stack traces) without stalling the calling threads during error storms
+ * (e.g when the database is down and each request fails with the same exception).
+ * <p>
+ * Errors are deduplicated by fingerprint (i.e exception type and top stack frames) within a time window:
+ * only the first occurrence in the window is logged with its stack trace,
+ * while the rest are counted and reported as a summary (at error level) when the window is over.
+ * Logging is performed asynchronously by a daemon thread that takes log events from a bounded queue
+ * (with the {@link MDC} of the thread that submitted them).
+ * If the queue is full, log events are dropped, and the amount of dropped events is reported later.
+ * <p>
+ * The logging thread is started and stopped with the application context. As exception handlers are not beans
+ * (they are instantiated by the error handler library), they reach the running deduplicator
+ * through the {@link DeduplicatingErrorLogger}, which logs synchronously while there is none.
+ *
+ * @see ErrorLoggingProperties
+ */
+public class ErrorLogDeduplicator implements SmartLifecycle {
+
+    /**
+     * A {@link Logger} for the deduplicator itself.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ErrorLogDeduplicator.class);
+
+    /**
+     * The amount of milliseconds to wait for the logging thread to finish when stopping.
+     */
+    private static final long STOP_TIMEOUT_MILLIS = 1_000;
+
+    /**
+     * The running {@link ErrorLogDeduplicator} (or {@code null} if there is none).
+     */
+    private static volatile ErrorLogDeduplicator running;
+
+
+    /**
+     * The deduplication window, in nanoseconds.
+     */
+    private final long windowNanos;
+
+    /**
+     * The amount of top stack frames included in the fingerprint.
+     */
+    private final int topFrames;
+
+    /**
+     * The max. amount of fingerprints tracked.
+     */
+    private final int maxFingerprints;
+
+    /**
+     * The occurrences of each fingerprint within the current window.
+     */
+    private final ConcurrentMap<Fingerprint, Occurrences> occurrences;
+
+    /**
+     * The bounded queue of log events.
+     */
+    private final BlockingQueue<Runnable> queue;
+
+    /**
+     * The amount of log events dropped since the last report.
+     */
+    private final AtomicLong dropped;
+
+    /**
+     * The thread that performs the logging (or {@code null} if it is not running).
+     */
+    private volatile Thread loggingThread;
+
+
+    /**
+     * Constructor.
+     *
+     * @param windowMillis    The deduplication window, in milliseconds.
+     * @param queueCapacity   The capacity of the log events queue.
+     * @param topFrames       The amount of top stack frames included in the fingerprint.
+     * @param maxFingerprints The max. amount of fingerprints tracked
+     *                        (errors with new fingerprints are not deduplicated while this limit is reached).
+     */
+    public ErrorLogDeduplicator(final long windowMillis, final int queueCapacity,
+                                final int topFrames, final int maxFingerprints) {
+        Assert.isTrue(windowMillis > 0, "The window must be positive");
+        Assert.isTrue(queueCapacity > 0, "The queue capacity must be positive");
+        Assert.isTrue(topFrames > 0, "The amount of top frames must be positive");
+        Assert.isTrue(maxFingerprints > 0, "The max. amount of fingerprints must be positive");
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.topFrames = topFrames;
+        this.maxFingerprints = maxFingerprints;
+        this.occurrences = new ConcurrentHashMap<>();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = new AtomicLong(0);
+        this.loggingThread = null;
+    }
+
+
+    /**
+     * @return The running {@link ErrorLogDeduplicator}, or {@code null} if there is none.
+     */
+    /* package */ static ErrorLogDeduplicator running() {
+        return running;
+    }
+
+    /**
+     * Performs the given {@code logAction} (asynchronously) for the given {@code exception},
+     * unless an exception with the same fingerprint was already logged within the current window.
+     *
+     * @param logger    The {@link Logger} to which the summary of suppressed occurrences is logged.
+     * @param exception The exception being logged.
+     * @param logAction The logging action, which will be performed by the logging thread.
+     */
+    /* package */ void log(final Logger logger, final Throwable exception, final Runnable logAction) {
+        final var fingerprint = Fingerprint.of(exception, topFrames);
+        var fingerprintOccurrences = occurrences.get(fingerprint);
+        if (fingerprintOccurrences == null) {
+            if (occurrences.size() >= maxFingerprints) {
+                submitWithContext(logAction);
+                return;
+            }
+            fingerprintOccurrences = occurrences
+                    .computeIfAbsent(fingerprint, ignored -> new Occurrences(logger, exception));
+        }
+        if (fingerprintOccurrences.record(System.nanoTime())) {
+            submitWithContext(logAction);
+        }
+    }
+
+
+    @Override
+    public synchronized void start() {
+        if (loggingThread != null) {
+            return;
+        }
+        final var thread = new Thread(this::run, "webapps-commons-error-logger");
+        thread.setDaemon(true);
+        thread.start();
+        loggingThread = thread;
+        running = this;
+    }
+
+    @Override
+    public synchronized void stop() {
+        final var thread = loggingThread;
+        if (thread == null) {
+            return;
+        }
+        if (running == this) {
+            running = null; // From now on, errors are logged synchronously
+        }
+        loggingThread = null;
+        thread.interrupt();
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Log the events that were not logged yet (including the summaries of the windows that are over)
+        sweep(System.nanoTime());
+        Runnable logEvent;
+        while ((logEvent = queue.poll()) != null) {
+            runSafely(logEvent);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return loggingThread != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE; // Started first and stopped last, so errors raised while stopping are deduplicated
+    }
+
+
+    /**
+     * Submits the given {@code logAction}, which will be performed with the {@link MDC} of the calling thread.
+     *
+     * @param logAction The logging action.
+     */
+    private void submitWithContext(final Runnable logAction) {
+        final var context = MDC.getCopyOfContextMap();
+        submit(() -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                logAction.run();
+            } finally {
+                MDC.clear();
+            }
+        });
+    }
+
+    /**
+     * Submits a log event, dropping it if the queue is full.
+     *
+     * @param logEvent The log event.
+     */
+    private void submit(final Runnable logEvent) {
+        if (!queue.offer(logEvent)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Takes log events from the queue and performs them, periodically expiring deduplication windows,
+     * until the logging thread is interrupted.
+     */
+    private void run() {
+        var lastSweep = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                final var logEvent = queue.poll(windowNanos, TimeUnit.NANOSECONDS);
+                if (logEvent != null) {
+                    runSafely(logEvent);
+                }
+                final var now = System.nanoTime();
+                if (now - lastSweep >= windowNanos) {
+                    sweep(now);
+                    lastSweep = now;
+                }
+            } catch (final InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Performs the given {@code logEvent}, logging (instead of propagating) any failure.
+     *
+     * @param logEvent The log event.
+     */
+    private static void runSafely(final Runnable logEvent) {
+        try {
+            logEvent.run();
+        } catch (final Throwable e) {
+            LOGGER.warn("Could not log error", e);
+        }
+    }
+
+    /**
+     * Expires deduplication windows that are over, and reports dropped log events.
+     *
+     * @param now The current moment (in nanoseconds).
+     */
+    private void sweep(final long now) {
+        occurrences.entrySet().removeIf(entry -> entry.getValue().expire(now));
+        final var droppedEvents = dropped.getAndSet(0);
+        if (droppedEvents > 0) {
+            LOGGER.warn("{} error log events were dropped as the logging queue was full", droppedEvents);
+        }
+    }
+
+
+    /**
+     * The fingerprint of an exception, composed by its type and top stack frames.
+     */
+    private static final class Fingerprint {
+
+        /**
+         * The exception type.
+         */
+        private final Class<?> type;
+
+        /**
+         * The top stack frames.
+         */
+        private final StackTraceElement[] topFrames;
+
+        /**
+         * The precomputed hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructor.
+         *
+         * @param type      The exception type.
+         * @param topFrames The top stack frames.
+         */
+        private Fingerprint(final Class<?> type, final StackTraceElement[] topFrames) {
+            this.type = type;
+            this.topFrames = topFrames;
+            this.hashCode = 31 * type.hashCode() + Arrays.hashCode(topFrames);
+        }
+
+        /**
+         * Creates the {@link Fingerprint} of the given {@code exception}.
+         *
+         * @param exception The exception.
+         * @param topFrames The amount of top stack frames to be included.
+         * @return The created {@link Fingerprint}.
+         */
+        private static Fingerprint of(final Throwable exception, final int topFrames) {
+            final var stackTrace = exception.getStackTrace();
+            final var frames = stackTrace.length <= topFrames ? stackTrace : Arrays.copyOf(stackTrace, topFrames);
+            return new Fingerprint(exception.getClass(), frames);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            final var that = (Fingerprint) o;
+            return type == that.type && Arrays.equals(topFrames, that.topFrames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The occurrences of a given {@link Fingerprint} within the current window.
+     */
+    private final class Occurrences {
+
+        /**
+         * The {@link Logger} to which the summary is logged.
+         */
+        private final Logger logger;
+
+        /**
+         * The type of the exception.
+         */
+        private final Class<?> type;
+
+        /**
+         * The message of the first occurrence.
+         */
+        private final String firstMessage;
+
+        /**
+         * The moment (in nanoseconds) in which the current window started.
+         */
+        private final AtomicLong windowStart;
+
+        /**
+         * The amount of occurrences in the current window (including the logged one).
+         */
+        private final AtomicLong count;
+
+        /**
+         * Constructor.
+         *
+         * @param logger    The {@link Logger} to which the summary is logged.
+         * @param exception The first occurrence.
+         */
+        private Occurrences(final Logger logger, final Throwable exception) {
+            this.logger = logger;
+            this.type = exception.getClass();
+            this.firstMessage = exception.getMessage();
+            this.windowStart = new AtomicLong(System.nanoTime());
+            this.count = new AtomicLong(0);
+        }
+
+        /**
+         * Records an occurrence.
+         *
+         * @param now The current moment (in nanoseconds).
+         * @return {@code true} if the occurrence must be logged (i.e it is the first one in the window),
+         * or {@code false} otherwise.
+         */
+        private boolean record(final long now) {
+            final var start = windowStart.get();
+            if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+                summarize(count.getAndSet(1), start, now);
+                return true;
+            }
+            return count.getAndIncrement() == 0;
+        }
+
+        /**
+         * Closes the current window if it is over, summarizing it.
+         *
+         * @param now The current moment (in nanoseconds).
+         * @return {@code true} if there were no occurrences in the closed window
+         * (i.e these occurrences can be discarded), or {@code false} otherwise.
+         */
+        private boolean expire(final long now) {
+            final var start = windowStart.get();
+            if (now - start < windowNanos || !windowStart.compareAndSet(start, now)) {
+                return false;
+            }
+            final var previous = count.getAndSet(0);
+            summarize(previous, start, now);
+            return previous == 0;
+        }
+
+        /**
+         * Submits the summary of a window, if there were suppressed occurrences.
+         * Summaries are not tied to any request, so they are logged without {@link MDC}.
+         *
+         * @param occurrences The occurrences in the window (including the logged one).
+         * @param start       The moment in which the window started.
+         * @param end         The moment in which the window ended.
+         */
+        private void summarize(final long occurrences, final long start, final long end) {
+            final var suppressed = occurrences - 1;
+            if (suppressed <= 0) {
+                return;
+            }
+            final var millis = TimeUnit.NANOSECONDS.toMillis(end - start);
+            submit(() -> logger.error("{} more occurrences of {} (first message: {}) in the last {} ms",
+                    suppressed, type.getName(), firstMessage, millis));
+        }
+    }
+}
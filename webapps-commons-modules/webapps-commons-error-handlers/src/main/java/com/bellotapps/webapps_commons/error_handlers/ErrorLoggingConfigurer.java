@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.error_handlers;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class that defines the {@link ErrorLogDeduplicator} bean used by the exception handlers.
+ * It is registered in the {@code META-INF/spring.factories} file, so applications do not need to enable it.
+ *
+ * @see ErrorLoggingProperties
+ */
+@Configuration
+@EnableConfigurationProperties(ErrorLoggingProperties.class)
+public class ErrorLoggingConfigurer {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorLogDeduplicator errorLogDeduplicator(final ErrorLoggingProperties properties) {
+        return new ErrorLogDeduplicator(properties.getWindow(), properties.getQueueCapacity(),
+                properties.getTopFrames(), properties.getMaxFingerprints());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.error_handlers;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the errors logging.
+ *
+ * @see ErrorLogDeduplicator
+ */
+@ConfigurationProperties(prefix = ErrorLoggingProperties.PREFIX)
+public class ErrorLoggingProperties {
+
+    /**
+     * Prefix for the "error-logging" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".error-logging";
+
+    /**
+     * The deduplication window, in milliseconds.
+     */
+    private long window = 10_000;
+
+    /**
+     * The capacity of the log events queue.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * The amount of top stack frames included in the fingerprint of an error.
+     */
+    private int topFrames = 5;
+
+    /**
+     * The max. amount of fingerprints tracked (errors with new fingerprints are not deduplicated
+     * while this limit is reached).
+     */
+    private int maxFingerprints = 1024;
+
+
+    /**
+     * Getter for the deduplication window.
+     *
+     * @return The deduplication window, in milliseconds.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Getter for the capacity of the log events queue.
+     *
+     * @return The capacity of the log events queue.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Getter for the amount of top stack frames included in the fingerprint of an error.
+     *
+     * @return The amount of top stack frames included in the fingerprint of an error.
+     */
+    public int getTopFrames() {
+        return topFrames;
+    }
+
+    /**
+     * Getter for the max. amount of fingerprints tracked.
+     *
+     * @return The max. amount of fingerprints tracked.
+     */
+    public int getMaxFingerprints() {
+        return maxFingerprints;
+    }
+
+
+    /**
+     * Setter for the deduplication window.
+     *
+     * @param window The deduplication window, in milliseconds.
+     */
+    public void setWindow(final long window) {
+        this.window = window;
+    }
+
+    /**
+     * Setter for the capacity of the log events queue.
+     *
+     * @param queueCapacity The capacity of the log events queue.
+     */
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Setter for the amount of top stack frames included in the fingerprint of an error.
+     *
+     * @param topFrames The amount of top stack frames included in the fingerprint of an error.
+     */
+    public void setTopFrames(final int topFrames) {
+        this.topFrames = topFrames;
+    }
+
+    /**
+     * Setter for the max. amount of fingerprints tracked.
+     *
+     * @param maxFingerprints The max. amount of fingerprints tracked.
+     */
+    public void setMaxFingerprints(final int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+}
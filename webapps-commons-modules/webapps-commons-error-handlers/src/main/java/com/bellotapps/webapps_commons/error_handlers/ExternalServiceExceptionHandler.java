@@ -40,15 +40,29 @@ public class ExternalServiceExceptionHandler implements ExceptionHandler<Externa
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(ExternalServiceExceptionHandler.class);
 
+    /**
+     * The {@link DeduplicatingErrorLogger} used to log errors without flooding the logs.
+     */
+    private static final DeduplicatingErrorLogger ERROR_LOGGER = new DeduplicatingErrorLogger(LOGGER);
+
     @Override
     public HandlingResult<ServerErrorDto> handle(final ExternalServiceException exception) {
+        ERROR_LOGGER.log(exception, () -> log(exception));
+        return HandlingResults.SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * Logs the given {@code exception}.
+     *
+     * @param exception The {@link ExternalServiceException} to be logged.
+     */
+    private static void log(final ExternalServiceException exception) {
         LOGGER.warn("There was an issue while communicating with {}", exception.getService());
         LOGGER.warn("ExternalServiceException message: {}", exception.getMessage());
         LOGGER.trace("ExternalServiceException Stack trace: ", exception);
         // Also log cause
         Optional.ofNullable(exception.getCause())
                 .ifPresent(ExternalServiceExceptionHandler::logCause);
-        return HandlingResults.SERVICE_UNAVAILABLE;
     }
 
     /**
@@ -18,9 +18,11 @@ package com.bellotapps.webapps_commons.error_handlers;
 
 import com.bellotapps.utils.error_handler.HandlingResult;
 import com.bellotapps.webapps_commons.constants.HttpStatus;
+import com.bellotapps.webapps_commons.data_transfer.json.PreRenderedBodies;
 import com.bellotapps.webapps_commons.web.dtos.api_errors.IllegalParamValueErrorDto;
 import com.bellotapps.webapps_commons.web.dtos.api_errors.RepresentationErrorDto;
 import com.bellotapps.webapps_commons.web.dtos.api_errors.ServerErrorDto;
+import com.bellotapps.webapps_commons.web.dtos.api_errors.TooManyRequestsErrorDto;
 
 import java.util.List;
 
@@ -63,6 +65,12 @@ import java.util.List;
     /* package */ static final HandlingResult<Void> NOT_FOUND =
             HandlingResult.justErrorCode(HttpStatus.NOT_FOUND.getCode());
 
+    /**
+     * {@link HandlingResult} to be sent when a client has exceeded the request rate limit applied to it.
+     */
+    /* package */ static final HandlingResult<TooManyRequestsErrorDto> TOO_MANY_REQUESTS = HandlingResult
+            .withPayload(HttpStatus.TOO_MANY_REQUESTS.getCode(), TooManyRequestsErrorDto.TOO_MANY_REQUESTS_ERROR_DTO);
+
 
     /**
      * {@link HandlingResult} to be sent when something went wrong with the application
@@ -83,6 +91,25 @@ import java.util.List;
     /* package */ static final HandlingResult<ServerErrorDto> SERVICE_UNAVAILABLE = HandlingResult
             .withPayload(HttpStatus.SERVICE_UNAVAILABLE.getCode(), ServerErrorDto.SERVICE_UNAVAILABLE_ERROR_DTO);
 
+    /**
+     * {@link HandlingResult} to be sent when a request could not be completed before its deadline.
+     */
+    /* package */ static final HandlingResult<ServerErrorDto> GATEWAY_TIMEOUT = HandlingResult
+            .withPayload(HttpStatus.GATEWAY_TIMEOUT.getCode(), ServerErrorDto.GATEWAY_TIMEOUT_ERROR_DTO);
+
+
+    static {
+        // Payloads of static results are constants, so they can be rendered just once by the error writers
+        PreRenderedBodies.register(
+                BAD_REPRESENTATION.getErrorRepresentationEntity(),
+                TOO_MANY_REQUESTS.getErrorRepresentationEntity(),
+                SERVER_ERROR.getErrorRepresentationEntity(),
+                NOT_IMPLEMENTED.getErrorRepresentationEntity(),
+                SERVICE_UNAVAILABLE.getErrorRepresentationEntity(),
+                GATEWAY_TIMEOUT.getErrorRepresentationEntity()
+        );
+    }
+
 
     // ================================================================================================================
     // Dynamic results
@@ -36,9 +36,14 @@ public class JDBCExceptionHandler implements ExceptionHandler<JDBCException, Ser
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(JDBCExceptionHandler.class);
 
+    /**
+     * The {@link DeduplicatingErrorLogger} used to log errors without flooding the logs.
+     */
+    private static final DeduplicatingErrorLogger ERROR_LOGGER = new DeduplicatingErrorLogger(LOGGER);
+
     @Override
     public HandlingResult<ServerErrorDto> handle(JDBCException exception) {
-        LOGGER.error("Could not access database", exception);
+        ERROR_LOGGER.error("Could not access database", exception);
         return HandlingResults.SERVICE_UNAVAILABLE;
     }
 }
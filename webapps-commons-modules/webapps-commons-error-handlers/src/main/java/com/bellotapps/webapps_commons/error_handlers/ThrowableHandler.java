@@ -36,9 +36,14 @@ public class ThrowableHandler implements ExceptionHandler<Throwable, ServerError
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(ThrowableHandler.class);
 
+    /**
+     * The {@link DeduplicatingErrorLogger} used to log errors without flooding the logs.
+     */
+    private static final DeduplicatingErrorLogger ERROR_LOGGER = new DeduplicatingErrorLogger(LOGGER);
+
     @Override
     public HandlingResult<ServerErrorDto> handle(final Throwable exception) {
-        LOGGER.error("An uncaught exception was thrown", exception);
+        ERROR_LOGGER.error("An uncaught exception was thrown", exception);
         return HandlingResults.SERVER_ERROR;
     }
 }
@@ -37,9 +37,14 @@ public class TransactionExceptionHandler implements ExceptionHandler<Transaction
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionExceptionHandler.class);
 
+    /**
+     * The {@link DeduplicatingErrorLogger} used to log errors without flooding the logs.
+     */
+    private static final DeduplicatingErrorLogger ERROR_LOGGER = new DeduplicatingErrorLogger(LOGGER);
+
     @Override
     public HandlingResult<ServerErrorDto> handle(TransactionException exception) {
-        LOGGER.error("Could not access database", exception);
+        ERROR_LOGGER.error("Could not access database", exception);
         return HandlingResults.SERVICE_UNAVAILABLE;
     }
 }
@@ -18,11 +18,13 @@ package com.bellotapps.webapps_commons.errors;
 
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.StringUtils;
 
 import javax.validation.ConstraintViolation;
+import javax.validation.Path;
 import javax.validation.Payload;
+import javax.validation.metadata.ConstraintDescriptor;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -34,6 +36,17 @@ import java.util.stream.Stream;
  */
 public final class ConstraintViolationError extends EntityError {
 
+    /**
+     * The max. amount of {@link ConstraintDescriptor}s whose {@link ErrorCause} is cached.
+     */
+    private static final int MAX_CACHED_DESCRIPTORS = 4096;
+
+    /**
+     * Cache of {@link ErrorCause}s by {@link ConstraintDescriptor}
+     * (descriptors are part of the validation metadata, so there is a bounded amount of them).
+     */
+    private static final Map<ConstraintDescriptor<?>, ErrorCause> ERROR_CAUSES = new ConcurrentHashMap<>();
+
     /**
      * The {@link ErrorCause} representing what caused the new error.
      */
@@ -84,16 +97,58 @@ public final class ConstraintViolationError extends EntityError {
      * In case there is more than one {@link ErrorCausePayload}, unexpected behaviour might occur.
      */
     public static ConstraintViolationError fromConstraintViolation(final ConstraintViolation<?> violation) {
-        final var errorCause = violation.getConstraintDescriptor()
-                .getPayload()
+        final var errorCause = getErrorCause(violation.getConstraintDescriptor());
+        final var field = getLeafNodeName(violation.getPropertyPath());
+        final var message = violation.getMessageTemplate();
+        return new ConstraintViolationError(errorCause, field, message);
+    }
+
+    /**
+     * Returns the {@link ErrorCause} for the given {@code descriptor}, using the cache if possible.
+     *
+     * @param descriptor The {@link ConstraintDescriptor} of the violated constraint.
+     * @return The corresponding {@link ErrorCause}.
+     */
+    private static ErrorCause getErrorCause(final ConstraintDescriptor<?> descriptor) {
+        final var cached = ERROR_CAUSES.get(descriptor);
+        if (cached != null) {
+            return cached;
+        }
+        final var errorCause = computeErrorCause(descriptor);
+        if (ERROR_CAUSES.size() < MAX_CACHED_DESCRIPTORS) {
+            ERROR_CAUSES.putIfAbsent(descriptor, errorCause);
+        }
+        return errorCause;
+    }
+
+    /**
+     * Computes the {@link ErrorCause} for the given {@code descriptor}, using its payloads.
+     *
+     * @param descriptor The {@link ConstraintDescriptor} of the violated constraint.
+     * @return The corresponding {@link ErrorCause}.
+     */
+    private static ErrorCause computeErrorCause(final ConstraintDescriptor<?> descriptor) {
+        return descriptor.getPayload()
                 .stream()
                 .filter(klass -> ClassUtils.isAssignable(ErrorCausePayload.class, klass)) // Only ErrorCausePayloads
                 .findFirst() // Just the first one (more than one: unexpected behaviour, as only the first one is used).
                 .map(ErrorCause::getByPayloadClass) // Map to an ErrorCause value
                 .orElse(ErrorCause.UNKNOWN); // Unknown error cause if no payload of type ErrorCausePayload.
-        final var path = StringUtils.delimitedListToStringArray(violation.getPropertyPath().toString(), ".", null);
-        final var message = violation.getMessageTemplate();
-        return new ConstraintViolationError(errorCause, path[path.length - 1], message);
+    }
+
+    /**
+     * Returns the name of the leaf node of the given {@code path} (i.e the field that did not validate),
+     * walking its nodes instead of building (and splitting) its string representation.
+     *
+     * @param path The {@link Path} of the violation.
+     * @return The name of the leaf node (empty if it has no name, as it happens with class level constraints).
+     */
+    private static String getLeafNodeName(final Path path) {
+        String name = null;
+        for (final var node : path) {
+            name = node.getName();
+        }
+        return name == null ? "" : name;
     }
 
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.exceptions;
+
+/**
+ * Holds the stackless mode, in which exceptions thrown in ordinary request paths
+ * (i.e client errors, like {@link NoSuchEntityException} or {@link UnauthenticatedException})
+ * do not capture their stack trace when created, and argument-less instances are shared.
+ * <p>
+ * The mode is disabled by default. It can be enabled by setting the {@value #STACKLESS_PROPERTY} system property
+ * to {@code true}, or through the {@link #setEnabled(boolean)} method.
+ */
+public final class StacklessExceptions {
+
+    /**
+     * System property that enables the stackless mode.
+     */
+    public static final String STACKLESS_PROPERTY = "com.bellotapps.webapps-commons.exceptions.stackless";
+
+    /**
+     * Flag indicating whether the stackless mode is enabled.
+     */
+    private static volatile boolean enabled = Boolean.getBoolean(STACKLESS_PROPERTY);
+
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private StacklessExceptions() {
+    }
+
+
+    /**
+     * @return {@code true} if the stackless mode is enabled, or {@code false} otherwise.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the stackless mode.
+     * Note that exceptions created before changing the mode are not affected.
+     *
+     * @param enabled {@code true} to enable the stackless mode, or {@code false} to disable it.
+     */
+    public static void setEnabled(final boolean enabled) {
+        StacklessExceptions.enabled = enabled;
+    }
+}
@@ -21,6 +21,11 @@ package com.bellotapps.webapps_commons.exceptions;
  */
 public class UnauthorizedException extends RuntimeException {
 
+    /**
+     * Shared argument-less instance, without stack trace, to be used in stackless mode.
+     */
+    private static final UnauthorizedException SHARED_INSTANCE = new UnauthorizedException(null, null, false, false);
+
     /**
      * Default constructor.
      */
@@ -47,4 +52,35 @@ public class UnauthorizedException extends RuntimeException {
     public UnauthorizedException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Constructor which allows disabling suppression and the stack trace (used to create the shared instance).
+     *
+     * @param message            The detail message.
+     * @param cause              The cause.
+     * @param enableSuppression  Whether suppression is enabled or disabled.
+     * @param writableStackTrace Whether the stack trace should be writable.
+     */
+    private UnauthorizedException(final String message, final Throwable cause,
+                                   final boolean enableSuppression, final boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+
+    /**
+     * Returns an argument-less {@link UnauthorizedException}.
+     * When the stackless mode is enabled (see {@link StacklessExceptions}), a shared pre-allocated instance
+     * is returned. Otherwise, a new instance is created.
+     *
+     * @return An argument-less {@link UnauthorizedException}.
+     */
+    public static UnauthorizedException create() {
+        return StacklessExceptions.isEnabled() ? SHARED_INSTANCE : new UnauthorizedException();
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
 }
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.index;
+
+import com.bellotapps.webapps_commons.core.ComponentIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor that writes the {@link ComponentIndex} of the compiled classes
+ * (i.e Jersey providers, Jersey controllers and exception handlers),
+ * including those whose stereotype is a meta-annotation (e.g {@code @JerseyController}, which is a {@code @Provider}).
+ * <p>
+ * To use it, add the webapps-commons-index-processor artifact as a {@code provided} dependency.
+ * The index is written even if there are no components, as it marks the output as indexed
+ * (see {@link ComponentIndex#isAuthoritativeFor(String)}).
+ * Entries of a previously written index are kept as long as their classes still exist,
+ * so incremental compilation does not lose them.
+ * <p>
+ * It also writes the GraalVM native-image configuration needed by the indexed components
+ * (i.e they are registered for reflection, and the index is included as a resource).
+ * <p>
+ * If the {@value #VERIFY_REFLECT_CONFIG_OPTION} option is set to the location (in the class output)
+ * of a hand-written native-image reflection configuration, the build fails for every indexed component
+ * and every Jackson DTO (i.e a class with Jackson annotated members) that is not registered in it.
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Name of the option holding the location of the reflection configuration to be verified.
+     */
+    public static final String VERIFY_REFLECT_CONFIG_OPTION = "webapps_commons.index.verifyReflectConfig";
+
+    /**
+     * The indexed stereotypes.
+     */
+    private static final Set<String> STEREOTYPES = Set.of(
+            ComponentIndex.PROVIDER,
+            ComponentIndex.JERSEY_CONTROLLER,
+            ComponentIndex.EXCEPTION_HANDLER_OBJECT
+    );
+
+    /**
+     * Jackson annotations whose presence in a class' members makes it a DTO (i.e it needs reflection).
+     */
+    private static final Set<String> JACKSON_ANNOTATIONS = Set.of(
+            "com.fasterxml.jackson.annotation.JsonCreator",
+            "com.fasterxml.jackson.annotation.JsonGetter",
+            "com.fasterxml.jackson.annotation.JsonInclude",
+            "com.fasterxml.jackson.annotation.JsonProperty",
+            "com.fasterxml.jackson.annotation.JsonSetter",
+            "com.fasterxml.jackson.annotation.JsonValue"
+    );
+
+    /**
+     * Pattern matching the class names registered in a reflection configuration.
+     */
+    private static final Pattern REFLECT_CONFIG_NAME_PATTERN = Pattern.compile("\"name\"\\s*:\\s*\"([^\"]+)\"");
+
+    /**
+     * Location of the native-image reflection configuration of the indexed components.
+     */
+    private static final String REFLECT_CONFIG_LOCATION =
+            "META-INF/native-image/webapps-commons-index/reflect-config.json";
+
+    /**
+     * Location of the native-image resources configuration (which includes the index).
+     */
+    private static final String RESOURCE_CONFIG_LOCATION =
+            "META-INF/native-image/webapps-commons-index/resource-config.json";
+
+    /**
+     * The indexed stereotypes, by class name.
+     */
+    private final Map<String, Set<String>> stereotypesByClassName = new TreeMap<>();
+
+    /**
+     * The class names of the Jackson DTOs (which are not indexed, but are verified).
+     */
+    private final Set<String> dtoClassNames = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of("*"); // Stereotypes might be meta-annotations of any annotation
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(VERIFY_REFLECT_CONFIG_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        ElementFilter.typesIn(roundEnv.getRootElements()).forEach(this::indexType);
+        final var elements = processingEnv.getElementUtils();
+        JACKSON_ANNOTATIONS.stream()
+                .map(elements::getTypeElement)
+                .filter(Objects::nonNull)
+                .map(roundEnv::getElementsAnnotatedWith)
+                .flatMap(Set::stream)
+                .map(ComponentIndexProcessor::enclosingType)
+                .filter(Objects::nonNull)
+                .map(type -> elements.getBinaryName(type).toString())
+                .forEach(dtoClassNames::add);
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            writeNativeImageConfiguration();
+            Optional.ofNullable(processingEnv.getOptions().get(VERIFY_REFLECT_CONFIG_OPTION))
+                    .ifPresent(this::verifyReflectConfig);
+        }
+        return false; // Other processors might be interested in these annotations
+    }
+
+
+    /**
+     * Indexes the given {@code type} (if it is a component), together with its nested types.
+     *
+     * @param type The {@link TypeElement} to be indexed.
+     */
+    private void indexType(final TypeElement type) {
+        if (type.getKind() == ElementKind.CLASS) {
+            final var stereotypes = new TreeSet<String>();
+            collectStereotypes(type, stereotypes, new HashSet<>());
+            if (!stereotypes.isEmpty()) {
+                final var className = processingEnv.getElementUtils().getBinaryName(type).toString();
+                stereotypesByClassName.computeIfAbsent(className, ignored -> new TreeSet<>()).addAll(stereotypes);
+            }
+        }
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(this::indexType);
+    }
+
+    /**
+     * Verifies that the indexed components (including those of the previous index) and the Jackson DTOs
+     * are registered in the reflection configuration at the given location, reporting an error for each missing one.
+     *
+     * @param location The location of the reflection configuration, in the class output.
+     */
+    private void verifyReflectConfig(final String location) {
+        final var messager = processingEnv.getMessager();
+        final var classNames = new TreeSet<>(stereotypesByClassName.keySet());
+        classNames.addAll(dtoClassNames);
+        if (classNames.isEmpty()) {
+            return;
+        }
+        final String content;
+        try {
+            content = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", location)
+                    .getCharContent(true)
+                    .toString();
+        } catch (final IOException | IllegalArgumentException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not read the reflection configuration " + location
+                    + ", which must register " + String.join(", ", classNames));
+            return;
+        }
+        final var registered = new HashSet<String>();
+        final var matcher = REFLECT_CONFIG_NAME_PATTERN.matcher(content);
+        while (matcher.find()) {
+            registered.add(matcher.group(1));
+        }
+        classNames.stream()
+                .filter(className -> !registered.contains(className))
+                .forEach(className -> messager.printMessage(Diagnostic.Kind.ERROR,
+                        className + " is not registered for reflection in " + location));
+    }
+
+    /**
+     * Collects the stereotypes the given {@code element} is annotated with, either directly or through
+     * meta-annotations (at any depth).
+     *
+     * @param element     The annotated {@link Element}.
+     * @param stereotypes The {@link Set} in which the stereotypes are collected.
+     * @param visited     The names of the already visited annotations (as meta-annotations might be cyclic).
+     */
+    private static void collectStereotypes(final Element element, final Set<String> stereotypes,
+                                           final Set<String> visited) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final var annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            final var name = annotationType.getQualifiedName().toString();
+            if (!visited.add(name)) {
+                continue;
+            }
+            if (STEREOTYPES.contains(name)) {
+                stereotypes.add(name);
+            }
+            collectStereotypes(annotationType, stereotypes, visited);
+        }
+    }
+
+    /**
+     * Returns the type enclosing the given {@link Element} (i.e the element itself if it is a type).
+     *
+     * @param element The {@link Element} whose enclosing type must be returned.
+     * @return The enclosing {@link TypeElement}, or {@code null} if there is none.
+     */
+    private static TypeElement enclosingType(final Element element) {
+        var current = element;
+        while (current != null && !(current instanceof TypeElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (TypeElement) current;
+    }
+
+
+    /**
+     * Writes the index, merging it with the previously written one (if any).
+     */
+    private void writeIndex() {
+        final var filer = processingEnv.getFiler();
+        readPreviousIndex();
+        try {
+            final var file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try (final var writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(ComponentIndex.COMMENT_PREFIX + " Generated by " + getClass().getName() + "\n");
+                for (final var entry : stereotypesByClassName.entrySet()) {
+                    writer.write(entry.getKey() + ComponentIndex.CLASS_NAME_SEPARATOR
+                            + String.join(ComponentIndex.STEREOTYPES_SEPARATOR, entry.getValue()) + "\n");
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "Could not write the component index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the native-image configuration of the indexed components (including those of the previous index).
+     */
+    private void writeNativeImageConfiguration() {
+        final var reflectConfig = stereotypesByClassName.keySet().stream()
+                .map(className -> "  {\n"
+                        + "    \"name\": \"" + className + "\",\n"
+                        + "    \"allDeclaredConstructors\": true,\n"
+                        + "    \"allPublicConstructors\": true,\n"
+                        + "    \"allDeclaredMethods\": true,\n"
+                        + "    \"allPublicMethods\": true,\n"
+                        + "    \"allDeclaredFields\": true,\n"
+                        + "    \"allPublicFields\": true\n"
+                        + "  }")
+                .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+        final var resourceConfig = "{\n"
+                + "  \"resources\": {\n"
+                + "    \"includes\": [\n"
+                + "      {\n"
+                + "        \"pattern\": \"\\\\Q" + ComponentIndex.LOCATION + "\\\\E\"\n"
+                + "      }\n"
+                + "    ]\n"
+                + "  }\n"
+                + "}\n";
+        writeResource(REFLECT_CONFIG_LOCATION, reflectConfig);
+        writeResource(RESOURCE_CONFIG_LOCATION, resourceConfig);
+    }
+
+    /**
+     * Writes a resource in the class output.
+     *
+     * @param location The location of the resource.
+     * @param content  The content of the resource.
+     */
+    private void writeResource(final String location, final String content) {
+        try {
+            final var file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+            try (final var writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "Could not write " + location + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the entries of the previously written index whose classes still exist (and were not processed again).
+     */
+    private void readPreviousIndex() {
+        final var elements = processingEnv.getElementUtils();
+        try (final var reader = openPreviousIndex()) {
+            if (reader == null) {
+                return;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final var separatorIndex = line.indexOf(ComponentIndex.CLASS_NAME_SEPARATOR);
+                if (line.startsWith(ComponentIndex.COMMENT_PREFIX) || separatorIndex <= 0) {
+                    continue;
+                }
+                final var className = line.substring(0, separatorIndex);
+                if (stereotypesByClassName.containsKey(className)
+                        || elements.getTypeElement(className.replace('$', '.')) == null) {
+                    continue; // Already processed, or removed
+                }
+                final var stereotypes = line.substring(separatorIndex + 1).split(ComponentIndex.STEREOTYPES_SEPARATOR);
+                stereotypesByClassName.put(className, new TreeSet<>(Arrays.asList(stereotypes)));
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not read the previous component index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the previously written index (if any) for reading.
+     *
+     * @return A {@link BufferedReader} to read the previous index, or {@code null} if there is no previous index.
+     */
+    private BufferedReader openPreviousIndex() {
+        try {
+            final var previous = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            return new BufferedReader(new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8));
+        } catch (final IOException | IllegalArgumentException e) {
+            return null; // No previous index
+        }
+    }
+}
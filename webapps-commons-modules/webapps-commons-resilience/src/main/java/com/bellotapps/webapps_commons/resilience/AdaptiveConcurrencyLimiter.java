@@ -0,0 +1,425 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.resilience;
+
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A limiter of in-flight requests whose limit adapts to the observed latency (using a gradient algorithm),
+ * so the service neither wastes capacity nor lets latency grow unbounded (by queueing requests) under overload.
+ * <p>
+ * Latency samples are aggregated in tumbling windows. When a window ends, its average latency (the short RTT)
+ * is compared against the lowest average latency of the previous windows (the no-load RTT):
+ * the limit is reduced proportionally while the short RTT exceeds the no-load RTT (times the tolerance),
+ * and increased (by the square root of the limit, which is the amount of requests allowed to queue) otherwise.
+ * The no-load RTT is periodically reset to the short RTT, so the limit follows legitimate latency changes
+ * (e.g a slower database). The limit is not changed by windows in which less than half of it was in use,
+ * as those say nothing about it.
+ * <p>
+ * Requests can be grouped in partitions, each of them reserving a share of the limit:
+ * once the limit is reached, requests are only accepted if their partition did not use its reserved share,
+ * so critical requests keep their capacity while the rest of the requests are rejected.
+ * Requests that do not belong to any partition are part of the {@link #DEFAULT_PARTITION}, which reserves nothing.
+ * <p>
+ * This class is thread safe. Permits are acquired and released without locking;
+ * only the limit update (once per window) is synchronized.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    /**
+     * The name of the partition of requests that do not belong to any configured partition.
+     */
+    public static final String DEFAULT_PARTITION = "default";
+
+    /**
+     * The amount of windows after which the no-load RTT is reset.
+     */
+    private static final int NO_LOAD_RTT_RESET_WINDOWS = 100;
+
+    /**
+     * The minimum gradient (i.e the limit is at most halved by a window).
+     */
+    private static final double MIN_GRADIENT = 0.5;
+
+
+    /**
+     * The name of the limiter (i.e the protected service).
+     */
+    private final String name;
+
+    /**
+     * The minimum limit.
+     */
+    private final int minLimit;
+
+    /**
+     * The maximum limit.
+     */
+    private final int maxLimit;
+
+    /**
+     * The ratio by which the short RTT can exceed the no-load RTT without reducing the limit.
+     */
+    private final double rttTolerance;
+
+    /**
+     * The weight (between 0 and 1) of each new estimation in the limit.
+     */
+    private final double smoothing;
+
+    /**
+     * The duration (in nanoseconds) of each window.
+     */
+    private final long windowNanos;
+
+    /**
+     * The configured partitions, by name.
+     */
+    private final Map<String, Partition> partitions;
+
+    /**
+     * The partition of requests that do not belong to any configured partition.
+     */
+    private final Partition defaultPartition;
+
+    /**
+     * The amount of in-flight requests.
+     */
+    private final AtomicInteger inFlight;
+
+    /**
+     * The current window.
+     */
+    private final AtomicReference<Window> window;
+
+    /**
+     * The current limit (i.e the rounded {@link #estimatedLimit}).
+     */
+    private volatile int limit;
+
+    /**
+     * The estimated limit (guarded by {@code this}).
+     */
+    private double estimatedLimit;
+
+    /**
+     * The no-load RTT, in nanoseconds (guarded by {@code this}, and zero till the first window ends).
+     */
+    private double noLoadRtt;
+
+    /**
+     * The amount of windows since the no-load RTT was reset (guarded by {@code this}).
+     */
+    private int windowsSinceReset;
+
+
+    /**
+     * Constructor.
+     *
+     * @param name           The name of the limiter (i.e the protected service).
+     * @param initialLimit   The initial limit.
+     * @param minLimit       The minimum limit.
+     * @param maxLimit       The maximum limit.
+     * @param rttTolerance   The ratio (at least 1) by which the short RTT can exceed the no-load RTT
+     *                       without reducing the limit.
+     * @param smoothing      The weight (greater than 0 and at most 1) of each new estimation in the limit.
+     * @param windowMillis   The duration (in milliseconds) of each window.
+     * @param reservedShares The share of the limit (greater than 0 and at most 1) reserved by each partition,
+     *                       by partition name. The sum of the shares must be at most 1.
+     */
+    public AdaptiveConcurrencyLimiter(final String name,
+                                      final int initialLimit, final int minLimit, final int maxLimit,
+                                      final double rttTolerance, final double smoothing, final long windowMillis,
+                                      final Map<String, Double> reservedShares) {
+        Assert.hasText(name, "The name must not be empty");
+        Assert.isTrue(minLimit > 0, "The minimum limit must be positive");
+        Assert.isTrue(maxLimit >= minLimit, "The maximum limit must not be lower than the minimum limit");
+        Assert.isTrue(initialLimit >= minLimit && initialLimit <= maxLimit,
+                "The initial limit must be between the minimum and the maximum limits");
+        Assert.isTrue(rttTolerance >= 1, "The RTT tolerance must be at least 1");
+        Assert.isTrue(smoothing > 0 && smoothing <= 1, "The smoothing must be greater than 0 and at most 1");
+        Assert.isTrue(windowMillis > 0, "The window duration must be positive");
+        Assert.notNull(reservedShares, "The reserved shares map must not be null");
+        Assert.isTrue(!reservedShares.containsKey(DEFAULT_PARTITION),
+                "The " + DEFAULT_PARTITION + " partition can not reserve a share of the limit");
+        Assert.isTrue(reservedShares.values().stream().allMatch(share -> share != null && share > 0 && share <= 1),
+                "Reserved shares must be greater than 0 and at most 1");
+        Assert.isTrue(reservedShares.values().stream().mapToDouble(Double::doubleValue).sum() <= 1,
+                "The sum of the reserved shares must be at most 1");
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        final var partitions = new HashMap<String, Partition>();
+        reservedShares.forEach((partition, share) -> partitions.put(partition, new Partition(share)));
+        this.partitions = Map.copyOf(partitions);
+        this.defaultPartition = new Partition(0);
+        this.inFlight = new AtomicInteger(0);
+        this.window = new AtomicReference<>(new Window(System.nanoTime()));
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.noLoadRtt = 0;
+        this.windowsSinceReset = 0;
+    }
+
+
+    /**
+     * @return The name of the limiter (i.e the protected service).
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The current limit of in-flight requests.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The current amount of in-flight requests.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Tries to acquire a {@link Permit} to execute a request.
+     *
+     * @param partition The name of the partition of the request
+     *                  (requests of unknown partitions are part of the {@link #DEFAULT_PARTITION}).
+     * @return An {@link Optional} holding the {@link Permit}, which must be released once the request finishes,
+     * or empty if the request must be rejected.
+     */
+    public Optional<Permit> tryAcquire(final String partition) {
+        final var requestPartition = partitions.getOrDefault(partition, defaultPartition);
+        final var currentLimit = limit;
+        final var currentInFlight = inFlight.incrementAndGet();
+        final var partitionInFlight = requestPartition.inFlight.incrementAndGet();
+        if (currentInFlight > currentLimit && partitionInFlight > requestPartition.reserved(currentLimit)) {
+            inFlight.decrementAndGet();
+            requestPartition.inFlight.decrementAndGet();
+            return Optional.empty();
+        }
+        return Optional.of(new Permit(requestPartition, currentInFlight, System.nanoTime()));
+    }
+
+
+    /**
+     * Records the latency of a finished request.
+     *
+     * @param rtt      The latency of the request, in nanoseconds.
+     * @param inFlight The amount of in-flight requests when the request started.
+     */
+    private void recordSample(final long rtt, final int inFlight) {
+        final var now = System.nanoTime();
+        final var currentWindow = window.get();
+        currentWindow.rttSum.add(rtt);
+        currentWindow.samples.increment();
+        currentWindow.maxInFlight.accumulate(inFlight);
+        // Only the thread that starts the next window updates the limit with the finished one
+        if (now - currentWindow.start >= windowNanos && window.compareAndSet(currentWindow, new Window(now))) {
+            updateLimit(currentWindow);
+        }
+    }
+
+    /**
+     * Updates the limit with the samples of the given {@code finishedWindow}.
+     *
+     * @param finishedWindow The finished {@link Window}.
+     */
+    private synchronized void updateLimit(final Window finishedWindow) {
+        final var samples = finishedWindow.samples.sum();
+        if (samples == 0) {
+            return;
+        }
+        final var shortRtt = Math.max(1d, (double) finishedWindow.rttSum.sum() / samples);
+        if (noLoadRtt == 0 || ++windowsSinceReset >= NO_LOAD_RTT_RESET_WINDOWS) {
+            noLoadRtt = shortRtt;
+            windowsSinceReset = 0;
+        } else {
+            noLoadRtt = Math.min(noLoadRtt, shortRtt);
+        }
+        if (finishedWindow.maxInFlight.get() < estimatedLimit / 2) {
+            return; // The limit was not being used, so the window says nothing about it
+        }
+        final var gradient = Math.max(MIN_GRADIENT, Math.min(1, rttTolerance * noLoadRtt / shortRtt));
+        final var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        limit = (int) estimatedLimit;
+    }
+
+
+    /**
+     * A permit to execute a request, which must be released once the request finishes.
+     */
+    public final class Permit {
+
+        /**
+         * The partition of the request.
+         */
+        private final Partition partition;
+
+        /**
+         * The amount of in-flight requests when the permit was acquired.
+         */
+        private final int inFlightOnAcquire;
+
+        /**
+         * The moment (in nanoseconds) in which the permit was acquired.
+         */
+        private final long start;
+
+        /**
+         * Flag indicating whether the permit was already released.
+         */
+        private final AtomicBoolean released;
+
+        /**
+         * Constructor.
+         *
+         * @param partition         The partition of the request.
+         * @param inFlightOnAcquire The amount of in-flight requests when the permit was acquired.
+         * @param start             The moment (in nanoseconds) in which the permit was acquired.
+         */
+        private Permit(final Partition partition, final int inFlightOnAcquire, final long start) {
+            this.partition = partition;
+            this.inFlightOnAcquire = inFlightOnAcquire;
+            this.start = start;
+            this.released = new AtomicBoolean(false);
+        }
+
+        /**
+         * Releases the permit, recording the latency of the request. Releasing it again has no effect.
+         */
+        public void release() {
+            if (releaseSlot()) {
+                recordSample(System.nanoTime() - start, inFlightOnAcquire);
+            }
+        }
+
+        /**
+         * Releases the permit without recording the latency of the request
+         * (e.g because it failed, so its latency is not representative). Releasing it again has no effect.
+         */
+        public void releaseWithoutSample() {
+            releaseSlot();
+        }
+
+        /**
+         * Decrements the in-flight requests counters, if the permit was not released yet.
+         *
+         * @return {@code true} if the permit was released by this call, or {@code false} otherwise.
+         */
+        private boolean releaseSlot() {
+            if (!released.compareAndSet(false, true)) {
+                return false;
+            }
+            inFlight.decrementAndGet();
+            partition.inFlight.decrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * A partition of requests, which reserves a share of the limit.
+     */
+    private static final class Partition {
+
+        /**
+         * The share of the limit reserved by the partition.
+         */
+        private final double reservedShare;
+
+        /**
+         * The amount of in-flight requests of the partition.
+         */
+        private final AtomicInteger inFlight;
+
+        /**
+         * Constructor.
+         *
+         * @param reservedShare The share of the limit reserved by the partition.
+         */
+        private Partition(final double reservedShare) {
+            this.reservedShare = reservedShare;
+            this.inFlight = new AtomicInteger(0);
+        }
+
+        /**
+         * Returns the amount of in-flight requests reserved by the partition.
+         *
+         * @param limit The current limit.
+         * @return The amount of reserved in-flight requests.
+         */
+        private int reserved(final int limit) {
+            return (int) Math.ceil(limit * reservedShare);
+        }
+    }
+
+    /**
+     * A tumbling window of latency samples.
+     */
+    private static final class Window {
+
+        /**
+         * The moment (in nanoseconds) in which the window started.
+         */
+        private final long start;
+
+        /**
+         * The sum of the recorded latencies, in nanoseconds.
+         */
+        private final LongAdder rttSum;
+
+        /**
+         * The amount of recorded samples.
+         */
+        private final LongAdder samples;
+
+        /**
+         * The maximum amount of in-flight requests of the recorded samples.
+         */
+        private final LongAccumulator maxInFlight;
+
+        /**
+         * Constructor.
+         *
+         * @param start The moment (in nanoseconds) in which the window started.
+         */
+        private Window(final long start) {
+            this.start = start;
+            this.rttSum = new LongAdder();
+            this.samples = new LongAdder();
+            this.maxInFlight = new LongAccumulator(Math::max, 0);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.resilience;
+
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bulkhead that limits the amount of concurrent calls to a service, so a slow service can not tie up
+ * all the threads of the application, and that tracks the latency and error rate of those calls.
+ * <p>
+ * Calls are never queued: if the maximum amount of concurrent calls is reached, they are rejected immediately
+ * with a {@link BulkheadFullException}. Besides that, each bulkhead is backed by a {@link CircuitBreaker}
+ * which is fed with both failures and slow calls, so calls to a degraded service are also rejected immediately
+ * (with a {@link CircuitBreakerOpenException}).
+ * <p>
+ * Calls that end with an exception (e.g an {@link ExternalServiceException}) are recorded as failures.
+ * Failures detected in other ways can be reported through the {@link #recordFailure()} method.
+ * <p>
+ * There must be one bulkhead per protected service, shared by all the components that call it
+ * (e.g obtained by name from a {@link BulkheadFactory}).
+ * <p>
+ * Calls are not performed once the current {@link Deadline} has expired (as nobody is waiting for their result).
+ */
+public final class Bulkhead {
+
+    /**
+     * The name of the bulkhead (i.e the protected service).
+     */
+    private final String name;
+
+    /**
+     * The maximum amount of concurrent calls.
+     */
+    private final int maxConcurrentCalls;
+
+    /**
+     * The amount of nanoseconds after which a call is considered slow.
+     */
+    private final long slowCallThresholdNanos;
+
+    /**
+     * The {@link CircuitBreaker} that rejects calls while the service is degraded.
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * The permits for concurrent calls.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The amount of performed calls.
+     */
+    private final LongAdder calls;
+
+    /**
+     * The amount of failed calls.
+     */
+    private final LongAdder failures;
+
+    /**
+     * The amount of slow calls.
+     */
+    private final LongAdder slowCalls;
+
+    /**
+     * The amount of rejected calls.
+     */
+    private final LongAdder rejections;
+
+    /**
+     * The sum of the latencies (in nanoseconds) of the performed calls.
+     */
+    private final LongAdder totalLatencyNanos;
+
+
+    /**
+     * Constructor.
+     *
+     * @param name                    The name of the bulkhead (i.e the protected service).
+     * @param maxConcurrentCalls      The maximum amount of concurrent calls.
+     * @param slowCallThresholdMillis The amount of milliseconds after which a call is considered slow.
+     * @param circuitBreaker          The {@link CircuitBreaker} that rejects calls while the service is degraded.
+     */
+    public Bulkhead(final String name, final int maxConcurrentCalls, final long slowCallThresholdMillis,
+                    final CircuitBreaker circuitBreaker) {
+        Assert.hasText(name, "The name must not be empty");
+        Assert.isTrue(maxConcurrentCalls > 0, "The maximum amount of concurrent calls must be positive");
+        Assert.isTrue(slowCallThresholdMillis > 0, "The slow call threshold must be positive");
+        Assert.notNull(circuitBreaker, "The circuit breaker must not be null");
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMillis);
+        this.circuitBreaker = circuitBreaker;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.calls = new LongAdder();
+        this.failures = new LongAdder();
+        this.slowCalls = new LongAdder();
+        this.rejections = new LongAdder();
+        this.totalLatencyNanos = new LongAdder();
+    }
+
+
+    /**
+     * Performs the given {@code call}, if permitted.
+     *
+     * @param call The call to be performed.
+     * @param <T>  The type of the call's result.
+     * @return The call's result.
+     * @throws CircuitBreakerOpenException If the service is degraded.
+     * @throws BulkheadFullException       If the maximum amount of concurrent calls is reached.
+     * @throws DeadlineExceededException   If the current {@link Deadline} already expired.
+     */
+    public <T> T execute(final Supplier<T> call)
+            throws CircuitBreakerOpenException, BulkheadFullException, DeadlineExceededException {
+        Assert.notNull(call, "The call must not be null");
+        // Nobody is waiting for the result of calls performed after the deadline
+        Deadline.checkCurrent();
+        // The concurrency permit is taken first, so rejected calls never waste a half-open probe of the breaker
+        if (!permits.tryAcquire()) {
+            rejections.increment();
+            throw new BulkheadFullException(name);
+        }
+        final var permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.NOT_PERMITTED) {
+            permits.release();
+            rejections.increment();
+            throw CircuitBreakerOpenException.of(circuitBreaker);
+        }
+        final var start = System.nanoTime();
+        var completed = false;
+        try {
+            final var result = call.get();
+            completed = true;
+            return result;
+        } catch (final DeadlineExceededException e) {
+            throw e; // Not a failure of the service
+        } catch (final RuntimeException | Error e) {
+            failures.increment();
+            circuitBreaker.recordFailure(permission);
+            throw e;
+        } finally {
+            permits.release();
+            record(permission, System.nanoTime() - start, completed);
+        }
+    }
+
+    /**
+     * Performs the given {@code call}, if permitted.
+     *
+     * @param call The call to be performed.
+     * @throws CircuitBreakerOpenException If the service is degraded.
+     * @throws BulkheadFullException       If the maximum amount of concurrent calls is reached.
+     * @throws DeadlineExceededException   If the current {@link Deadline} already expired.
+     */
+    public void run(final Runnable call)
+            throws CircuitBreakerOpenException, BulkheadFullException, DeadlineExceededException {
+        Assert.notNull(call, "The call must not be null");
+        execute(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records a failed call to the service.
+     */
+    public void recordFailure() {
+        failures.increment();
+        circuitBreaker.recordFailure();
+    }
+
+
+    /**
+     * @return The name of the bulkhead (i.e the protected service).
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The {@link CircuitBreaker} that rejects calls while the service is degraded.
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return The amount of calls currently in flight.
+     */
+    public int getInFlightCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    /**
+     * @return The amount of performed calls.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return The amount of failed calls.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return The amount of slow calls.
+     */
+    public long getSlowCalls() {
+        return slowCalls.sum();
+    }
+
+    /**
+     * @return The amount of rejected calls.
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return The ratio between failed and performed calls (zero if no call was performed).
+     */
+    public double getErrorRate() {
+        final var performedCalls = calls.sum();
+        return performedCalls == 0 ? 0 : Math.min(1, (double) failures.sum() / performedCalls);
+    }
+
+    /**
+     * @return The average latency (in nanoseconds) of the performed calls (zero if no call was performed).
+     */
+    public long getAverageLatencyNanos() {
+        final var performedCalls = calls.sum();
+        return performedCalls == 0 ? 0 : totalLatencyNanos.sum() / performedCalls;
+    }
+
+
+    /**
+     * Records the latency of a performed call, reporting it to the {@link CircuitBreaker}.
+     *
+     * @param permission   The permission acquired from the {@link CircuitBreaker} to perform the call.
+     * @param latencyNanos The latency of the call, in nanoseconds.
+     * @param completed    {@code true} if the call completed normally, or {@code false} otherwise.
+     */
+    private void record(final long permission, final long latencyNanos, final boolean completed) {
+        calls.increment();
+        totalLatencyNanos.add(latencyNanos);
+        if (!completed) {
+            return; // Failures are reported on their own
+        }
+        if (latencyNanos >= slowCallThresholdNanos) {
+            slowCalls.increment();
+            circuitBreaker.recordFailure(permission);
+        } else {
+            circuitBreaker.recordSuccess(permission);
+        }
+    }
+}
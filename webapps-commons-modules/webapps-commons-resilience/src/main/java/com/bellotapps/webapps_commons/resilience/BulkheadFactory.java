@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.resilience;
+
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Creates {@link Bulkhead}s with the same settings, each of them backed by its own {@link CircuitBreaker}.
+ * Bulkheads are kept by name, so there is exactly one per protected service (i.e its concurrency limit and breaker
+ * are shared by all the components that call it), no matter how many times it is requested.
+ * The factory is not a global registry: it is meant to be injected (e.g as a bean),
+ * so each application context has its own bulkheads.
+ */
+public final class BulkheadFactory {
+
+    /**
+     * The maximum amount of concurrent calls of the created {@link Bulkhead}s.
+     */
+    private final int maxConcurrentCalls;
+
+    /**
+     * The amount of milliseconds after which a call is considered slow by the created {@link Bulkhead}s.
+     */
+    private final long slowCallThresholdMillis;
+
+    /**
+     * Creates the {@link CircuitBreaker} of each {@link Bulkhead}, given its name.
+     */
+    private final Function<String, CircuitBreaker> circuitBreakerFactory;
+
+    /**
+     * The created {@link Bulkhead}s, by name.
+     */
+    private final Map<String, Bulkhead> bulkheads;
+
+
+    /**
+     * Constructor.
+     *
+     * @param maxConcurrentCalls      The maximum amount of concurrent calls of the created {@link Bulkhead}s.
+     * @param slowCallThresholdMillis The amount of milliseconds after which a call is considered slow.
+     * @param circuitBreakerFactory   Creates the {@link CircuitBreaker} of each {@link Bulkhead}, given its name.
+     */
+    public BulkheadFactory(final int maxConcurrentCalls, final long slowCallThresholdMillis,
+                           final Function<String, CircuitBreaker> circuitBreakerFactory) {
+        Assert.isTrue(maxConcurrentCalls > 0, "The maximum amount of concurrent calls must be positive");
+        Assert.isTrue(slowCallThresholdMillis > 0, "The slow call threshold must be positive");
+        Assert.notNull(circuitBreakerFactory, "The circuit breaker factory must not be null");
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.slowCallThresholdMillis = slowCallThresholdMillis;
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.bulkheads = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Returns the {@link Bulkhead} with the given {@code name}, creating it (with a new {@link CircuitBreaker})
+     * the first time it is requested.
+     *
+     * @param name The name of the bulkhead (i.e the protected service).
+     * @return The {@link Bulkhead}.
+     */
+    public Bulkhead get(final String name) {
+        Assert.hasText(name, "The name must not be empty");
+        return bulkheads.computeIfAbsent(name, bulkheadName -> new Bulkhead(bulkheadName, maxConcurrentCalls,
+                slowCallThresholdMillis, circuitBreakerFactory.apply(bulkheadName)));
+    }
+
+    /**
+     * Returns the {@link Bulkhead} with the given {@code name}, creating it the first time it is requested.
+     *
+     * @param name The name of the bulkhead (i.e the protected service).
+     * @return The {@link Bulkhead}.
+     * @see #get(String)
+     */
+    public Bulkhead create(final String name) {
+        return get(name);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.resilience;
+
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+
+/**
+ * {@link ExternalServiceException} that signals that a call to a service was rejected without being performed
+ * (e.g because the service is failing, or because there are too many calls in flight).
+ * As it is used as a signal (and not thrown from a failing path), it never captures its stack trace.
+ */
+public class CallNotPermittedException extends ExternalServiceException {
+
+    /**
+     * Constructor.
+     *
+     * @param service The name of the service whose call was rejected.
+     * @param message The detail message, which is saved for later retrieval by the {@link #getMessage()} method.
+     */
+    public CallNotPermittedException(final String service, final String message) {
+        super(service, message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
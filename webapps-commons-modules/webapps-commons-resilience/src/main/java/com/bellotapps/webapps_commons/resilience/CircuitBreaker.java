@@ -0,0 +1,375 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.resilience;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A circuit breaker that tracks the outcome of calls to a service,
+ * and stops letting calls through while the service is failing.
+ * <p>
+ * The breaker starts {@link State#CLOSED closed}, counting successes and failures in a tumbling window.
+ * Once the failure rate of a window (with at least the minimum amount of calls) reaches the threshold,
+ * the breaker {@link State#OPEN opens}, and permissions are denied until the open duration elapses.
+ * It then turns {@link State#HALF_OPEN half-open}, letting a limited amount of probes through:
+ * if all of them succeed the breaker closes again, while any failure opens it again.
+ * <p>
+ * Each permission is stamped with the epoch of the state in which it was acquired (a new epoch starts
+ * with each state transition), and outcomes are only counted if the breaker is still in that epoch.
+ * This way, calls acquired while closed that finish once the breaker is half-open are not taken as probes.
+ * <p>
+ * This class is thread safe. Permissions and outcomes are recorded without locking;
+ * only state transitions are synchronized.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * The value returned by {@link #tryAcquirePermission()} when a call must be short-circuited.
+     */
+    public static final long NOT_PERMITTED = -1;
+
+    /**
+     * The name of the circuit breaker (i.e the protected service).
+     */
+    private final String name;
+
+    /**
+     * The failure rate (between 0 and 1) that opens the breaker.
+     */
+    private final double failureRateThreshold;
+
+    /**
+     * The minimum amount of calls a window must have in order to evaluate its failure rate.
+     */
+    private final long minimumCalls;
+
+    /**
+     * The duration (in nanoseconds) of each window.
+     */
+    private final long windowNanos;
+
+    /**
+     * The amount of nanoseconds the breaker stays open before letting probes through.
+     */
+    private final long openNanos;
+
+    /**
+     * The amount of probes let through while half-open.
+     */
+    private final int halfOpenProbes;
+
+    /**
+     * The current window.
+     */
+    private final AtomicReference<Window> window;
+
+    /**
+     * The amount of probes that can still be let through while half-open.
+     */
+    private final AtomicInteger remainingProbes;
+
+    /**
+     * The amount of probes that succeeded while half-open.
+     */
+    private final AtomicInteger succeededProbes;
+
+    /**
+     * The current state.
+     */
+    private volatile State state;
+
+    /**
+     * The moment (in nanoseconds) in which the current state was entered.
+     */
+    private volatile long stateTimestamp;
+
+    /**
+     * The epoch of the current state (i.e the amount of transitions performed), which stamps permissions.
+     */
+    private volatile long epoch;
+
+
+    /**
+     * Constructor.
+     *
+     * @param name                 The name of the circuit breaker (i.e the protected service).
+     * @param failureRateThreshold The failure rate (greater than 0 and at most 1) that opens the breaker.
+     * @param minimumCalls         The minimum amount of calls a window must have in order to evaluate its failure rate.
+     * @param windowMillis         The duration (in milliseconds) of each window.
+     * @param openMillis           The amount of milliseconds the breaker stays open before letting probes through.
+     * @param halfOpenProbes       The amount of probes let through while half-open.
+     */
+    public CircuitBreaker(final String name, final double failureRateThreshold, final long minimumCalls,
+                          final long windowMillis, final long openMillis, final int halfOpenProbes) {
+        Assert.hasText(name, "The name must not be empty");
+        Assert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 1,
+                "The failure rate threshold must be greater than 0 and at most 1");
+        Assert.isTrue(minimumCalls > 0, "The minimum amount of calls must be positive");
+        Assert.isTrue(windowMillis > 0, "The window duration must be positive");
+        Assert.isTrue(openMillis > 0, "The open duration must be positive");
+        Assert.isTrue(halfOpenProbes > 0, "The amount of half-open probes must be positive");
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenProbes = halfOpenProbes;
+        final var now = System.nanoTime();
+        this.window = new AtomicReference<>(new Window(now));
+        this.remainingProbes = new AtomicInteger(0);
+        this.succeededProbes = new AtomicInteger(0);
+        this.state = State.CLOSED;
+        this.stateTimestamp = now;
+        this.epoch = 0;
+    }
+
+
+    /**
+     * @return The name of the circuit breaker (i.e the protected service).
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The current state.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether a call can be performed.
+     *
+     * @return A permission (to be passed to {@link #recordSuccess(long)} or {@link #recordFailure(long)}
+     * once the call finishes) if the call can be performed,
+     * or {@link #NOT_PERMITTED} if it must be short-circuited.
+     */
+    public long tryAcquirePermission() {
+        // The epoch is read before the state (which is written before the epoch), so a permission acquired
+        // while a transition is taking place is stale, and its outcome is ignored
+        final var currentEpoch = epoch;
+        final var currentState = state;
+        if (currentState == State.CLOSED) {
+            return currentEpoch;
+        }
+        final var now = System.nanoTime();
+        if (now - stateTimestamp < openNanos) {
+            return currentState == State.HALF_OPEN && takeProbe() ? currentEpoch : NOT_PERMITTED;
+        }
+        // The open duration elapsed (or the half-open probes never reported back), so probes can be let through
+        startProbing(currentState, now);
+        final var probingEpoch = epoch;
+        return state == State.HALF_OPEN && takeProbe() ? probingEpoch : NOT_PERMITTED;
+    }
+
+    /**
+     * Records the success of a call performed with the given {@code permission}.
+     * It is ignored if the permission was acquired in a previous state.
+     *
+     * @param permission The permission returned by {@link #tryAcquirePermission()}.
+     */
+    public void recordSuccess(final long permission) {
+        if (permission != epoch) {
+            return;
+        }
+        final var currentState = state;
+        if (currentState == State.CLOSED) {
+            currentWindow(System.nanoTime()).successes.increment();
+        } else if (currentState == State.HALF_OPEN && succeededProbes.incrementAndGet() >= halfOpenProbes) {
+            transition(permission, State.CLOSED, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records the failure of a call performed with the given {@code permission}.
+     * It is ignored if the permission was acquired in a previous state.
+     *
+     * @param permission The permission returned by {@link #tryAcquirePermission()}.
+     */
+    public void recordFailure(final long permission) {
+        if (permission != epoch) {
+            return;
+        }
+        failure(permission, System.nanoTime());
+    }
+
+    /**
+     * Records a failure that is not bound to a permission (e.g detected by other components).
+     * While half-open, it opens the breaker again.
+     */
+    public void recordFailure() {
+        failure(epoch, System.nanoTime());
+    }
+
+    /**
+     * Returns the amount of nanoseconds that clients should wait before retrying a short-circuited call.
+     *
+     * @return The amount of nanoseconds (zero if the breaker is closed).
+     */
+    public long getRetryAfterNanos() {
+        if (state == State.CLOSED) {
+            return 0;
+        }
+        return Math.max(0, openNanos - (System.nanoTime() - stateTimestamp));
+    }
+
+
+    /**
+     * Takes one of the remaining half-open probes, if any.
+     *
+     * @return {@code true} if a probe was taken, or {@code false} otherwise.
+     */
+    private boolean takeProbe() {
+        return remainingProbes.getAndUpdate(probes -> probes > 0 ? probes - 1 : probes) > 0;
+    }
+
+    /**
+     * Records a failure in the given {@code expectedEpoch}.
+     *
+     * @param expectedEpoch The epoch in which the failure happened.
+     * @param now           The current moment, in nanoseconds.
+     */
+    private void failure(final long expectedEpoch, final long now) {
+        final var currentState = state;
+        if (currentState == State.HALF_OPEN) {
+            transition(expectedEpoch, State.OPEN, now);
+            return;
+        }
+        if (currentState == State.OPEN) {
+            return;
+        }
+        final var currentWindow = currentWindow(now);
+        currentWindow.failures.increment();
+        final var failures = currentWindow.failures.sum();
+        final var calls = failures + currentWindow.successes.sum();
+        if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+            transition(expectedEpoch, State.OPEN, now);
+        }
+    }
+
+    /**
+     * Returns the current window, starting a new one if the current one expired.
+     *
+     * @param now The current moment, in nanoseconds.
+     * @return The current {@link Window}.
+     */
+    private Window currentWindow(final long now) {
+        final var currentWindow = window.get();
+        if (now - currentWindow.start < windowNanos) {
+            return currentWindow;
+        }
+        // If another thread already started a new window, just use that one
+        window.compareAndSet(currentWindow, new Window(now));
+        return window.get();
+    }
+
+    /**
+     * Starts (or restarts) the half-open state, if the breaker is still in the given {@code expectedState}
+     * and no other thread did it before.
+     *
+     * @param expectedState The state in which the breaker was observed.
+     * @param now           The current moment, in nanoseconds.
+     */
+    private synchronized void startProbing(final State expectedState, final long now) {
+        if (state != expectedState || now - stateTimestamp < openNanos) {
+            return;
+        }
+        remainingProbes.set(halfOpenProbes);
+        succeededProbes.set(0);
+        state = State.HALF_OPEN;
+        stateTimestamp = now;
+        epoch++;
+    }
+
+    /**
+     * Transitions into the {@code to} state, if the breaker is still in the {@code expectedEpoch}.
+     *
+     * @param expectedEpoch The epoch in which the breaker was observed.
+     * @param to            The new state.
+     * @param now           The current moment, in nanoseconds.
+     */
+    private synchronized void transition(final long expectedEpoch, final State to, final long now) {
+        if (epoch != expectedEpoch) {
+            return;
+        }
+        if (to == State.CLOSED) {
+            window.set(new Window(now));
+        }
+        remainingProbes.set(0);
+        state = to;
+        stateTimestamp = now;
+        epoch++;
+    }
+
+
+    /**
+     * The states of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        /**
+         * Calls are let through, and their outcomes are counted.
+         */
+        CLOSED,
+        /**
+         * Calls are short-circuited.
+         */
+        OPEN,
+        /**
+         * A limited amount of calls are let through, in order to check whether the service recovered.
+         */
+        HALF_OPEN,
+    }
+
+    /**
+     * A tumbling window of calls outcomes.
+     */
+    private static final class Window {
+
+        /**
+         * The moment (in nanoseconds) in which the window started.
+         */
+        private final long start;
+
+        /**
+         * The amount of successful calls in the window.
+         */
+        private final LongAdder successes;
+
+        /**
+         * The amount of failed calls in the window.
+         */
+        private final LongAdder failures;
+
+        /**
+         * Constructor.
+         *
+         * @param start The moment (in nanoseconds) in which the window started.
+         */
+        private Window(final long start) {
+            this.start = start;
+            this.successes = new LongAdder();
+            this.failures = new LongAdder();
+        }
+    }
+}
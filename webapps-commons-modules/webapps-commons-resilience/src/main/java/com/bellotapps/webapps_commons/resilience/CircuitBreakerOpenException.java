@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CallNotPermittedException} that signals that a call was short-circuited by an open {@link CircuitBreaker}.
+ * It carries the time remaining until the breaker lets calls through again,
+ * so clients can be told when to retry (e.g with a {@code Retry-After} header).
+ */
+public class CircuitBreakerOpenException extends CallNotPermittedException {
+
+    /**
+     * The amount of nanoseconds until the breaker lets calls through again (zero if unknown).
+     */
+    private final long retryAfterNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param service The name of the service protected by the open {@link CircuitBreaker}.
+     */
+    public CircuitBreakerOpenException(final String service) {
+        this(service, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param service         The name of the service protected by the open {@link CircuitBreaker}.
+     * @param retryAfterNanos The amount of nanoseconds until the breaker lets calls through again.
+     */
+    public CircuitBreakerOpenException(final String service, final long retryAfterNanos) {
+        super(service, "The circuit breaker for " + service + " is open");
+        this.retryAfterNanos = Math.max(0, retryAfterNanos);
+    }
+
+    /**
+     * Creates a {@link CircuitBreakerOpenException} for the given {@code circuitBreaker}.
+     *
+     * @param circuitBreaker The open {@link CircuitBreaker}.
+     * @return The created exception.
+     */
+    public static CircuitBreakerOpenException of(final CircuitBreaker circuitBreaker) {
+        return new CircuitBreakerOpenException(circuitBreaker.getName(), circuitBreaker.getRetryAfterNanos());
+    }
+
+
+    /**
+     * @return The amount of nanoseconds until the breaker lets calls through again (zero if unknown).
+     */
+    public long getRetryAfterNanos() {
+        return retryAfterNanos;
+    }
+
+    /**
+     * @return The amount of seconds (rounded up, and at least one) clients should wait before retrying.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.resilience;
+
+/**
+ * {@link CallNotPermittedException} that signals that a request was rejected by an {@link AdaptiveConcurrencyLimiter}
+ * because its current limit of in-flight requests was reached.
+ */
+public class ConcurrencyLimitExceededException extends CallNotPermittedException {
+
+    /**
+     * Constructor.
+     *
+     * @param service The name of the service protected by the {@link AdaptiveConcurrencyLimiter}.
+     */
+    public ConcurrencyLimitExceededException(final String service) {
+        super(service, "Too many in-flight requests to " + service);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.resilience;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time after which the result of a request is no longer useful
+ * (e.g because the client stops waiting for the response after a timeout).
+ * <p>
+ * The deadline of the request being served is held as the current deadline of the thread serving it,
+ * so repositories and downstream calls can access their remaining budget (e.g to set query or call timeouts),
+ * or abort through {@link #checkCurrent()} once it has expired (as {@link Bulkhead}s do before each call).
+ */
+public final class Deadline {
+
+    /**
+     * Holds the current deadline of each thread.
+     */
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The timeout (in milliseconds) used to create this deadline.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * The value of {@link System#nanoTime()} in which this deadline expires.
+     */
+    private final long expirationNanos;
+
+
+    /**
+     * Constructor.
+     *
+     * @param timeoutMillis The timeout (in milliseconds) used to create this deadline.
+     */
+    private Deadline(final long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.expirationNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+
+    /**
+     * Creates a {@link Deadline} that expires after the given amount of milliseconds.
+     *
+     * @param timeoutMillis The timeout (in milliseconds). Zero means that the deadline is already expired.
+     * @return The created {@link Deadline}.
+     * @throws IllegalArgumentException If the timeout is negative.
+     */
+    public static Deadline afterMillis(final long timeoutMillis) throws IllegalArgumentException {
+        Assert.isTrue(timeoutMillis >= 0, "The timeout must not be negative");
+        return new Deadline(timeoutMillis);
+    }
+
+    /**
+     * @return The timeout (in milliseconds) used to create this deadline.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @return The remaining time until this deadline expires (zero if it already expired).
+     */
+    public Duration getRemaining() {
+        return Duration.ofNanos(Math.max(0, expirationNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return The remaining milliseconds until this deadline expires (zero if it already expired).
+     */
+    public long getRemainingMillis() {
+        return getRemaining().toMillis();
+    }
+
+    /**
+     * @return {@code true} if this deadline already expired, or {@code false} otherwise.
+     */
+    public boolean isExpired() {
+        return expirationNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Checks that this deadline has not expired yet.
+     *
+     * @throws DeadlineExceededException If this deadline already expired.
+     */
+    public void check() throws DeadlineExceededException {
+        if (isExpired()) {
+            throw new DeadlineExceededException(timeoutMillis);
+        }
+    }
+
+
+    /**
+     * @return An {@link Optional} containing the current {@link Deadline} of this thread, or empty if there is none.
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Checks that the current {@link Deadline} of this thread (if any) has not expired yet.
+     *
+     * @throws DeadlineExceededException If the current deadline already expired.
+     */
+    public static void checkCurrent() throws DeadlineExceededException {
+        final var deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+
+    /**
+     * Returns the remaining time of the current {@link Deadline} of this thread as a query timeout
+     * (i.e in seconds, rounded up, as taken by {@link java.sql.Statement#setQueryTimeout(int)}),
+     * so queries are cancelled by the database once nobody is waiting for their results.
+     *
+     * @return An {@link OptionalInt} containing the query timeout, or empty if there is no current deadline.
+     * @throws DeadlineExceededException If the current deadline already expired.
+     */
+    public static OptionalInt currentQueryTimeoutSeconds() throws DeadlineExceededException {
+        final var deadline = CURRENT.get();
+        if (deadline == null) {
+            return OptionalInt.empty();
+        }
+        deadline.check();
+        final var remainingNanos = deadline.expirationNanos - System.nanoTime();
+        final var seconds = (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return OptionalInt.of((int) Math.min(Integer.MAX_VALUE, Math.max(1, seconds)));
+    }
+
+    /**
+     * Sets the current {@link Deadline} of this thread.
+     *
+     * @param deadline The {@link Deadline} to be set (or {@code null} to remove the current one).
+     * @return The previous {@link Deadline} of this thread (or {@code null} if there was none),
+     * so it can be restored afterwards.
+     */
+    public static Deadline setCurrent(final Deadline deadline) {
+        final var previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+}
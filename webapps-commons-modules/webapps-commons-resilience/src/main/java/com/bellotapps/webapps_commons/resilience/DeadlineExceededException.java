@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.resilience;
+
+/**
+ * {@link RuntimeException} that signals that the {@link Deadline} of a request has expired
+ * (i.e the client already stopped waiting for the response, so the work must be aborted).
+ * As it is used as a signal (and not thrown from a failing path), it never captures its stack trace.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * The timeout (in milliseconds) of the expired {@link Deadline}.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param timeoutMillis The timeout (in milliseconds) of the expired {@link Deadline}.
+     */
+    public DeadlineExceededException(final long timeoutMillis) {
+        super("The deadline of " + timeoutMillis + " ms has expired");
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return The timeout (in milliseconds) of the expired {@link Deadline}.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -51,7 +51,12 @@ public interface PagingRepositoryAdapter<E, ID>
     @Override
     default Page<E> findAll(final PagingRequest pagingRequest) {
         final var pageable = PagingMapper.map(pagingRequest);
-        final var page = getPagingAndSortingRepository().findAll(pageable);
-        return PagingMapper.map(page);
+        final var event = RepositoryCallEvent.start();
+        try {
+            final var page = getPagingAndSortingRepository().findAll(pageable);
+            return PagingMapper.map(page);
+        } finally {
+            event.finish(this, "findAll");
+        }
     }
 }
@@ -39,7 +39,12 @@ public interface ReaderRepositoryAdapter<E, ID> extends ReaderRepository<E, ID>,
      */
     @Override
     default long count() {
-        return getCrudRepository().count();
+        final var event = RepositoryCallEvent.start();
+        try {
+            return getCrudRepository().count();
+        } finally {
+            event.finish(this, "count");
+        }
     }
 
     /**
@@ -51,7 +56,12 @@ public interface ReaderRepositoryAdapter<E, ID> extends ReaderRepository<E, ID>,
      */
     @Override
     default boolean existsById(final ID id) throws IllegalArgumentException {
-        return getCrudRepository().existsById(id);
+        final var event = RepositoryCallEvent.start();
+        try {
+            return getCrudRepository().existsById(id);
+        } finally {
+            event.finish(this, "existsById");
+        }
     }
 
     /**
@@ -63,7 +73,12 @@ public interface ReaderRepositoryAdapter<E, ID> extends ReaderRepository<E, ID>,
      */
     @Override
     default Optional<E> findById(final ID id) throws IllegalArgumentException {
-        return getCrudRepository().findById(id);
+        final var event = RepositoryCallEvent.start();
+        try {
+            return getCrudRepository().findById(id);
+        } finally {
+            event.finish(this, "findById");
+        }
     }
 
     /**
@@ -73,6 +88,11 @@ public interface ReaderRepositoryAdapter<E, ID> extends ReaderRepository<E, ID>,
      */
     @Override
     default Iterable<E> findAll() {
-        return getCrudRepository().findAll();
+        final var event = RepositoryCallEvent.start();
+        try {
+            return getCrudRepository().findAll();
+        } finally {
+            event.finish(this, "findAll");
+        }
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event emitted when an operation is performed through a repository adapter
+ * (i.e delegated to a Spring Data repository).
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({"Webapps Commons", "Persistence"})
+@Description("An operation delegated by a repository adapter to a Spring Data repository")
+@Threshold("10 ms")
+@StackTrace(false)
+/* package */ final class RepositoryCallEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    /* package */ static final String NAME = "com.bellotapps.webapps_commons.RepositoryCall";
+
+    /**
+     * The class of the repository adapter performing the operation.
+     */
+    @Label("Repository Class")
+    private Class<?> repositoryClass;
+
+    /**
+     * The performed operation (i.e the name of the adapter's method).
+     */
+    @Label("Operation")
+    private String operation;
+
+
+    /**
+     * Creates a {@link RepositoryCallEvent}, and starts its timing.
+     *
+     * @return The created {@link RepositoryCallEvent}.
+     */
+    /* package */ static RepositoryCallEvent start() {
+        final var event = new RepositoryCallEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing of this event, and commits it if it must be committed.
+     *
+     * @param repository The repository adapter performing the operation.
+     * @param operation  The performed operation.
+     */
+    /* package */ void finish(final Object repository, final String operation) {
+        end();
+        if (shouldCommit()) {
+            this.repositoryClass = repository.getClass();
+            this.operation = operation;
+            commit();
+        }
+    }
+}
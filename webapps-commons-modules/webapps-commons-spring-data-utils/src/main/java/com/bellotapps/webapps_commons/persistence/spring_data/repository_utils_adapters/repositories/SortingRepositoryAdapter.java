@@ -41,6 +41,11 @@ public interface SortingRepositoryAdapter<E, ID>
      */
     @Override
     default Iterable<E> findAll(final SortingData sortingData) {
-        return getPagingAndSortingRepository().findAll(SortingMapper.map(sortingData));
+        final var event = RepositoryCallEvent.start();
+        try {
+            return getPagingAndSortingRepository().findAll(SortingMapper.map(sortingData));
+        } finally {
+            event.finish(this, "findAll");
+        }
     }
 }
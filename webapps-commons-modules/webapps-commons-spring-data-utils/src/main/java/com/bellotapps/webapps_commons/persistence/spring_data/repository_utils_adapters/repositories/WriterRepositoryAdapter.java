@@ -40,7 +40,12 @@ public interface WriterRepositoryAdapter<E, ID> extends WriterRepository<E, ID>,
      */
     @Override
     default <S extends E> S save(final S entity) throws IllegalArgumentException {
-        return getCrudRepository().save(entity);
+        final var event = RepositoryCallEvent.start();
+        try {
+            return getCrudRepository().save(entity);
+        } finally {
+            event.finish(this, "save");
+        }
     }
 
     /**
@@ -52,7 +57,12 @@ public interface WriterRepositoryAdapter<E, ID> extends WriterRepository<E, ID>,
      */
     @Override
     default <S extends E> void delete(final S entity) throws IllegalArgumentException {
-        getCrudRepository().delete(entity);
+        final var event = RepositoryCallEvent.start();
+        try {
+            getCrudRepository().delete(entity);
+        } finally {
+            event.finish(this, "delete");
+        }
     }
 
     /**
@@ -63,7 +73,12 @@ public interface WriterRepositoryAdapter<E, ID> extends WriterRepository<E, ID>,
      */
     @Override
     default void deleteById(final ID id) throws IllegalArgumentException {
-        getCrudRepository().deleteById(id);
+        final var event = RepositoryCallEvent.start();
+        try {
+            getCrudRepository().deleteById(id);
+        } finally {
+            event.finish(this, "deleteById");
+        }
     }
 
     /**
@@ -71,6 +86,11 @@ public interface WriterRepositoryAdapter<E, ID> extends WriterRepository<E, ID>,
      */
     @Override
     default void deleteAll() {
-        getCrudRepository().deleteAll();
+        final var event = RepositoryCallEvent.start();
+        try {
+            getCrudRepository().deleteAll();
+        } finally {
+            event.finish(this, "deleteAll");
+        }
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.StartupProfiler;
+import com.bellotapps.webapps_commons.core.StartupReport;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables startup profiling, which records the wall time and the allocated memory of the creation of
+ * each webapps-commons bean (e.g those defined by the configurers), and of each scanning phase.
+ * When the application context is refreshed, a {@link StartupReport} is logged (sorted by self time),
+ * which can also be exposed as a JSON document (e.g through the {@code startupReportPath} of the Jersey application).
+ * <p>
+ * Profiling has a small overhead, so it is meant to be enabled only while looking for startup regressions.
+ *
+ * @see StartupProfilingConfigurer
+ * @see StartupProfiler
+ * @see StartupReport
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+@Import(StartupProfilingConfigurer.class)
+public @interface EnableStartupProfiling {
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables the warm-up phase, in which synthetic workloads (i.e {@link WarmUpTask}s) are executed
+ * before the application starts accepting requests, so the JIT compiles the code paths used by requests
+ * before the node joins the load balancer.
+ * The amount of iterations (and the timeout of the whole phase) can be configured through the
+ * "com.bellotapps.webapps-commons.warm-up" properties.
+ *
+ * @see WarmUpConfigurer
+ * @see WarmUpRunner
+ * @see WarmUpProperties
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+@Import(WarmUpConfigurer.class)
+public @interface EnableWarmUp {
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * An {@link ApplicationListener} that, if the {@value #EXIT_ON_READY_PROPERTY} system property is {@code true},
+ * prints the startup time (i.e the JVM uptime once the application is ready) and exits the application.
+ * It is used by training runs (e.g the one that dumps the list of loaded classes to build an AppCDS archive),
+ * and by the {@link StartupTimeComparison} harness.
+ * <p>
+ * It is registered in the {@code META-INF/spring.factories} file, so applications do not need to enable it.
+ */
+public final class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    /**
+     * The system property that indicates whether the application must exit once it is ready.
+     */
+    public static final String EXIT_ON_READY_PROPERTY =
+            FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".startup.exit-on-ready";
+
+    /**
+     * Prefix of the line with the startup time (in milliseconds) that is printed before exiting.
+     */
+    public static final String STARTUP_TIME_PREFIX = "webapps-commons startup time (ms): ";
+
+
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        if (!Boolean.getBoolean(EXIT_ON_READY_PROPERTY)) {
+            return;
+        }
+        // Printed in the standard output (and not logged) in order to be independent of the logging configuration
+        System.out.println(STARTUP_TIME_PREFIX + ManagementFactory.getRuntimeMXBean().getUptime());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.StartupProfiler;
+import com.bellotapps.webapps_commons.core.StartupReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Configuration class that starts the {@link StartupProfiler}, records the creation of webapps-commons beans,
+ * and logs the {@link StartupReport} once the application context is refreshed.
+ * <p>
+ * Beans are recorded as {@link StartupProfiler#BEAN} phases, named after the bean method that defines them
+ * (e.g {@code JerseyApplicationConfigurer#jerseyConfig}), or after their class (e.g for configurers).
+ * Note that the wall time of a bean includes the creation of its dependencies,
+ * which are excluded from its self time only if they are recorded too.
+ */
+@Configuration
+public class StartupProfilingConfigurer {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private final static Logger LOGGER = LoggerFactory.getLogger(StartupProfilingConfigurer.class);
+
+    /**
+     * Prefix of the classes whose beans are recorded.
+     */
+    private final static String RECORDED_CLASSES_PREFIX = "com.bellotapps.";
+
+
+    @Bean
+    public static BeanPostProcessor startupProfilingPostProcessor() {
+        return new StartupProfilingPostProcessor();
+    }
+
+    @Bean
+    public ApplicationListener<ContextRefreshedEvent> startupReportLogger() {
+        return event -> StartupProfiler.stop().ifPresent(report -> LOGGER.info("{}", report));
+    }
+
+
+    /**
+     * An {@link InstantiationAwareBeanPostProcessor} that begins a {@link StartupProfiler.Phase}
+     * before a recorded bean is instantiated, and closes it once the bean is initialized.
+     * The profiler is started when this post processor is created
+     * (i.e before the regular beans are created).
+     * <p>
+     * Phases of beans whose creation failed are never closed by Spring. They are discarded when the phase
+     * of the bean that depended on them is closed, or when this post processor is destroyed
+     * (e.g because the application context failed to refresh), in which case profiling is stopped too.
+     */
+    private static final class StartupProfilingPostProcessor
+            implements InstantiationAwareBeanPostProcessor, BeanFactoryAware, DisposableBean {
+
+        /**
+         * The open phases of each thread, by bean name, in the order in which they were begun.
+         */
+        private final ThreadLocal<LinkedHashMap<String, StartupProfiler.Phase>> openPhases;
+
+        /**
+         * The {@link ConfigurableListableBeanFactory} from where bean definitions are taken
+         * (or {@code null} if the bean factory is not a {@link ConfigurableListableBeanFactory}).
+         */
+        private ConfigurableListableBeanFactory beanFactory;
+
+        /**
+         * Constructor.
+         */
+        private StartupProfilingPostProcessor() {
+            this.openPhases = ThreadLocal.withInitial(LinkedHashMap::new);
+            this.beanFactory = null;
+            StartupProfiler.start();
+        }
+
+        @Override
+        public void setBeanFactory(final BeanFactory beanFactory) throws BeansException {
+            if (beanFactory instanceof ConfigurableListableBeanFactory) {
+                this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+            }
+        }
+
+        @Override
+        public Object postProcessBeforeInstantiation(final Class<?> beanClass, final String beanName)
+                throws BeansException {
+            if (StartupProfiler.isEnabled()) {
+                getPhaseName(beanName).ifPresent(phaseName -> {
+                    final var phases = openPhases.get();
+                    phases.remove(beanName); // A previous attempt to create the bean might have failed
+                    phases.put(beanName, StartupProfiler.begin(StartupProfiler.BEAN, phaseName));
+                });
+            }
+            return null;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName)
+                throws BeansException {
+            final var phases = openPhases.get();
+            final var phase = phases.get(beanName);
+            if (phase != null) {
+                // Phases begun after this one (and still open) are of inner beans whose creation failed,
+                // which are discarded when this one is closed
+                var found = false;
+                for (final var iterator = phases.keySet().iterator(); iterator.hasNext(); ) {
+                    found |= iterator.next().equals(beanName);
+                    if (found) {
+                        iterator.remove();
+                    }
+                }
+                phase.close();
+            }
+            if (phases.isEmpty()) {
+                openPhases.remove();
+            }
+            return bean;
+        }
+
+        @Override
+        public void destroy() {
+            // If the context did not finish refreshing, profiling is still enabled: stop it before closing the
+            // phases of the beans whose creation failed, so they are discarded instead of being recorded
+            StartupProfiler.stop()
+                    .ifPresent(report -> LOGGER.debug("Application context closed before being refreshed. {}", report));
+            openPhases.get().values().forEach(StartupProfiler.Phase::close);
+            openPhases.remove();
+        }
+
+        /**
+         * Returns the name of the phase in which the bean with the given {@code beanName} is created.
+         *
+         * @param beanName The name of the bean.
+         * @return An {@link Optional} containing the name of the phase,
+         * or empty if the bean must not be recorded (e.g it is not a webapps-commons bean, or it is an inner bean).
+         */
+        private Optional<String> getPhaseName(final String beanName) {
+            if (beanFactory == null || beanName == null || !beanFactory.containsBeanDefinition(beanName)) {
+                return Optional.empty();
+            }
+            final var beanDefinition = beanFactory.getBeanDefinition(beanName);
+            final var factoryMethodMetadata = beanDefinition instanceof AnnotatedBeanDefinition ?
+                    ((AnnotatedBeanDefinition) beanDefinition).getFactoryMethodMetadata() : null;
+            if (factoryMethodMetadata != null) {
+                return Optional.of(factoryMethodMetadata.getDeclaringClassName())
+                        .filter(className -> className.startsWith(RECORDED_CLASSES_PREFIX))
+                        .map(className -> ClassUtils.getShortName(className)
+                                + "#" + factoryMethodMetadata.getMethodName());
+            }
+            return Optional.ofNullable(beanDefinition.getBeanClassName())
+                    .filter(className -> className.startsWith(RECORDED_CLASSES_PREFIX))
+                    .map(ClassUtils::getShortName);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Harness that compares the startup time of an application when Class Data Sharing is disabled,
+ * when the JDK's default archive is used, and when an application archive (AppCDS) is used.
+ * <p>
+ * The application is launched several times with each configuration, using the {@link ExitOnReadyListener}
+ * in order to make it report its startup time and exit once it is ready.
+ * <p>
+ * Usage: {@code StartupTimeComparison <classpath> <main-class> <archive> [runs]}.
+ */
+public final class StartupTimeComparison {
+
+    /**
+     * The default amount of times the application is launched with each configuration.
+     */
+    private static final int DEFAULT_RUNS = 5;
+
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private StartupTimeComparison() {
+    }
+
+
+    /**
+     * Entry point.
+     *
+     * @param args The classpath of the application, its main class, the AppCDS archive,
+     *             and (optionally) the amount of runs per configuration.
+     * @throws IOException          If an I/O error occurs while launching an application.
+     * @throws InterruptedException If the current thread is interrupted while waiting for an application.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: StartupTimeComparison <classpath> <main-class> <archive> [runs]");
+            System.exit(1);
+        }
+        final var classpath = args[0];
+        final var mainClass = args[1];
+        final var archive = Path.of(args[2]);
+        final var runs = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_RUNS;
+
+        final var configurations = new LinkedHashMap<String, List<String>>();
+        configurations.put("No CDS", List.of("-Xshare:off"));
+        configurations.put("Default CDS", List.of("-Xshare:auto"));
+        if (Files.isRegularFile(archive)) {
+            configurations.put("AppCDS", List.of("-Xshare:auto", "-XX:SharedArchiveFile=" + archive));
+        } else {
+            System.err.println("AppCDS archive " + archive + " does not exist. Skipping AppCDS runs");
+        }
+
+        // Discard a first run, in order to have the classpath in the file system cache
+        launch(classpath, mainClass, List.of());
+
+        final var results = new LinkedHashMap<String, List<Long>>();
+        for (final Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+            final var times = new ArrayList<Long>(runs);
+            for (int i = 0; i < runs; i++) {
+                times.add(launch(classpath, mainClass, configuration.getValue()));
+            }
+            Collections.sort(times);
+            results.put(configuration.getKey(), times);
+        }
+
+        System.out.println(String.format("%-12s %12s %12s %12s", "Mode", "Min (ms)", "Median (ms)", "Max (ms)"));
+        results.forEach((mode, times) -> System.out.println(String.format("%-12s %12d %12d %12d",
+                mode, times.get(0), times.get(times.size() / 2), times.get(times.size() - 1))));
+    }
+
+    /**
+     * Launches the application, and waits till it reports its startup time and exits.
+     *
+     * @param classpath The classpath of the application.
+     * @param mainClass The main class of the application.
+     * @param jvmArgs   Extra arguments passed to the JVM.
+     * @return The startup time reported by the application, in milliseconds.
+     * @throws IOException          If an I/O error occurs while launching the application.
+     * @throws InterruptedException If the current thread is interrupted while waiting for the application.
+     * @throws IllegalStateException If the application does not report its startup time.
+     */
+    private static long launch(final String classpath, final String mainClass, final List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        final var command = Stream.of(
+                Stream.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()),
+                jvmArgs.stream(),
+                Stream.of("-D" + ExitOnReadyListener.EXIT_ON_READY_PROPERTY + "=true", "-cp", classpath, mainClass))
+                .flatMap(stream -> stream)
+                .collect(Collectors.toList());
+        final var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final var output = new ArrayList<String>();
+        try (final var reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+            }
+        }
+        final var exitCode = process.waitFor();
+        return output.stream()
+                .filter(line -> line.startsWith(ExitOnReadyListener.STARTUP_TIME_PREFIX))
+                .map(line -> line.substring(ExitOnReadyListener.STARTUP_TIME_PREFIX.length()).trim())
+                .map(Long::parseLong)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("The application (launched with "
+                        + Arrays.toString(jvmArgs.toArray()) + ") exited with code " + exitCode
+                        + " without reporting its startup time. Output:\n" + String.join("\n", output)));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Configuration class that defines a {@link WarmUpRunner} bean, which executes the {@link WarmUpTask} beans,
+ * together with those registered through {@link ServiceLoader}.
+ *
+ * @see EnableWarmUp
+ * @see WarmUpProperties
+ */
+@Configuration
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpConfigurer implements BeanClassLoaderAware {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private final static Logger LOGGER = LoggerFactory.getLogger(WarmUpConfigurer.class);
+
+    /**
+     * The {@link ClassLoader} used to load the {@link WarmUpTask}s registered through {@link ServiceLoader}.
+     */
+    private ClassLoader classLoader;
+
+
+    @Override
+    public void setBeanClassLoader(final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WarmUpRunner warmUpRunner(final ObjectProvider<WarmUpTask> tasks, final WarmUpProperties properties) {
+        final var allTasks = Stream.concat(tasks.orderedStream(), loadServiceTasks().stream())
+                .collect(Collectors.toList());
+        LOGGER.debug("Warm-up tasks: {}", allTasks.stream().map(WarmUpTask::getName).collect(Collectors.toList()));
+        return new WarmUpRunner(allTasks, properties);
+    }
+
+
+    /**
+     * Loads the {@link WarmUpTask}s registered through {@link ServiceLoader}.
+     *
+     * @return The loaded tasks (empty if they could not be loaded).
+     */
+    private List<WarmUpTask> loadServiceTasks() {
+        try {
+            return ServiceLoader.load(WarmUpTask.class, classLoader).stream()
+                    .map(ServiceLoader.Provider::get)
+                    .collect(Collectors.toList());
+        } catch (final ServiceConfigurationError e) {
+            LOGGER.warn("Could not load the warm-up tasks registered as services", e);
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the warm-up phase.
+ *
+ * @see WarmUpRunner
+ */
+@ConfigurationProperties(prefix = WarmUpProperties.PREFIX)
+public class WarmUpProperties {
+
+    /**
+     * Prefix for the "warm-up" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".warm-up";
+
+    /**
+     * The amount of times each {@link WarmUpTask} is executed (unless overridden in {@link #taskIterations}).
+     */
+    private int iterations = 10_000;
+
+    /**
+     * The amount of times specific {@link WarmUpTask}s are executed, by task name (zero disables the task).
+     */
+    private Map<String, Integer> taskIterations = new HashMap<>();
+
+    /**
+     * The max. amount of milliseconds the whole warm-up phase can take
+     * (tasks are stopped, and the remaining ones skipped, once it is exceeded).
+     */
+    private long timeout = 60_000;
+
+
+    /**
+     * Getter for the default amount of iterations.
+     *
+     * @return The amount of times each {@link WarmUpTask} is executed (unless overridden).
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Getter for the amount of iterations of specific tasks.
+     *
+     * @return The amount of times specific {@link WarmUpTask}s are executed, by task name.
+     */
+    public Map<String, Integer> getTaskIterations() {
+        return taskIterations;
+    }
+
+    /**
+     * Getter for the timeout.
+     *
+     * @return The max. amount of milliseconds the whole warm-up phase can take.
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Setter for the default amount of iterations.
+     *
+     * @param iterations The amount of times each {@link WarmUpTask} is executed (unless overridden).
+     */
+    public void setIterations(final int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Setter for the amount of iterations of specific tasks.
+     *
+     * @param taskIterations The amount of times specific {@link WarmUpTask}s are executed, by task name.
+     */
+    public void setTaskIterations(final Map<String, Integer> taskIterations) {
+        this.taskIterations = taskIterations;
+    }
+
+    /**
+     * Setter for the timeout.
+     *
+     * @param timeout The max. amount of milliseconds the whole warm-up phase can take.
+     */
+    public void setTimeout(final long timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+
+import java.util.Optional;
+
+/**
+ * The outcome of a {@link WarmUpTask} execution.
+ */
+public final class WarmUpResult {
+
+    /**
+     * The name of the task.
+     */
+    private final String name;
+
+    /**
+     * The amount of iterations the task was configured to execute.
+     */
+    private final int expectedIterations;
+
+    /**
+     * The amount of iterations that were actually executed.
+     */
+    private final int iterations;
+
+    /**
+     * The amount of milliseconds the task took.
+     */
+    private final long timeMillis;
+
+    /**
+     * The message of the exception that stopped the task, or {@code null} if the task did not fail.
+     */
+    private final String failure;
+
+
+    /**
+     * Constructor.
+     *
+     * @param name               The name of the task.
+     * @param expectedIterations The amount of iterations the task was configured to execute.
+     * @param iterations         The amount of iterations that were actually executed.
+     * @param timeMillis         The amount of milliseconds the task took.
+     * @param failure            The message of the exception that stopped the task,
+     *                           or {@code null} if the task did not fail.
+     */
+    /* package */ WarmUpResult(final String name, final int expectedIterations, final int iterations,
+                               final long timeMillis, final String failure) {
+        this.name = name;
+        this.expectedIterations = expectedIterations;
+        this.iterations = iterations;
+        this.timeMillis = timeMillis;
+        this.failure = failure;
+    }
+
+
+    /**
+     * @return The name of the task.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The amount of iterations the task was configured to execute.
+     */
+    public int getExpectedIterations() {
+        return expectedIterations;
+    }
+
+    /**
+     * @return The amount of iterations that were actually executed.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return The amount of milliseconds the task took.
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * @return An {@link Optional} containing the message of the exception that stopped the task,
+     * or empty if the task did not fail.
+     */
+    public Optional<String> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    /**
+     * @return {@code true} if all the configured iterations were executed, or {@code false} otherwise
+     * (i.e the task failed, or the warm-up phase timed out).
+     */
+    public boolean isCompleted() {
+        return failure == null && iterations == expectedIterations;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + iterations + "/" + expectedIterations + " iterations in " + timeMillis + " ms"
+                + getFailure().map(message -> " (failed: " + message + ")").orElse("");
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.startup;
+
+import com.bellotapps.webapps_commons.core.StartupProfiler;
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link SmartLifecycle} that executes the {@link WarmUpTask}s when the application context is started.
+ * As the context refresh does not finish until all the tasks are executed, the embedded web server
+ * does not start listening (and thus the application is not reported as ready) until the application is warm.
+ * <p>
+ * Tasks are executed sequentially, in the calling thread.
+ * A failing task is stopped (and reported), but it does not prevent the application from starting.
+ *
+ * @see WarmUpProperties
+ */
+public class WarmUpRunner implements SmartLifecycle {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private final static Logger LOGGER = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    /**
+     * The {@link WarmUpTask}s to be executed.
+     */
+    private final List<WarmUpTask> tasks;
+
+    /**
+     * The {@link WarmUpProperties} with the amount of iterations and the timeout.
+     */
+    private final WarmUpProperties properties;
+
+    /**
+     * The {@link WarmUpResult}s of the executed tasks (empty until the warm-up phase finishes).
+     */
+    private volatile List<WarmUpResult> results;
+
+    /**
+     * Flag indicating whether this lifecycle is running.
+     */
+    private volatile boolean running;
+
+
+    /**
+     * Constructor.
+     *
+     * @param tasks      The {@link WarmUpTask}s to be executed.
+     * @param properties The {@link WarmUpProperties} with the amount of iterations and the timeout.
+     */
+    public WarmUpRunner(final Collection<WarmUpTask> tasks, final WarmUpProperties properties) {
+        Assert.notNull(tasks, "The tasks collection must not be null");
+        Assert.notNull(properties, "The properties must not be null");
+        this.tasks = List.copyOf(tasks);
+        this.properties = properties;
+        this.results = List.of();
+        this.running = false;
+    }
+
+
+    /**
+     * @return The {@link WarmUpResult}s of the executed tasks (empty until the warm-up phase finishes).
+     */
+    public List<WarmUpResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return {@code true} if the warm-up phase finished and all the tasks completed their iterations,
+     * or {@code false} otherwise.
+     */
+    public boolean isWarm() {
+        final var currentResults = results;
+        return currentResults.size() == tasks.size() && currentResults.stream().allMatch(WarmUpResult::isCompleted);
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        final var beginNanos = System.nanoTime();
+        final var deadlineNanos = beginNanos + TimeUnit.MILLISECONDS.toNanos(properties.getTimeout());
+        final var executed = new ArrayList<WarmUpResult>(tasks.size());
+        for (final var task : tasks) {
+            executed.add(execute(task, deadlineNanos));
+        }
+        this.results = List.copyOf(executed);
+
+        final var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beginNanos);
+        if (isWarm()) {
+            LOGGER.info("Warm-up finished in {} ms: {}", elapsedMillis, results);
+        } else {
+            LOGGER.warn("Warm-up finished in {} ms, but some tasks did not complete: {}", elapsedMillis, results);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+
+    /**
+     * Executes the given {@code task} as many times as configured, or until the given deadline is reached.
+     *
+     * @param task          The {@link WarmUpTask} to be executed.
+     * @param deadlineNanos The moment (as returned by {@link System#nanoTime()}) in which the warm-up phase times out.
+     * @return The {@link WarmUpResult} of the execution.
+     */
+    private WarmUpResult execute(final WarmUpTask task, final long deadlineNanos) {
+        final var name = task.getName();
+        final var expectedIterations = Math.max(properties.getTaskIterations()
+                .getOrDefault(name, properties.getIterations()), 0);
+        final var beginNanos = System.nanoTime();
+        var iterations = 0;
+        String failure = null;
+        try (final var ignored = StartupProfiler.begin(StartupProfiler.WARM_UP, name)) {
+            while (iterations < expectedIterations && System.nanoTime() - deadlineNanos < 0) {
+                task.run();
+                iterations++;
+            }
+        } catch (final Exception | LinkageError e) {
+            LOGGER.warn("Warm-up task {} failed after {} iterations", name, iterations, e);
+            failure = e.toString();
+        }
+        final var timeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beginNanos);
+        return new WarmUpResult(name, expectedIterations, iterations, timeMillis, failure);
+    }
+}
@@ -83,6 +83,7 @@ public class JerseyValidator implements ConfiguredValidator {
             final Invocable resourceMethod,
             final Object[] args) throws ConstraintViolationException {
 
+        final var event = ValidationEvent.start();
         final var constraintViolations = new HashSet<ConstraintViolation<Object>>();
         final var beanDescriptor = getConstraintsForClass(resource.getClass());
 
@@ -110,6 +111,7 @@ public class JerseyValidator implements ConfiguredValidator {
                 constraintViolations.addAll(violations);
             }
         }
+        event.finish(resource.getClass(), ValidationEvent.INPUT_STAGE, constraintViolations.size());
 
         // If there were constraint violations, then throw a ConstraintViolationException
         if (!constraintViolations.isEmpty()) {
@@ -126,6 +128,7 @@ public class JerseyValidator implements ConfiguredValidator {
 
         // validate execution if execution validation is enabled
         if (executionValidationEnabled) {
+            final var event = ValidationEvent.start();
             final var constraintViolations = new HashSet<ConstraintViolation<Object>>();
             final var handlingMethod = resourceMethod.getHandlingMethod();
 
@@ -148,6 +151,7 @@ public class JerseyValidator implements ConfiguredValidator {
                     constraintViolations.addAll(entityViolations);
                 }
             }
+            event.finish(resource.getClass(), ValidationEvent.RESULT_STAGE, constraintViolations.size());
 
             // If there were constraint violations, then throw a ConstraintViolationException
             if (!constraintViolations.isEmpty()) {
@@ -16,6 +16,7 @@
 
 package com.bellotapps.webapps_commons.validation.jersey;
 
+import com.bellotapps.webapps_commons.core.WarmUpTask;
 import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -98,6 +99,18 @@ public class JerseyValidatorConfigurer {
         );
     }
 
+    /**
+     * Creates a {@link WarmUpTask} that validates sample dtos (executed only if warm-up is enabled).
+     *
+     * @param validatorFactory The {@link ValidatorFactory} from which the {@link javax.validation.Validator}
+     *                         used to validate the sample dtos is built.
+     * @return The created {@link WarmUpTask}.
+     */
+    @Bean
+    public WarmUpTask validationWarmUpTask(final ValidatorFactory validatorFactory) {
+        return new ValidationWarmUpTask(validatorFactory.getValidator());
+    }
+
     /**
      * Creates an instance of a {@link JerseyValidator}.
      *
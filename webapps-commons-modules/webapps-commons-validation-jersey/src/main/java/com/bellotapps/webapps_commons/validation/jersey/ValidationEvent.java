@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.validation.jersey;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event emitted when the {@link JerseyValidator} validates a resource method invocation,
+ * either its input (i.e the resource and the method's params), or its result.
+ */
+@Name(ValidationEvent.NAME)
+@Label("Resource Validation")
+@Category({"Webapps Commons", "Validation"})
+@Description("Validation of a resource method's input or result")
+@Threshold("1 ms")
+@StackTrace(false)
+/* package */ final class ValidationEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    /* package */ static final String NAME = "com.bellotapps.webapps_commons.ResourceValidation";
+
+    /**
+     * Stage value for the validation of the resource and the input params.
+     */
+    /* package */ static final String INPUT_STAGE = "input";
+
+    /**
+     * Stage value for the validation of the result.
+     */
+    /* package */ static final String RESULT_STAGE = "result";
+
+    /**
+     * The class of the validated resource.
+     */
+    @Label("Resource Class")
+    private Class<?> resourceClass;
+
+    /**
+     * The validation stage (i.e {@link #INPUT_STAGE} or {@link #RESULT_STAGE}).
+     */
+    @Label("Stage")
+    private String stage;
+
+    /**
+     * The amount of constraint violations found.
+     */
+    @Label("Violations")
+    private int violations;
+
+
+    /**
+     * Creates a {@link ValidationEvent}, and starts its timing.
+     *
+     * @return The created {@link ValidationEvent}.
+     */
+    /* package */ static ValidationEvent start() {
+        final var event = new ValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing of this event, and commits it if it must be committed.
+     *
+     * @param resourceClass The class of the validated resource.
+     * @param stage         The validation stage.
+     * @param violations    The amount of constraint violations found.
+     */
+    /* package */ void finish(final Class<?> resourceClass, final String stage, final int violations) {
+        end();
+        if (shouldCommit()) {
+            this.resourceClass = resourceClass;
+            this.stage = stage;
+            this.violations = violations;
+            commit();
+        }
+    }
+}
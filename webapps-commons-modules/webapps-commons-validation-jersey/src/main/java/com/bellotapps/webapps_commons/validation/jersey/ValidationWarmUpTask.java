@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.validation.jersey;
+
+import com.bellotapps.webapps_commons.core.WarmUpTask;
+import org.springframework.util.Assert;
+
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * A {@link WarmUpTask} that validates sample dtos (a valid one, and an invalid one) with a given {@link Validator}
+ * (which should be created by the same factory as the one used to validate requests,
+ * so constraints metadata caching and message interpolation are also warmed up).
+ */
+/* package */ final class ValidationWarmUpTask implements WarmUpTask {
+
+    /**
+     * The name of this task.
+     */
+    /* package */ static final String NAME = "validation";
+
+    /**
+     * A valid sample dto.
+     */
+    private static final SampleDto VALID_SAMPLE =
+            new SampleDto("warm-up", "warm-up@example.com", 1, List.of(new SampleItemDto("item")));
+
+    /**
+     * An invalid sample dto (all its constraints are violated).
+     */
+    private static final SampleDto INVALID_SAMPLE =
+            new SampleDto(null, "warm-up", -1, List.of(new SampleItemDto(" ")));
+
+    /**
+     * The {@link Validator} used to validate the sample dtos.
+     */
+    private final Validator validator;
+
+
+    /**
+     * Constructor.
+     *
+     * @param validator The {@link Validator} used to validate the sample dtos.
+     */
+    /* package */ ValidationWarmUpTask(final Validator validator) {
+        Assert.notNull(validator, "The validator must not be null");
+        this.validator = validator;
+    }
+
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void run() {
+        validator.validate(VALID_SAMPLE);
+        validator.validate(INVALID_SAMPLE);
+    }
+
+
+    /**
+     * A sample dto, with the most common constraints (including cascaded validation).
+     */
+    private static final class SampleDto {
+
+        /**
+         * A mandatory value with a size constraint.
+         */
+        @NotNull
+        @Size(min = 1, max = 64)
+        private final String username;
+
+        /**
+         * A value with a format constraint.
+         */
+        @Email
+        private final String email;
+
+        /**
+         * A numeric value with a range constraint.
+         */
+        @Min(0)
+        private final int amount;
+
+        /**
+         * Values validated in cascade.
+         */
+        @Valid
+        @NotNull
+        private final List<SampleItemDto> items;
+
+        /**
+         * Constructor.
+         *
+         * @param username A mandatory value with a size constraint.
+         * @param email    A value with a format constraint.
+         * @param amount   A numeric value with a range constraint.
+         * @param items    Values validated in cascade.
+         */
+        private SampleDto(final String username, final String email, final int amount,
+                          final List<SampleItemDto> items) {
+            this.username = username;
+            this.email = email;
+            this.amount = amount;
+            this.items = items;
+        }
+    }
+
+    /**
+     * A sample dto that is validated in cascade.
+     */
+    private static final class SampleItemDto {
+
+        /**
+         * A mandatory text value.
+         */
+        @NotBlank
+        private final String name;
+
+        /**
+         * Constructor.
+         *
+         * @param name A mandatory text value.
+         */
+        private SampleItemDto(final String name) {
+            this.name = name;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Abstract web security configuration class.
@@ -41,6 +42,12 @@ public abstract class AbstractWebSecurityConfig extends WebSecurityConfigurerAda
      */
     private final TokenAuthenticationProvider tokenAuthenticationProvider;
 
+    /**
+     * An {@link Optional} holding the {@link RateLimitingFilter} to be placed after the token authentication filter
+     * (empty if requests must not be rate limited).
+     */
+    private final Optional<RateLimitingFilter> rateLimitingFilter;
+
     /**
      * Constructor.
      *
@@ -50,8 +57,25 @@ public abstract class AbstractWebSecurityConfig extends WebSecurityConfigurerAda
      */
     protected AbstractWebSecurityConfig(final TokenAuthenticationFilter tokenAuthenticationFilter,
                                         final TokenAuthenticationProvider tokenAuthenticationProvider) {
+        this(tokenAuthenticationFilter, tokenAuthenticationProvider, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tokenAuthenticationFilter   The {@link TokenAuthenticationFilter} to which the request will be delegated.
+     * @param tokenAuthenticationProvider The {@link TokenAuthenticationProvider}
+     *                                    which will perform the authentication step in the filter chain.
+     * @param rateLimitingFilter          The {@link RateLimitingFilter} to be placed
+     *                                    after the {@link TokenAuthenticationFilter}
+     *                                    (can be {@code null}, in which case requests are not rate limited).
+     */
+    protected AbstractWebSecurityConfig(final TokenAuthenticationFilter tokenAuthenticationFilter,
+                                        final TokenAuthenticationProvider tokenAuthenticationProvider,
+                                        final RateLimitingFilter rateLimitingFilter) {
         this.tokenAuthenticationFilter = tokenAuthenticationFilter;
         this.tokenAuthenticationProvider = tokenAuthenticationProvider;
+        this.rateLimitingFilter = Optional.ofNullable(rateLimitingFilter);
     }
 
     @Override
@@ -73,6 +97,9 @@ public abstract class AbstractWebSecurityConfig extends WebSecurityConfigurerAda
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .addFilterBefore(tokenAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        if (rateLimitingFilter.isPresent()) {
+            http.addFilterAfter(rateLimitingFilter.get(), TokenAuthenticationFilter.class);
+        }
     }
 
     /**
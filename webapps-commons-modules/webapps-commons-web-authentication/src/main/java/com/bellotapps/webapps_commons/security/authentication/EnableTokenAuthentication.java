@@ -16,6 +16,7 @@
 
 package com.bellotapps.webapps_commons.security.authentication;
 
+import com.bellotapps.webapps_commons.error_handling.ErrorHandlingMetricsConfigurer;
 import org.springframework.context.annotation.Import;
 
 import java.lang.annotation.*;
@@ -27,6 +28,9 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 @Inherited
 @Documented
-@Import(TokenAuthenticationConfigurer.class)
+@Import(value = {
+        TokenAuthenticationConfigurer.class,
+        ErrorHandlingMetricsConfigurer.class,
+})
 public @interface EnableTokenAuthentication {
 }
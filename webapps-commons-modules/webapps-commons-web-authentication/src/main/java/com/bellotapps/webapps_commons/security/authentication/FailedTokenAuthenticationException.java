@@ -16,6 +16,7 @@
 
 package com.bellotapps.webapps_commons.security.authentication;
 
+import com.bellotapps.webapps_commons.exceptions.StacklessExceptions;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.util.Assert;
 
@@ -54,4 +55,10 @@ import org.springframework.util.Assert;
     /* package */ TokenException getOriginalTokenException() {
         return (TokenException) this.getCause();
     }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
 }
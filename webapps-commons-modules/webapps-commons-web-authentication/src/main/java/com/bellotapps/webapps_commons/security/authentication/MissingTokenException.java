@@ -16,6 +16,7 @@
 
 package com.bellotapps.webapps_commons.security.authentication;
 
+import com.bellotapps.webapps_commons.exceptions.StacklessExceptions;
 import org.springframework.security.core.AuthenticationException;
 
 /**
@@ -23,10 +24,44 @@ import org.springframework.security.core.AuthenticationException;
  */
 /* package */ class MissingTokenException extends AuthenticationException {
 
+    /**
+     * Shared instance, without stack trace, to be used in stackless mode.
+     */
+    private static final MissingTokenException SHARED_INSTANCE = createSharedInstance();
+
     /**
      * Default constructor.
      */
     /* package */ MissingTokenException() {
         super("The token is missing");
     }
+
+
+    /**
+     * Returns a {@link MissingTokenException}.
+     * When the stackless mode is enabled (see {@link StacklessExceptions}), a shared pre-allocated instance
+     * is returned. Otherwise, a new instance is created.
+     *
+     * @return A {@link MissingTokenException}.
+     */
+    /* package */ static MissingTokenException create() {
+        return StacklessExceptions.isEnabled() ? SHARED_INSTANCE : new MissingTokenException();
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
+
+    /**
+     * Creates the shared instance, removing its stack trace.
+     *
+     * @return The created instance.
+     */
+    private static MissingTokenException createSharedInstance() {
+        final var instance = new MissingTokenException();
+        instance.setStackTrace(new StackTraceElement[0]);
+        return instance;
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.utils.error_handler.HandlingResult;
+import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.exceptions.TooManyRequestsException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.GenericFilterBean;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A filter in charge of limiting the rate at which requests can be performed.
+ * Requests are limited per authenticated principal (i.e using the username stored in the authentication token),
+ * or per client IP address for anonymous requests.
+ * This filter must be placed after the {@link TokenAuthenticationFilter} in the security filter chain,
+ * in order to have access to the authenticated principal.
+ * <p>
+ * Rejected requests are answered using the {@link HandlingResult} the {@link ErrorHandler} returns
+ * for a {@link TooManyRequestsException}, which is computed (and rendered) once, when this filter is created.
+ *
+ * @see AbstractWebSecurityConfig
+ * @see RateLimitingProperties
+ */
+public class RateLimitingFilter extends GenericFilterBean {
+
+    /**
+     * Indicates the type of data being returned in the response by this filter.
+     */
+    private static final String CONTENT_TYPE = "application/json";
+
+    /**
+     * Indicates the header that will include the amount of seconds to wait before performing a new request.
+     */
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+
+    /**
+     * The {@link TokenBuckets} used to limit authenticated requests (keyed by username).
+     */
+    private final TokenBuckets<String> principalBuckets;
+
+    /**
+     * The {@link TokenBuckets} used to limit anonymous requests (keyed by client IP address).
+     */
+    private final TokenBuckets<String> anonymousBuckets;
+
+    /**
+     * The status code to be sent when a request is rejected.
+     */
+    private final int rejectionStatus;
+
+    /**
+     * The pre-rendered body to be sent when a request is rejected (or {@code null} if no body must be sent).
+     */
+    private final byte[] rejectionBody;
+
+
+    /**
+     * Constructor.
+     *
+     * @param errorHandler     The {@link ErrorHandler} used to get the result to be sent when rejecting a request.
+     * @param objectMapper     {@link ApiObjectMapper} used to render the rejection result.
+     * @param permitsPerSecond The amount of requests per second each principal (or anonymous client)
+     *                         is allowed to perform.
+     * @param burstCapacity    The amount of requests that can be performed in a burst.
+     * @param maxBuckets       The maximum amount of buckets to be kept in memory
+     *                         (for each of authenticated and anonymous requests).
+     * @param idleTimeout      The amount of milliseconds a bucket must stay unused before being evicted.
+     * @throws IllegalStateException If the rejection result could not be rendered.
+     */
+    public RateLimitingFilter(final ErrorHandler errorHandler, final ApiObjectMapper objectMapper,
+                              final double permitsPerSecond, final int burstCapacity,
+                              final int maxBuckets, final long idleTimeout) throws IllegalStateException {
+        Assert.notNull(errorHandler, "The error handler must not be null");
+        Assert.notNull(objectMapper, "The object mapper must not be null");
+        this.principalBuckets = new TokenBuckets<>(permitsPerSecond, burstCapacity, maxBuckets, idleTimeout);
+        this.anonymousBuckets = new TokenBuckets<>(permitsPerSecond, burstCapacity, maxBuckets, idleTimeout);
+
+        final var result = errorHandler.handle(new TooManyRequestsException());
+        this.rejectionStatus = result.getHttpErrorCode();
+        final var entity = result.getErrorRepresentationEntity();
+        try {
+            this.rejectionBody = entity == null ? null : objectMapper.writeValueAsBytes(entity);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Could not render the rate limiting rejection result", e);
+        }
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        final var now = System.nanoTime();
+        final var authentication = SecurityContextHolder.getContext().getAuthentication();
+        final long wait;
+        if (authentication instanceof AuthenticationTokenAdapter && authentication.isAuthenticated()) {
+            wait = principalBuckets.tryAcquire((String) authentication.getPrincipal(), now);
+        } else {
+            wait = anonymousBuckets.tryAcquire(request.getRemoteAddr(), now);
+        }
+        if (wait > 0) {
+            reject((HttpServletResponse) response, wait);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Sets up the given {@code response} in order to reject the request.
+     *
+     * @param response The {@link HttpServletResponse} to be set up.
+     * @param wait     The amount of nanoseconds the client must wait before performing a new request.
+     * @throws IOException In case the body could not be written.
+     */
+    private void reject(final HttpServletResponse response, final long wait) throws IOException {
+        response.setStatus(rejectionStatus);
+        response.setHeader(RETRY_AFTER_HEADER, Long.toString(Math.max(1L, toSecondsRoundingUp(wait))));
+        if (rejectionBody == null) {
+            return;
+        }
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    /**
+     * Transforms the given amount of {@code nanos} into seconds, rounding up.
+     *
+     * @param nanos The amount of nanoseconds.
+     * @return The amount of seconds.
+     */
+    private static long toSecondsRoundingUp(final long nanos) {
+        final var nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+        return (nanos + nanosPerSecond - 1) / nanosPerSecond;
+    }
+}
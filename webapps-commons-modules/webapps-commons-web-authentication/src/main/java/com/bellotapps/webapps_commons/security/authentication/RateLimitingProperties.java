@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the per-principal rate limiting mechanism.
+ *
+ * @see RateLimitingFilter
+ */
+@ConfigurationProperties(prefix = RateLimitingProperties.PREFIX)
+public class RateLimitingProperties {
+
+    /**
+     * Prefix for the "rate-limiting" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".rate-limiting";
+
+    /**
+     * Indicates whether rate limiting is enabled.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The amount of requests per second each principal (or anonymous client) is allowed to perform.
+     */
+    private double permitsPerSecond = 10;
+
+    /**
+     * The amount of requests that can be performed in a burst (i.e the capacity of each bucket).
+     */
+    private int burstCapacity = 20;
+
+    /**
+     * The maximum amount of buckets to be kept in memory
+     * (keys arriving while all of them are in use share an overflow bucket).
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * The amount of milliseconds a bucket must stay full (i.e unused) before being evicted.
+     */
+    private long idleTimeout = 60_000;
+
+
+    /**
+     * Getter for the enabled flag.
+     *
+     * @return {@code true} if rate limiting is enabled, or {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Getter for the permits per second.
+     *
+     * @return The amount of requests per second each principal (or anonymous client) is allowed to perform.
+     */
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Getter for the burst capacity.
+     *
+     * @return The amount of requests that can be performed in a burst.
+     */
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    /**
+     * Getter for the max. amount of buckets.
+     *
+     * @return The maximum amount of buckets to be kept in memory.
+     */
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    /**
+     * Getter for the idle timeout.
+     *
+     * @return The amount of milliseconds a bucket must stay unused before being evicted.
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Setter for the enabled flag.
+     *
+     * @param enabled {@code true} if rate limiting is enabled, or {@code false} otherwise.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Setter for the permits per second.
+     *
+     * @param permitsPerSecond The amount of requests per second each principal (or anonymous client)
+     *                         is allowed to perform.
+     */
+    public void setPermitsPerSecond(final double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Setter for the burst capacity.
+     *
+     * @param burstCapacity The amount of requests that can be performed in a burst.
+     */
+    public void setBurstCapacity(final int burstCapacity) {
+        this.burstCapacity = burstCapacity;
+    }
+
+    /**
+     * Setter for the max. amount of buckets.
+     *
+     * @param maxBuckets The maximum amount of buckets to be kept in memory.
+     */
+    public void setMaxBuckets(final int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Setter for the idle timeout.
+     *
+     * @param idleTimeout The amount of milliseconds a bucket must stay unused before being evicted.
+     */
+    public void setIdleTimeout(final long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * A {@link TaskDecorator} that propagates the {@link SecurityContext} of the thread that submits a task
+ * to the thread that executes it (e.g when resource methods are not executed by the container threads),
+ * restoring the previous {@link SecurityContext} of the executing thread once the task finishes.
+ */
+public class SecurityContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(final Runnable runnable) {
+        return new DelegatingSecurityContextRunnable(runnable, SecurityContextHolder.getContext());
+    }
+}
@@ -19,14 +19,20 @@ package com.bellotapps.webapps_commons.security.authentication;
 import com.bellotapps.utils.error_handler.ErrorHandler;
 import com.bellotapps.utils.error_handler.ErrorHandlerFactory;
 import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.error_handling.DispatchingErrorHandler;
+import com.bellotapps.webapps_commons.error_handling.ExceptionHandlerDispatchTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.Assert;
@@ -35,6 +41,8 @@ import org.springframework.util.Assert;
  * Configuration class, which defines several beans to be used by the token authentication mechanism.
  * An {@link ApiObjectMapper}, an {@link ErrorHandler}, and a {@link AuthenticationTokenDataProvider} beans
  * must be defined the same context.
+ * If an {@link ExceptionHandlerDispatchTable} bean is defined (e.g by a Jersey application),
+ * the authentication failures and rate limiting responses are built with a {@link DispatchingErrorHandler} backed by it.
  *
  * @see ErrorHandler
  * @see ApiObjectMapper
@@ -42,12 +50,20 @@ import org.springframework.util.Assert;
  * @see com.bellotapps.utils.error_handler.EnableErrorHandler
  * @see EnableTokenAuthentication
  * @see AbstractWebSecurityConfig
+ * @see RateLimitingProperties
+ * @see SecurityContextTaskDecorator
  */
 @Configuration
+@EnableConfigurationProperties(RateLimitingProperties.class)
 public class TokenAuthenticationConfigurer implements BeanFactoryAware, BeanClassLoaderAware {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(TokenAuthenticationConfigurer.class);
 
+    /**
+     * The package containing the exception handlers defined by the webapp-commons-error-handlers module.
+     */
+    private static final String ERROR_HANDLERS_PACKAGE = "com.bellotapps.webapps_commons.error_handlers";
+
     /**
      * The {@link BeanFactory} used to build an {@link ErrorHandlerFactory}.
      */
@@ -82,8 +98,7 @@ public class TokenAuthenticationConfigurer implements BeanFactoryAware, BeanClas
         LOGGER.warn("No ErrorHandler found in context. " +
                 "Using mocked handler, " +
                 "which uses only the error handlers defined by the webapp-commons-error-handlers module.");
-        return new ErrorHandlerFactory(classLoader, beanFactory)
-                .createErrorHandler("com.bellotapps.webapps_commons.error_handlers");
+        return new ErrorHandlerFactory(classLoader, beanFactory).createErrorHandler(ERROR_HANDLERS_PACKAGE);
     }
 
     @Bean
@@ -102,15 +117,71 @@ public class TokenAuthenticationConfigurer implements BeanFactoryAware, BeanClas
 
     @Bean
     @ConditionalOnMissingBean
-    public TokenAuthenticationFilter tokenAuthenticationFilter(final TokenAuthenticationFailureHandler handler) {
-        return new TokenAuthenticationFilter(handler);
+    public TokenAuthenticationFilter tokenAuthenticationFilter(final TokenAuthenticationFailureHandler handler,
+                                                               final ObjectProvider<AuthenticationMetrics> metrics) {
+        return new TokenAuthenticationFilter(handler, metrics.getIfAvailable(() -> AuthenticationMetrics.NOOP));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SecurityContextTaskDecorator securityContextTaskDecorator() {
+        return new SecurityContextTaskDecorator();
+    }
+
+    @Bean
+    @Autowired
+    @ConditionalOnMissingBean
+    public TokenAuthenticationFailureHandler tokenAuthenticationFailureHandler(
+            final ErrorHandler errorHandler,
+            final ObjectProvider<ExceptionHandlerDispatchTable> dispatchTable,
+            final ApiObjectMapper objectMapper) {
+        return new TokenAuthenticationFailureHandler(dispatching(errorHandler, dispatchTable), objectMapper);
     }
 
     @Bean
     @Autowired
     @ConditionalOnMissingBean
-    public TokenAuthenticationFailureHandler tokenAuthenticationFailureHandler(final ErrorHandler errorHandler,
-                                                                               final ApiObjectMapper objectMapper) {
-        return new TokenAuthenticationFailureHandler(errorHandler, objectMapper);
+    @ConditionalOnProperty(prefix = RateLimitingProperties.PREFIX, name = "enabled", havingValue = "true")
+    public RateLimitingFilter rateLimitingFilter(final RateLimitingProperties properties,
+                                                 final ErrorHandler errorHandler,
+                                                 final ObjectProvider<ExceptionHandlerDispatchTable> dispatchTable,
+                                                 final ApiObjectMapper objectMapper) {
+        return new RateLimitingFilter(dispatching(errorHandler, dispatchTable), objectMapper,
+                properties.getPermitsPerSecond(),
+                properties.getBurstCapacity(),
+                properties.getMaxBuckets(),
+                properties.getIdleTimeout());
+    }
+
+    /**
+     * Avoids the {@link RateLimitingFilter} being registered in the servlet container filter chain,
+     * as it must only be applied in the security filter chain, after the {@link TokenAuthenticationFilter}.
+     *
+     * @param filter The {@link RateLimitingFilter}.
+     * @return A disabled {@link FilterRegistrationBean} for the given {@code filter}.
+     * @see AbstractWebSecurityConfig#configure(org.springframework.security.config.annotation.web.builders.HttpSecurity)
+     */
+    @Bean
+    @Autowired
+    @ConditionalOnProperty(prefix = RateLimitingProperties.PREFIX, name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilterRegistration(final RateLimitingFilter filter) {
+        final var registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+
+    /**
+     * Wraps the given {@code errorHandler} with a {@link DispatchingErrorHandler},
+     * if there is an {@link ExceptionHandlerDispatchTable} bean (i.e without scanning the handlers again).
+     *
+     * @param errorHandler  The {@link ErrorHandler} to be wrapped.
+     * @param dispatchTable An {@link ObjectProvider} of the {@link ExceptionHandlerDispatchTable}.
+     * @return The {@link DispatchingErrorHandler}, or the given {@code errorHandler} if there is no table.
+     */
+    private static ErrorHandler dispatching(final ErrorHandler errorHandler,
+                                            final ObjectProvider<ExceptionHandlerDispatchTable> dispatchTable) {
+        final var table = dispatchTable.getIfAvailable();
+        return table == null ? errorHandler : DispatchingErrorHandler.wrap(errorHandler, table);
     }
 }
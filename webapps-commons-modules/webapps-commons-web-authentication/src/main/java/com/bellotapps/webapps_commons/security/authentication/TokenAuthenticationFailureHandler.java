@@ -19,6 +19,8 @@ package com.bellotapps.webapps_commons.security.authentication;
 import com.bellotapps.utils.error_handler.ErrorHandler;
 import com.bellotapps.utils.error_handler.HandlingResult;
 import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.data_transfer.json.PreRenderedBodies;
+import com.bellotapps.webapps_commons.error_handling.InstrumentedErrorHandler;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 
@@ -56,6 +58,11 @@ public class TokenAuthenticationFailureHandler implements AuthenticationFailureH
      */
     private final ApiObjectMapper objectMapper;
 
+    /**
+     * {@link PreRenderedBodies} used to write static results without serializing them again.
+     */
+    private final PreRenderedBodies preRenderedBodies;
+
     /**
      * Constructor.
      *
@@ -65,6 +72,7 @@ public class TokenAuthenticationFailureHandler implements AuthenticationFailureH
     public TokenAuthenticationFailureHandler(final ErrorHandler errorHandler, final ApiObjectMapper objectMapper) {
         this.errorHandler = errorHandler;
         this.objectMapper = objectMapper;
+        this.preRenderedBodies = new PreRenderedBodies(objectMapper);
     }
 
     @Override
@@ -97,7 +105,19 @@ public class TokenAuthenticationFailureHandler implements AuthenticationFailureH
         if (entity == null) {
             return;
         }
-        response.setContentType(CONTENT_TYPE);
-        objectMapper.writeValue(response.getOutputStream(), entity);
+        final var start = System.nanoTime();
+        try {
+            final var renderedBody = preRenderedBodies.lookup(entity);
+            if (renderedBody.isPresent()) {
+                response.setContentType(renderedBody.get().getContentType());
+                response.setContentLength(renderedBody.get().getContentLength());
+                renderedBody.get().writeTo(response.getOutputStream());
+                return;
+            }
+            response.setContentType(CONTENT_TYPE);
+            objectMapper.writeValue(response.getOutputStream(), entity);
+        } finally {
+            InstrumentedErrorHandler.recordSerialization(errorHandler, System.nanoTime() - start);
+        }
     }
 }
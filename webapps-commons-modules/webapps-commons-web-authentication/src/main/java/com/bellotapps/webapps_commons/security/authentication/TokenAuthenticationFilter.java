@@ -47,6 +47,11 @@ public class TokenAuthenticationFilter extends AbstractAuthenticationProcessingF
      */
     private final List<RequestMatcher> optionalAuthenticationMatchers;
 
+    /**
+     * The {@link AuthenticationMetrics} in which authentication attempts and failures are recorded.
+     */
+    private final AuthenticationMetrics metrics;
+
     /**
      * Constructor.
      *
@@ -54,10 +59,25 @@ public class TokenAuthenticationFilter extends AbstractAuthenticationProcessingF
      *                                          to which token validation is performed against to.
      */
     public TokenAuthenticationFilter(final TokenAuthenticationFailureHandler tokenAuthenticationFailureHandler) {
+        this(tokenAuthenticationFailureHandler, AuthenticationMetrics.NOOP);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tokenAuthenticationFailureHandler The {@link RequestMatcher} for the endpoint
+     *                                          to which token validation is performed against to.
+     * @param metrics                           The {@link AuthenticationMetrics} in which authentication attempts
+     *                                          and failures are recorded.
+     */
+    public TokenAuthenticationFilter(final TokenAuthenticationFailureHandler tokenAuthenticationFailureHandler,
+                                     final AuthenticationMetrics metrics) {
         super("/**");
         Assert.notNull(tokenAuthenticationFailureHandler, "A token authentication failure handler must be set");
+        Assert.notNull(metrics, "The metrics must not be null");
 
         this.optionalAuthenticationMatchers = new LinkedList<>();
+        this.metrics = metrics;
         this.setAuthenticationFailureHandler(tokenAuthenticationFailureHandler);
         this.setAuthenticationSuccessHandler((request, response, authentication) -> {
             // Do nothing
@@ -78,6 +98,26 @@ public class TokenAuthenticationFilter extends AbstractAuthenticationProcessingF
     @Override
     public Authentication attemptAuthentication(final HttpServletRequest request, final HttpServletResponse response)
             throws AuthenticationException {
+        final var start = System.nanoTime();
+        var success = false;
+        try {
+            final var authentication = doAttemptAuthentication(request);
+            success = true;
+            return authentication;
+        } finally {
+            metrics.recordAuthentication(System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * Performs the actual authentication.
+     *
+     * @param request The {@link HttpServletRequest} being authenticated.
+     * @return The authenticated user token.
+     * @throws AuthenticationException If authentication fails.
+     * @see #attemptAuthentication(HttpServletRequest, HttpServletResponse)
+     */
+    private Authentication doAttemptAuthentication(final HttpServletRequest request) throws AuthenticationException {
         final var authenticationManager = getAuthenticationManager();
         Assert.notNull(authenticationManager, "authenticationManager must be specified");
 
@@ -90,7 +130,8 @@ public class TokenAuthenticationFilter extends AbstractAuthenticationProcessingF
                 return new AnonymousAuthenticationToken("ANONYMOUS", "ANONYMOUS",
                         Collections.singletonList(new SimpleGrantedAuthority("ANONYMOUS")));
             }
-            throw new UnsupportedAnonymousAuthenticationException(); // Authentication is needed to process the request.
+            // Authentication is needed to process the request.
+            throw UnsupportedAnonymousAuthenticationException.create();
         }
         // If reached here, authentication credentials are present and, at least, the scheme (first word) is present
         final var credentials = authorizationHeader.split(" ");
@@ -101,7 +142,7 @@ public class TokenAuthenticationFilter extends AbstractAuthenticationProcessingF
         }
         // If reached here, the scheme is supported. We must check the token is present
         if (credentials.length <= 1) {
-            throw new MissingTokenException(); // As there is no more words than the scheme, then it is not present
+            throw MissingTokenException.create(); // As there is no more words than the scheme, then it is not present
         }
         // If reached here, the token is present. We assume everything is well formed (token is just one "word").
         final var rawToken = credentials[1];
@@ -119,6 +160,14 @@ public class TokenAuthenticationFilter extends AbstractAuthenticationProcessingF
         chain.doFilter(request, response);
     }
 
+    @Override
+    protected void unsuccessfulAuthentication(final HttpServletRequest request, final HttpServletResponse response,
+                                              final AuthenticationException failed)
+            throws IOException, ServletException {
+        metrics.recordFailure(failureCause(failed));
+        super.unsuccessfulAuthentication(request, response, failed);
+    }
+
     @Override
     public void afterPropertiesSet() {
         // Do nothing (and avoid crashing because of the authenticationManager not being set during bean initialization)
@@ -135,4 +184,20 @@ public class TokenAuthenticationFilter extends AbstractAuthenticationProcessingF
     private boolean matchesAny(final HttpServletRequest request) {
         return this.optionalAuthenticationMatchers.stream().anyMatch(matcher -> matcher.matches(request));
     }
+
+    /**
+     * Returns the most specific type of exception that caused the given authentication {@code failure}
+     * (e.g an expired or malformed token exception, instead of the {@link TokenException} wrapping it).
+     *
+     * @param failure The {@link AuthenticationException} describing the failure.
+     * @return The type of exception that caused the failure.
+     */
+    private static Class<? extends Throwable> failureCause(final AuthenticationException failure) {
+        Throwable cause = failure instanceof FailedTokenAuthenticationException ?
+                ((FailedTokenAuthenticationException) failure).getOriginalTokenException() : failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getClass();
+    }
 }
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.security.authentication;
+
+import org.springframework.util.Assert;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded group of lock-free token buckets, each of them identified by a key of type {@code K}.
+ * Buckets are implemented using the generic cell rate algorithm (GCRA),
+ * which allows representing a token bucket with a single {@code long} (the "theoretical arrival time"),
+ * updated with a compare-and-set operation.
+ * <p>
+ * Buckets are spread across several stripes, each of them with a bounded capacity.
+ * When a stripe is full, a new key takes the place of a bucket that has been idle (i.e full) for a configured
+ * amount of time, checking only a few of the oldest buckets of the stripe (in insertion order, giving a second chance
+ * to the ones in use), so the cost of a new key does not depend on the capacity.
+ * Buckets in use are never evicted, as that would reset their limits (e.g a throttled client could evict its own
+ * bucket by sending requests with new keys): if no idle bucket is found, the new key is throttled
+ * by the overflow bucket of the stripe (shared by all the keys without a bucket) until one becomes idle.
+ * This way, each key keeps its own bucket (and an abusive key can not exhaust the permits of other keys),
+ * while memory usage stays bounded.
+ *
+ * @param <K> The concrete type of key.
+ */
+/* package */ final class TokenBuckets<K> {
+
+    /**
+     * The amount of stripes.
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * The maximum amount of buckets checked for eviction when a new key arrives at a full stripe.
+     */
+    private static final int EVICTION_CANDIDATES = 4;
+
+    /**
+     * The stripes in which buckets are stored.
+     */
+    private final Stripe<K>[] stripes;
+
+    /**
+     * The amount of nanoseconds that must pass to get one token back in a bucket.
+     */
+    private final long emissionInterval;
+
+    /**
+     * The amount of nanoseconds of "debt" allowed, which is what enables bursts.
+     */
+    private final long burstTolerance;
+
+    /**
+     * The amount of nanoseconds a bucket must stay full before it can be evicted.
+     */
+    private final long idleTimeout;
+
+
+    /**
+     * Constructor.
+     *
+     * @param permitsPerSecond The amount of permits per second each bucket gives.
+     * @param burstCapacity    The capacity of each bucket.
+     * @param maxBuckets       The maximum amount of buckets to be kept in memory.
+     * @param idleTimeout      The amount of milliseconds a bucket must stay unused before being evicted.
+     */
+    @SuppressWarnings("unchecked")
+    /* package */ TokenBuckets(final double permitsPerSecond, final int burstCapacity,
+                               final int maxBuckets, final long idleTimeout) {
+        Assert.isTrue(permitsPerSecond > 0, "The amount of permits per second must be positive");
+        Assert.isTrue(burstCapacity > 0, "The burst capacity must be positive");
+        Assert.isTrue(maxBuckets >= STRIPES, "The max. amount of buckets must be at least " + STRIPES);
+        Assert.isTrue(idleTimeout >= 0, "The idle timeout must not be negative");
+        this.emissionInterval = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstTolerance = this.emissionInterval * burstCapacity;
+        this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        this.stripes = new Stripe[STRIPES];
+        final var stripeCapacity = maxBuckets / STRIPES;
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe<>(stripeCapacity);
+        }
+    }
+
+    /**
+     * Tries to take a token from the bucket identified by the given {@code key}.
+     *
+     * @param key The key identifying the bucket.
+     * @param now The current time, in nanoseconds (as returned by {@link System#nanoTime()}).
+     * @return A non-positive value if a token was taken,
+     * or the amount of nanoseconds to wait for a token to be available otherwise.
+     */
+    /* package */ long tryAcquire(final K key, final long now) {
+        return stripeFor(key).bucketFor(key, now, this).tryAcquire(now, emissionInterval, burstTolerance);
+    }
+
+    /**
+     * Returns the {@link Stripe} to which the given {@code key} belongs to.
+     *
+     * @param key The key.
+     * @return The {@link Stripe}.
+     */
+    private Stripe<K> stripeFor(final K key) {
+        final var hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Indicates whether the given {@link Bucket} can be evicted (i.e it has been full for, at least, the idle timeout).
+     *
+     * @param bucket The {@link Bucket} to be checked.
+     * @param now    The current time, in nanoseconds.
+     * @return {@code true} if the bucket can be evicted, or {@code false} otherwise.
+     */
+    private boolean isIdle(final Bucket bucket, final long now) {
+        return now - bucket.theoreticalArrivalTime > idleTimeout;
+    }
+
+
+    /**
+     * A stripe of buckets, with a bounded capacity.
+     *
+     * @param <K> The concrete type of key.
+     */
+    private static final class Stripe<K> {
+
+        /**
+         * The buckets in this stripe.
+         */
+        private final Map<K, Bucket> buckets;
+
+        /**
+         * The keys of the buckets in this stripe, in the order in which they are checked for eviction.
+         */
+        private final Queue<K> evictionOrder;
+
+        /**
+         * The bucket shared by the keys that could not get their own bucket (i.e while the stripe is full).
+         */
+        private final Bucket overflow;
+
+        /**
+         * The maximum amount of buckets this stripe can hold.
+         */
+        private final int capacity;
+
+
+        /**
+         * Constructor.
+         *
+         * @param capacity The maximum amount of buckets this stripe can hold.
+         */
+        private Stripe(final int capacity) {
+            this.buckets = new ConcurrentHashMap<>(capacity);
+            this.evictionOrder = new ConcurrentLinkedQueue<>();
+            this.overflow = new Bucket(System.nanoTime());
+            this.capacity = capacity;
+        }
+
+        /**
+         * Returns the {@link Bucket} for the given {@code key}, creating it (and evicting an idle one if needed)
+         * if it does not exist, or the overflow {@link Bucket} if the stripe is full of buckets in use.
+         *
+         * @param key          The key identifying the {@link Bucket}.
+         * @param now          The current time, in nanoseconds.
+         * @param tokenBuckets The {@link TokenBuckets} owning this stripe (used to check idleness).
+         * @return The {@link Bucket}.
+         */
+        private Bucket bucketFor(final K key, final long now, final TokenBuckets<K> tokenBuckets) {
+            final var existing = buckets.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (buckets.size() >= capacity && !evictIdle(now, tokenBuckets)) {
+                return overflow;
+            }
+            // A new bucket starts full (i.e its theoretical arrival time is not in the future).
+            final var created = new Bucket(now);
+            final var raced = buckets.putIfAbsent(key, created);
+            if (raced != null) {
+                return raced;
+            }
+            evictionOrder.offer(key);
+            return created;
+        }
+
+        /**
+         * Evicts an idle {@link Bucket} of this stripe, checking, at most, {@link #EVICTION_CANDIDATES} buckets
+         * (in insertion order). Buckets in use are moved to the end of the eviction order
+         * (i.e they are checked again once the rest of the buckets are).
+         *
+         * @param now          The current time, in nanoseconds.
+         * @param tokenBuckets The {@link TokenBuckets} owning this stripe (used to check idleness).
+         * @return {@code true} if a bucket was evicted, or {@code false} otherwise.
+         */
+        private boolean evictIdle(final long now, final TokenBuckets<K> tokenBuckets) {
+            for (int i = 0; i < EVICTION_CANDIDATES; i++) {
+                final var candidate = evictionOrder.poll();
+                if (candidate == null) {
+                    return false;
+                }
+                final var bucket = buckets.get(candidate);
+                if (bucket == null) {
+                    continue;
+                }
+                if (tokenBuckets.isIdle(bucket, now) && buckets.remove(candidate, bucket)) {
+                    return true;
+                }
+                evictionOrder.offer(candidate);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A single token bucket, represented with its theoretical arrival time.
+     */
+    private static final class Bucket {
+
+        /**
+         * {@link VarHandle} used to perform compare-and-set operations over the theoretical arrival time.
+         */
+        private static final VarHandle THEORETICAL_ARRIVAL_TIME;
+
+        static {
+            try {
+                THEORETICAL_ARRIVAL_TIME = MethodHandles.lookup()
+                        .findVarHandle(Bucket.class, "theoreticalArrivalTime", long.class);
+            } catch (final ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        /**
+         * The time at which the bucket would be full again if no more tokens were taken, in nanoseconds.
+         */
+        private volatile long theoreticalArrivalTime;
+
+
+        /**
+         * Constructor.
+         *
+         * @param theoreticalArrivalTime The initial theoretical arrival time.
+         */
+        private Bucket(final long theoreticalArrivalTime) {
+            this.theoreticalArrivalTime = theoreticalArrivalTime;
+        }
+
+        /**
+         * Tries to take a token from this bucket.
+         *
+         * @param now              The current time, in nanoseconds.
+         * @param emissionInterval The amount of nanoseconds that must pass to get one token back.
+         * @param burstTolerance   The amount of nanoseconds of "debt" allowed.
+         * @return A non-positive value if a token was taken,
+         * or the amount of nanoseconds to wait for a token to be available otherwise.
+         */
+        private long tryAcquire(final long now, final long emissionInterval, final long burstTolerance) {
+            while (true) {
+                final var current = theoreticalArrivalTime;
+                final var next = Math.max(current, now) + emissionInterval;
+                final var wait = next - now - burstTolerance;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (THEORETICAL_ARRIVAL_TIME.compareAndSet(this, current, next)) {
+                    return wait;
+                }
+            }
+        }
+    }
+}
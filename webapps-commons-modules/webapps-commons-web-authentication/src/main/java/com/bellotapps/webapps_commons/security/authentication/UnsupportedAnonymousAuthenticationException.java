@@ -16,6 +16,7 @@
 
 package com.bellotapps.webapps_commons.security.authentication;
 
+import com.bellotapps.webapps_commons.exceptions.StacklessExceptions;
 import org.springframework.security.core.AuthenticationException;
 
 /**
@@ -23,10 +24,44 @@ import org.springframework.security.core.AuthenticationException;
  */
 /* package */ class UnsupportedAnonymousAuthenticationException extends AuthenticationException {
 
+    /**
+     * Shared instance, without stack trace, to be used in stackless mode.
+     */
+    private static final UnsupportedAnonymousAuthenticationException SHARED_INSTANCE = createSharedInstance();
+
     /**
      * Default constructor.
      */
     /* package */ UnsupportedAnonymousAuthenticationException() {
         super("Authentication is not optional");
     }
+
+
+    /**
+     * Returns a {@link UnsupportedAnonymousAuthenticationException}.
+     * When the stackless mode is enabled (see {@link StacklessExceptions}), a shared pre-allocated instance
+     * is returned. Otherwise, a new instance is created.
+     *
+     * @return A {@link UnsupportedAnonymousAuthenticationException}.
+     */
+    /* package */ static UnsupportedAnonymousAuthenticationException create() {
+        return StacklessExceptions.isEnabled() ? SHARED_INSTANCE : new UnsupportedAnonymousAuthenticationException();
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
+
+    /**
+     * Creates the shared instance, removing its stack trace.
+     *
+     * @return The created instance.
+     */
+    private static UnsupportedAnonymousAuthenticationException createSharedInstance() {
+        final var instance = new UnsupportedAnonymousAuthenticationException();
+        instance.setStackTrace(new StackTraceElement[0]);
+        return instance;
+    }
 }
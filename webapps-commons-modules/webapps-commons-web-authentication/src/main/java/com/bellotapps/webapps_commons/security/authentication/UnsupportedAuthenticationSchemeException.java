@@ -16,6 +16,7 @@
 
 package com.bellotapps.webapps_commons.security.authentication;
 
+import com.bellotapps.webapps_commons.exceptions.StacklessExceptions;
 import org.springframework.security.core.AuthenticationException;
 
 /**
@@ -29,4 +30,10 @@ import org.springframework.security.core.AuthenticationException;
     /* package */ UnsupportedAuthenticationSchemeException(final String scheme) {
         super("The set scheme (" + scheme + ") is not supported");
     }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
 }
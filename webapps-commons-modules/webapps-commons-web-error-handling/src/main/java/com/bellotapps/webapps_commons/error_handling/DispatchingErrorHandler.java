@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.utils.error_handler.ExceptionHandler;
+import com.bellotapps.utils.error_handler.HandlingResult;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * An {@link ErrorHandler} that dispatches exceptions to the {@link ExceptionHandler} resolved
+ * by an {@link ExceptionHandlerDispatchTable} (i.e only once per concrete exception class),
+ * so handling an exception does not require walking its class hierarchy each time.
+ * Exceptions the table does not resolve are delegated to the wrapped {@link ErrorHandler},
+ * which keeps the resolution behaviour unchanged.
+ */
+public final class DispatchingErrorHandler implements ErrorHandler {
+
+    /**
+     * The {@link ErrorHandler} to which exceptions without a resolved {@link ExceptionHandler} are delegated.
+     */
+    private final ErrorHandler delegate;
+
+    /**
+     * The {@link ExceptionHandlerDispatchTable} that resolves the {@link ExceptionHandler}s.
+     */
+    private final ExceptionHandlerDispatchTable table;
+
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The {@link ErrorHandler} to which exceptions without a resolved {@link ExceptionHandler}
+     *                 are delegated (it should know, at least, the same handlers as the {@code table}).
+     * @param table    The {@link ExceptionHandlerDispatchTable} that resolves the {@link ExceptionHandler}s.
+     */
+    public DispatchingErrorHandler(final ErrorHandler delegate, final ExceptionHandlerDispatchTable table) {
+        Assert.notNull(delegate, "The delegate must not be null");
+        Assert.notNull(table, "The table must not be null");
+        this.delegate = delegate;
+        this.table = table;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The {@link ErrorHandler} to which exceptions without a resolved {@link ExceptionHandler}
+     *                 are delegated (it should know, at least, the same {@code handlers}).
+     * @param handlers The {@link ExceptionHandler}s to which exceptions are dispatched.
+     */
+    public DispatchingErrorHandler(final ErrorHandler delegate,
+                                   final Collection<? extends ExceptionHandler<?, ?>> handlers) {
+        this(delegate, new ExceptionHandlerDispatchTable(handlers));
+    }
+
+
+    @Override
+    public HandlingResult<?> handle(final Throwable exception) {
+        final var handler = table.lookup(exception.getClass());
+        if (handler.isPresent()) {
+            return handler.get().handle(exception);
+        }
+        return delegate.handle(exception);
+    }
+
+    /**
+     * Returns the class of the {@link ExceptionHandler} that handles exceptions of the given {@code exceptionClass}.
+     *
+     * @param exceptionClass The exception class.
+     * @return An {@link Optional} containing the class of the {@link ExceptionHandler},
+     * or empty if it can only be known by the wrapped {@link ErrorHandler} (e.g ambiguous resolutions).
+     * @see ExceptionHandlerDispatchTable#resolveHandlerClass(Class)
+     */
+    public Optional<Class<?>> resolveHandlerClass(final Class<? extends Throwable> exceptionClass) {
+        return table.resolveHandlerClass(exceptionClass);
+    }
+
+
+    /**
+     * Wraps the given {@code delegate} with a {@link DispatchingErrorHandler} that uses the given {@code table}.
+     * If the given {@code delegate} is an {@link InstrumentedErrorHandler},
+     * the {@link DispatchingErrorHandler} is placed below it, so dispatched exceptions are still recorded.
+     *
+     * @param delegate The {@link ErrorHandler} to which exceptions without a resolved handler are delegated.
+     * @param table    The {@link ExceptionHandlerDispatchTable} that resolves the {@link ExceptionHandler}s.
+     * @return The wrapping {@link ErrorHandler}.
+     */
+    public static ErrorHandler wrap(final ErrorHandler delegate, final ExceptionHandlerDispatchTable table) {
+        if (delegate instanceof InstrumentedErrorHandler) {
+            return ((InstrumentedErrorHandler) delegate).decorate(decorated -> wrap(decorated, table));
+        }
+        if (delegate instanceof DispatchingErrorHandler) {
+            return delegate;
+        }
+        return new DispatchingErrorHandler(delegate, table);
+    }
+}
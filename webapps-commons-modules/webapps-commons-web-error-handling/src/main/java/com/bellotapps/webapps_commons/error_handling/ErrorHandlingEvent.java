@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event emitted when an exception is transformed into a response
+ * (i.e handled and serialized) by an error handling component (e.g {@link UncaughtExceptionHandlerFilter}).
+ */
+@Name(ErrorHandlingEvent.NAME)
+@Label("Error Handling")
+@Category({"Webapps Commons", "Error Handling"})
+@Description("Transformation of an exception into an error response")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ErrorHandlingEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    public static final String NAME = "com.bellotapps.webapps_commons.ErrorHandling";
+
+    /**
+     * The name of the component that handled the exception.
+     */
+    @Label("Component")
+    private String component;
+
+    /**
+     * The type of the handled exception.
+     */
+    @Label("Exception Type")
+    private Class<?> exceptionType;
+
+    /**
+     * The http status code of the response.
+     */
+    @Label("Status")
+    private int status;
+
+
+    /**
+     * Private constructor, in order to create instances only through the {@link #start()} method.
+     */
+    private ErrorHandlingEvent() {
+    }
+
+
+    /**
+     * Creates an {@link ErrorHandlingEvent}, and starts its timing.
+     *
+     * @return The created {@link ErrorHandlingEvent}.
+     */
+    public static ErrorHandlingEvent start() {
+        final var event = new ErrorHandlingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing of this event, and commits it if it must be committed.
+     *
+     * @param component The name of the component that handled the exception.
+     * @param exception The handled exception.
+     * @param status    The http status code of the response.
+     */
+    public void finish(final String component, final Throwable exception, final int status) {
+        end();
+        if (shouldCommit()) {
+            this.component = component;
+            this.exceptionType = exception.getClass();
+            this.status = status;
+            commit();
+        }
+    }
+}
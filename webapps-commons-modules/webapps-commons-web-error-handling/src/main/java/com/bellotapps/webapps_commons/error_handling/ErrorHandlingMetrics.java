@@ -0,0 +1,333 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-memory metrics of the error path (i.e how many times each exception handler fired,
+ * which status codes and exception types were handled, and how long handling and serializing errors took).
+ * All counters are {@link LongAdder}s, so recording never blocks the request threads.
+ * Metrics can be retrieved (without any metrics backend) through {@link #snapshot()}.
+ */
+public final class ErrorHandlingMetrics {
+
+    /**
+     * Counts of handled exceptions, by exception handler name.
+     */
+    private final ConcurrentMap<String, LongAdder> handlerCounts;
+
+    /**
+     * Counts of handled exceptions, by the returned status code.
+     */
+    private final ConcurrentMap<Integer, LongAdder> statusCounts;
+
+    /**
+     * Counts of handled exceptions, by exception type.
+     */
+    private final ConcurrentMap<Class<?>, LongAdder> exceptionTypeCounts;
+
+    /**
+     * Timer for the handling of exceptions.
+     */
+    private final Timer handlingTimer;
+
+    /**
+     * Timer for the serialization of error responses.
+     */
+    private final Timer serializationTimer;
+
+
+    /**
+     * Constructor.
+     */
+    public ErrorHandlingMetrics() {
+        this.handlerCounts = new ConcurrentHashMap<>();
+        this.statusCounts = new ConcurrentHashMap<>();
+        this.exceptionTypeCounts = new ConcurrentHashMap<>();
+        this.handlingTimer = new Timer();
+        this.serializationTimer = new Timer();
+    }
+
+
+    /**
+     * Records the handling of an exception.
+     *
+     * @param handler       The name of the exception handler that handled the exception.
+     * @param status        The status code of the result.
+     * @param exceptionType The type of the handled exception.
+     * @param nanos         The time (in nanoseconds) the handling took.
+     */
+    public void recordHandling(final String handler, final int status, final Class<?> exceptionType,
+                               final long nanos) {
+        counter(handlerCounts, handler).increment();
+        counter(statusCounts, status).increment();
+        counter(exceptionTypeCounts, exceptionType).increment();
+        handlingTimer.record(nanos);
+    }
+
+    /**
+     * Records the serialization of an error response.
+     *
+     * @param nanos The time (in nanoseconds) the serialization took.
+     */
+    public void recordSerialization(final long nanos) {
+        serializationTimer.record(nanos);
+    }
+
+    /**
+     * Takes a snapshot of the metrics.
+     * Note that, as metrics are recorded concurrently, the snapshot might not be consistent among its values.
+     *
+     * @return The {@link Snapshot}.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(
+                sum(handlerCounts, Function.identity()),
+                sum(statusCounts, String::valueOf),
+                sum(exceptionTypeCounts, Class::getName),
+                handlingTimer.snapshot(),
+                serializationTimer.snapshot()
+        );
+    }
+
+
+    /**
+     * Returns the counter for the given {@code key} in the given {@code counters} map, creating it if needed.
+     *
+     * @param counters The counters map.
+     * @param key      The key.
+     * @param <K>      The concrete type of key.
+     * @return The counter.
+     */
+    private static <K> LongAdder counter(final ConcurrentMap<K, LongAdder> counters, final K key) {
+        // Avoid computeIfAbsent in the common case, as it might lock even if the key is present
+        final var counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, ignored -> new LongAdder());
+    }
+
+    /**
+     * Sums the given {@code counters}.
+     *
+     * @param counters    The counters map.
+     * @param keyFunction A {@link Function} that transforms keys into {@link String}s.
+     * @param <K>         The concrete type of key.
+     * @return A sorted {@link Map} with the sum of each counter.
+     */
+    private static <K> Map<String, Long> sum(final Map<K, LongAdder> counters,
+                                             final Function<K, String> keyFunction) {
+        final var result = new TreeMap<String, Long>();
+        counters.forEach((key, counter) -> result.put(keyFunction.apply(key), counter.sum()));
+        return result;
+    }
+
+
+    /**
+     * A lock-free timer (count, total and max. time).
+     */
+    private static final class Timer {
+
+        /**
+         * Amount of recorded events.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * Total time (in nanoseconds) of the recorded events.
+         */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /**
+         * Max. time (in nanoseconds) of the recorded events.
+         */
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Records an event.
+         *
+         * @param nanos The time (in nanoseconds) the event took.
+         */
+        private void record(final long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /**
+         * @return A {@link TimerSnapshot} of this timer.
+         */
+        private TimerSnapshot snapshot() {
+            return new TimerSnapshot(count.sum(), totalNanos.sum(), maxNanos.get());
+        }
+    }
+
+    /**
+     * A snapshot of the error handling metrics.
+     */
+    public static final class Snapshot {
+
+        /**
+         * Counts of handled exceptions, by exception handler name.
+         */
+        private final Map<String, Long> handlers;
+
+        /**
+         * Counts of handled exceptions, by status code.
+         */
+        private final Map<String, Long> statuses;
+
+        /**
+         * Counts of handled exceptions, by exception type name.
+         */
+        private final Map<String, Long> exceptionTypes;
+
+        /**
+         * Handling timer snapshot.
+         */
+        private final TimerSnapshot handling;
+
+        /**
+         * Serialization timer snapshot.
+         */
+        private final TimerSnapshot serialization;
+
+        /**
+         * Constructor.
+         *
+         * @param handlers       Counts of handled exceptions, by exception handler name.
+         * @param statuses       Counts of handled exceptions, by status code.
+         * @param exceptionTypes Counts of handled exceptions, by exception type name.
+         * @param handling       Handling timer snapshot.
+         * @param serialization  Serialization timer snapshot.
+         */
+        private Snapshot(final Map<String, Long> handlers,
+                         final Map<String, Long> statuses,
+                         final Map<String, Long> exceptionTypes,
+                         final TimerSnapshot handling,
+                         final TimerSnapshot serialization) {
+            this.handlers = handlers;
+            this.statuses = statuses;
+            this.exceptionTypes = exceptionTypes;
+            this.handling = handling;
+            this.serialization = serialization;
+        }
+
+        /**
+         * @return Counts of handled exceptions, by exception handler name.
+         */
+        public Map<String, Long> getHandlers() {
+            return handlers;
+        }
+
+        /**
+         * @return Counts of handled exceptions, by status code.
+         */
+        public Map<String, Long> getStatuses() {
+            return statuses;
+        }
+
+        /**
+         * @return Counts of handled exceptions, by exception type name.
+         */
+        public Map<String, Long> getExceptionTypes() {
+            return exceptionTypes;
+        }
+
+        /**
+         * @return Handling timer snapshot.
+         */
+        public TimerSnapshot getHandling() {
+            return handling;
+        }
+
+        /**
+         * @return Serialization timer snapshot.
+         */
+        public TimerSnapshot getSerialization() {
+            return serialization;
+        }
+    }
+
+    /**
+     * A snapshot of a timer.
+     */
+    public static final class TimerSnapshot {
+
+        /**
+         * Amount of recorded events.
+         */
+        private final long count;
+
+        /**
+         * Total time (in nanoseconds) of the recorded events.
+         */
+        private final long totalNanos;
+
+        /**
+         * Max. time (in nanoseconds) of the recorded events.
+         */
+        private final long maxNanos;
+
+        /**
+         * Constructor.
+         *
+         * @param count      Amount of recorded events.
+         * @param totalNanos Total time (in nanoseconds) of the recorded events.
+         * @param maxNanos   Max. time (in nanoseconds) of the recorded events.
+         */
+        private TimerSnapshot(final long count, final long totalNanos, final long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @return Amount of recorded events.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Total time (in nanoseconds) of the recorded events.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return Max. time (in nanoseconds) of the recorded events.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return Mean time (in nanoseconds) of the recorded events.
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class that defines an {@link ErrorHandlingMetrics} bean,
+ * and wraps every {@link ErrorHandler} bean with an {@link InstrumentedErrorHandler} that records into it.
+ */
+@Configuration
+public class ErrorHandlingMetricsConfigurer {
+
+    @Bean
+    public ErrorHandlingMetrics errorHandlingMetrics() {
+        return new ErrorHandlingMetrics();
+    }
+
+    @Bean
+    public static BeanPostProcessor errorHandlerInstrumentationPostProcessor(
+            final ObjectProvider<ErrorHandlingMetrics> metricsProvider) {
+        return new ErrorHandlerInstrumentationPostProcessor(metricsProvider);
+    }
+
+
+    /**
+     * A {@link BeanPostProcessor} that wraps {@link ErrorHandler} beans with an {@link InstrumentedErrorHandler}.
+     */
+    private static final class ErrorHandlerInstrumentationPostProcessor implements BeanPostProcessor {
+
+        /**
+         * An {@link ObjectProvider} of the {@link ErrorHandlingMetrics} in which handling is recorded
+         * (lazily retrieved, as post processors are created before regular beans).
+         */
+        private final ObjectProvider<ErrorHandlingMetrics> metricsProvider;
+
+        /**
+         * Constructor.
+         *
+         * @param metricsProvider An {@link ObjectProvider} of the {@link ErrorHandlingMetrics}
+         *                        in which handling is recorded.
+         */
+        private ErrorHandlerInstrumentationPostProcessor(final ObjectProvider<ErrorHandlingMetrics> metricsProvider) {
+            this.metricsProvider = metricsProvider;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName)
+                throws BeansException {
+            if (!(bean instanceof ErrorHandler) || bean instanceof InstrumentedErrorHandler) {
+                return bean;
+            }
+            return new InstrumentedErrorHandler((ErrorHandler) bean, metricsProvider.getObject());
+        }
+    }
+}
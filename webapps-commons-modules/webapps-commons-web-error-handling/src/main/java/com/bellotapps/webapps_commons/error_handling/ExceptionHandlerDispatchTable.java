@@ -0,0 +1,334 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.utils.error_handler.ExceptionHandler;
+import com.bellotapps.utils.error_handler.ExceptionHandlerObject;
+import com.bellotapps.webapps_commons.core.ComponentIndex;
+import com.bellotapps.webapps_commons.core.StartupProfiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The table used by {@link DispatchingErrorHandler}s to resolve the {@link ExceptionHandler} to be used
+ * for a given exception only once per concrete exception class (caching the result with a {@link ClassValue}),
+ * so handling an exception does not require walking its class hierarchy each time.
+ * <p>
+ * The most specific handler is selected by walking the superclass chain of the exception's class.
+ * Exceptions that are only matched by a handler of {@link Throwable},
+ * whose resolution is ambiguous (i.e more than one handler for the same class),
+ * or that implement an interface with a handler (whose precedence over the superclasses' handlers
+ * only the wrapped {@link ErrorHandler} knows) are not resolved, so they are delegated to the wrapped
+ * {@link ErrorHandler}, which keeps the resolution behaviour unchanged.
+ * <p>
+ * Note that the error handler library does not expose the handlers of the wrapped {@link ErrorHandler},
+ * so the handlers of the table are different instances (which is why exception handlers must be stateless).
+ * A table is meant to be built once per application (i.e as a bean), and shared by all the
+ * {@link DispatchingErrorHandler}s, so handlers are scanned and instantiated only once.
+ */
+public final class ExceptionHandlerDispatchTable {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExceptionHandlerDispatchTable.class);
+
+    /**
+     * Caches, for each concrete exception class, the {@link ExceptionHandler} to be used
+     * (or empty if the exception must be delegated).
+     */
+    private final ClassValue<Optional<ExceptionHandler<Throwable, ?>>> dispatchCache;
+
+    /**
+     * Caches, for each concrete exception class, the class of the {@link ExceptionHandler} that handles it
+     * (including delegated exceptions, if the handler can be known without the wrapped {@link ErrorHandler}).
+     */
+    private final ClassValue<Optional<Class<?>>> handlerClassCache;
+
+
+    /**
+     * Constructor.
+     *
+     * @param handlers The {@link ExceptionHandler}s to which exceptions are dispatched
+     *                 (the wrapped {@link ErrorHandler}s should know, at least, the same handlers).
+     */
+    public ExceptionHandlerDispatchTable(final Collection<? extends ExceptionHandler<?, ?>> handlers) {
+        Assert.notNull(handlers, "The handlers collection must not be null");
+        final var handlersByType = new HashMap<Class<?>, ExceptionHandler<Throwable, ?>>();
+        final var ambiguousTypes = new HashSet<Class<?>>();
+        final var interfaceTypes = new HashSet<Class<?>>();
+        final var handlerClassesByType = new HashMap<Class<?>, Set<Class<?>>>();
+        for (final ExceptionHandler<?, ?> handler : handlers) {
+            final var type = handledType(handler);
+            if (type == null) {
+                continue;
+            }
+            handlerClassesByType.computeIfAbsent(type, ignored -> new HashSet<>()).add(handler.getClass());
+            if (type == Throwable.class) {
+                continue;
+            }
+            if (type.isInterface()) {
+                interfaceTypes.add(type);
+                continue;
+            }
+            @SuppressWarnings("unchecked") final var casted = (ExceptionHandler<Throwable, ?>) handler;
+            if (handlersByType.putIfAbsent(type, casted) != null) {
+                ambiguousTypes.add(type);
+            }
+        }
+        this.dispatchCache = new DispatchCache(Map.copyOf(handlersByType), Set.copyOf(ambiguousTypes),
+                Set.copyOf(interfaceTypes));
+        this.handlerClassCache = new HandlerClassCache(dispatchCache, Map.copyOf(handlerClassesByType));
+    }
+
+
+    /**
+     * Returns the {@link ExceptionHandler} to which exceptions of the given {@code exceptionClass} are dispatched.
+     *
+     * @param exceptionClass The exception class.
+     * @return An {@link Optional} containing the {@link ExceptionHandler},
+     * or empty if the exceptions must be delegated to the wrapped {@link ErrorHandler}.
+     */
+    public Optional<ExceptionHandler<Throwable, ?>> lookup(final Class<? extends Throwable> exceptionClass) {
+        return dispatchCache.get(exceptionClass);
+    }
+
+    /**
+     * Returns the class of the {@link ExceptionHandler} that handles exceptions of the given {@code exceptionClass}.
+     * For exceptions delegated to the wrapped {@link ErrorHandler}, the class is resolved if only one handler
+     * class can handle them (e.g exceptions only handled by the handler of {@link Throwable}),
+     * not taking into account the handler of {@link Throwable} if any other can handle them.
+     *
+     * @param exceptionClass The exception class.
+     * @return An {@link Optional} containing the class of the {@link ExceptionHandler},
+     * or empty if it can only be known by the wrapped {@link ErrorHandler} (e.g ambiguous resolutions).
+     */
+    public Optional<Class<?>> resolveHandlerClass(final Class<? extends Throwable> exceptionClass) {
+        return handlerClassCache.get(exceptionClass);
+    }
+
+
+    /**
+     * Creates an {@link ExceptionHandlerDispatchTable}, scanning the given {@code packages} for classes annotated
+     * with {@link ExceptionHandlerObject}, which are instantiated with the given {@code beanFactory}
+     * (i.e the same way the {@link ErrorHandler} would be created by the error handler factory).
+     * Handlers are taken from the {@link ComponentIndex} for the packages it is authoritative for,
+     * scanning the rest of them.
+     *
+     * @param beanFactory The {@link BeanFactory} used to instantiate the handlers.
+     * @param classLoader The {@link ClassLoader} used to load the handlers classes.
+     * @param packages    The packages to be scanned (i.e the ones used to create the wrapped {@link ErrorHandler}).
+     * @return The created {@link ExceptionHandlerDispatchTable}.
+     */
+    public static ExceptionHandlerDispatchTable scanning(final BeanFactory beanFactory,
+                                                         final ClassLoader classLoader,
+                                                         final String... packages) {
+        try (final var ignored =
+                     StartupProfiler.begin(StartupProfiler.SCAN, "ExceptionHandlerDispatchTable#scanning")) {
+            final var scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(new AnnotationTypeFilter(ExceptionHandlerObject.class));
+            final var index = ComponentIndex.load(classLoader);
+            final var handlers = Arrays.stream(packages)
+                    .map(basePackage -> findHandlers(basePackage, index, scanner))
+                    .flatMap(Collection::stream)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(className -> ClassUtils.resolveClassName(className, classLoader))
+                    .filter(ExceptionHandler.class::isAssignableFrom)
+                    .map(handlerClass -> instantiate(handlerClass, beanFactory))
+                    .collect(Collectors.toList());
+            LOGGER.debug("Dispatching to {} exception handlers found in {}",
+                    handlers.size(), Arrays.asList(packages));
+            return new ExceptionHandlerDispatchTable(handlers);
+        }
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Finds the names of the exception handler classes in the given {@code basePackage},
+     * using the given {@code index} if it is authoritative for the package, or the {@code scanner} otherwise
+     * (e.g for packages in jars built without the index processor).
+     *
+     * @param basePackage The package containing exception handlers.
+     * @param index       An {@link Optional} holding the {@link ComponentIndex} (if there is one).
+     * @param scanner     The {@link ClassPathScanningCandidateComponentProvider} used to scan the package.
+     * @return The names of the exception handler classes (some of them might be null if scanning was performed).
+     */
+    private static Collection<String> findHandlers(final String basePackage,
+                                                   final Optional<ComponentIndex> index,
+                                                   final ClassPathScanningCandidateComponentProvider scanner) {
+        final var authoritativeIndex = index.filter(componentIndex -> componentIndex.isAuthoritativeFor(basePackage));
+        if (authoritativeIndex.isPresent()) {
+            return authoritativeIndex.get().getCandidateTypes(basePackage, ComponentIndex.EXCEPTION_HANDLER_OBJECT);
+        }
+        return scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Resolves the exception type handled by the given {@code handler}.
+     *
+     * @param handler The {@link ExceptionHandler} whose handled type must be resolved.
+     * @return The handled exception type, or {@code null} if it could not be resolved.
+     */
+    private static Class<?> handledType(final ExceptionHandler<?, ?> handler) {
+        return ResolvableType.forClass(handler.getClass()).as(ExceptionHandler.class).getGeneric(0).resolve();
+    }
+
+    /**
+     * Instantiates the given {@code handlerClass}, autowiring it if the {@code beanFactory} allows it,
+     * unless there is a bean of that class (which is reused).
+     *
+     * @param handlerClass The class of the {@link ExceptionHandler} to be instantiated.
+     * @param beanFactory  The {@link BeanFactory} used to instantiate the handler.
+     * @return The instantiated {@link ExceptionHandler}.
+     */
+    private static ExceptionHandler<?, ?> instantiate(final Class<?> handlerClass, final BeanFactory beanFactory) {
+        final var existing = beanFactory.getBeanProvider(handlerClass).getIfUnique();
+        if (existing != null) {
+            return (ExceptionHandler<?, ?>) existing;
+        }
+        final var instance = beanFactory instanceof AutowireCapableBeanFactory ?
+                ((AutowireCapableBeanFactory) beanFactory).createBean(handlerClass) :
+                BeanUtils.instantiateClass(handlerClass);
+        return (ExceptionHandler<?, ?>) instance;
+    }
+
+    /**
+     * The {@link ClassValue} that resolves the {@link ExceptionHandler} for a given exception class.
+     */
+    private static final class DispatchCache extends ClassValue<Optional<ExceptionHandler<Throwable, ?>>> {
+
+        /**
+         * The {@link ExceptionHandler}s, by the exception type they handle.
+         */
+        private final Map<Class<?>, ExceptionHandler<Throwable, ?>> handlersByType;
+
+        /**
+         * Exception types handled by more than one {@link ExceptionHandler}.
+         */
+        private final Set<Class<?>> ambiguousTypes;
+
+        /**
+         * Interfaces handled by an {@link ExceptionHandler}.
+         */
+        private final Set<Class<?>> interfaceTypes;
+
+        /**
+         * Constructor.
+         *
+         * @param handlersByType The {@link ExceptionHandler}s, by the exception type they handle.
+         * @param ambiguousTypes Exception types handled by more than one {@link ExceptionHandler}.
+         * @param interfaceTypes Interfaces handled by an {@link ExceptionHandler}.
+         */
+        private DispatchCache(final Map<Class<?>, ExceptionHandler<Throwable, ?>> handlersByType,
+                              final Set<Class<?>> ambiguousTypes, final Set<Class<?>> interfaceTypes) {
+            this.handlersByType = handlersByType;
+            this.ambiguousTypes = ambiguousTypes;
+            this.interfaceTypes = interfaceTypes;
+        }
+
+        @Override
+        protected Optional<ExceptionHandler<Throwable, ?>> computeValue(final Class<?> type) {
+            if (interfaceTypes.stream().anyMatch(interfaceType -> interfaceType.isAssignableFrom(type))) {
+                return Optional.empty(); // Let the delegate choose between the interfaces and superclasses handlers
+            }
+            for (Class<?> current = type; current != null && current != Throwable.class;
+                 current = current.getSuperclass()) {
+                if (ambiguousTypes.contains(current)) {
+                    return Optional.empty();
+                }
+                final var handler = handlersByType.get(current);
+                if (handler != null) {
+                    return Optional.of(handler);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The {@link ClassValue} that resolves the class of the {@link ExceptionHandler} for a given exception class.
+     */
+    private static final class HandlerClassCache extends ClassValue<Optional<Class<?>>> {
+
+        /**
+         * The {@link DispatchCache} with the handlers of dispatched exceptions.
+         */
+        private final ClassValue<Optional<ExceptionHandler<Throwable, ?>>> dispatchCache;
+
+        /**
+         * The {@link ExceptionHandler} classes, by the exception type they handle (including interfaces and
+         * {@link Throwable}).
+         */
+        private final Map<Class<?>, Set<Class<?>>> handlerClassesByType;
+
+        /**
+         * Constructor.
+         *
+         * @param dispatchCache        The {@link DispatchCache} with the handlers of dispatched exceptions.
+         * @param handlerClassesByType The {@link ExceptionHandler} classes, by the exception type they handle.
+         */
+        private HandlerClassCache(final ClassValue<Optional<ExceptionHandler<Throwable, ?>>> dispatchCache,
+                                  final Map<Class<?>, Set<Class<?>>> handlerClassesByType) {
+            this.dispatchCache = dispatchCache;
+            this.handlerClassesByType = handlerClassesByType;
+        }
+
+        @Override
+        protected Optional<Class<?>> computeValue(final Class<?> type) {
+            final var dispatched = dispatchCache.get(type);
+            if (dispatched.isPresent()) {
+                return dispatched.map(Object::getClass);
+            }
+            final var candidates = handlerClassesByType.entrySet().stream()
+                    .filter(entry -> entry.getKey() != Throwable.class && entry.getKey().isAssignableFrom(type))
+                    .flatMap(entry -> entry.getValue().stream())
+                    .collect(Collectors.toSet());
+            if (candidates.isEmpty()) {
+                // The handler of Throwable is the last resort, so it is only a candidate if no other one is
+                candidates.addAll(handlerClassesByType.getOrDefault(Throwable.class, Set.of()));
+            }
+            return candidates.size() == 1 ? Optional.of(candidates.iterator().next()) : Optional.empty();
+        }
+    }
+}
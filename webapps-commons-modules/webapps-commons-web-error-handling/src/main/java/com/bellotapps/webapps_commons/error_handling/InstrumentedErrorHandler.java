@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.error_handling;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.utils.error_handler.HandlingResult;
+import org.springframework.util.Assert;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * An {@link ErrorHandler} decorator that records {@link ErrorHandlingMetrics} for each handled exception.
+ * The exception handler that handled the exception is resolved through the lookup of the decorated
+ * {@link ErrorHandler} when it is a {@link DispatchingErrorHandler} (including exceptions it delegates).
+ * Otherwise, or if the lookup can not know it, it is recorded as {@value #UNRESOLVED_HANDLER}.
+ * Exceptions whose handling fails are recorded too, with a {@value #FAILED_HANDLING_STATUS} status code.
+ */
+public final class InstrumentedErrorHandler implements ErrorHandler {
+
+    /**
+     * The name recorded for exceptions whose handler can not be known.
+     */
+    public static final String UNRESOLVED_HANDLER = "unresolved";
+
+    /**
+     * The status code recorded when handling an exception fails (i.e the one the container will send).
+     */
+    public static final int FAILED_HANDLING_STATUS = 500;
+
+    /**
+     * The decorated {@link ErrorHandler}.
+     */
+    private final ErrorHandler delegate;
+
+    /**
+     * The {@link ErrorHandlingMetrics} in which handling is recorded.
+     */
+    private final ErrorHandlingMetrics metrics;
+
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The decorated {@link ErrorHandler}.
+     * @param metrics  The {@link ErrorHandlingMetrics} in which handling is recorded.
+     */
+    public InstrumentedErrorHandler(final ErrorHandler delegate, final ErrorHandlingMetrics metrics) {
+        Assert.notNull(delegate, "The delegate must not be null");
+        Assert.notNull(metrics, "The metrics must not be null");
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+
+    @Override
+    public HandlingResult<?> handle(final Throwable exception) {
+        final var start = System.nanoTime();
+        var status = FAILED_HANDLING_STATUS;
+        try {
+            final var result = delegate.handle(exception);
+            status = result.getHttpErrorCode();
+            return result;
+        } finally {
+            final var elapsed = System.nanoTime() - start;
+            metrics.recordHandling(handlerName(exception), status, exception.getClass(), elapsed);
+        }
+    }
+
+    /**
+     * @return The {@link ErrorHandlingMetrics} in which handling is recorded
+     * (which can be used to record the serialization of the results).
+     */
+    public ErrorHandlingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Creates a new {@link InstrumentedErrorHandler}, recording into the same {@link ErrorHandlingMetrics},
+     * that decorates the result of applying the given {@code decorator} to the decorated {@link ErrorHandler}.
+     * This allows adding decorators below this one.
+     *
+     * @param decorator An {@link UnaryOperator} that decorates the decorated {@link ErrorHandler}.
+     * @return The new {@link InstrumentedErrorHandler}.
+     */
+    public InstrumentedErrorHandler decorate(final UnaryOperator<ErrorHandler> decorator) {
+        return new InstrumentedErrorHandler(decorator.apply(delegate), metrics);
+    }
+
+
+    /**
+     * Records the serialization of an error response into the {@link ErrorHandlingMetrics}
+     * of the given {@code errorHandler}, if it is an {@link InstrumentedErrorHandler}.
+     *
+     * @param errorHandler The {@link ErrorHandler} that produced the serialized result.
+     * @param nanos        The time (in nanoseconds) the serialization took.
+     */
+    public static void recordSerialization(final ErrorHandler errorHandler, final long nanos) {
+        if (errorHandler instanceof InstrumentedErrorHandler) {
+            ((InstrumentedErrorHandler) errorHandler).metrics.recordSerialization(nanos);
+        }
+    }
+
+
+    /**
+     * Returns the name of the exception handler that handles the given {@code exception}.
+     *
+     * @param exception The handled exception.
+     * @return The name of the exception handler.
+     */
+    private String handlerName(final Throwable exception) {
+        if (!(delegate instanceof DispatchingErrorHandler)) {
+            return UNRESOLVED_HANDLER;
+        }
+        return ((DispatchingErrorHandler) delegate).resolveHandlerClass(exception.getClass())
+                .map(Class::getSimpleName)
+                .orElse(UNRESOLVED_HANDLER);
+    }
+}
@@ -19,10 +19,13 @@ package com.bellotapps.webapps_commons.error_handling;
 
 import com.bellotapps.utils.error_handler.ErrorHandler;
 import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.data_transfer.json.PreRenderedBodies;
+import com.bellotapps.webapps_commons.resilience.CircuitBreakerOpenException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.filter.GenericFilterBean;
 
 import javax.servlet.FilterChain;
@@ -36,6 +39,13 @@ import java.util.Optional;
 /**
  * Filter that is in charge of handling gracefully any uncaught exception.
  * Will return data in JSON format.
+ * Calls short-circuited by an open circuit breaker are answered with a {@code Retry-After} header.
+ * <p>
+ * Note that this filter only wraps the processing performed in the container thread.
+ * When a request is processed asynchronously (e.g managed async resource methods, executed in virtual threads),
+ * the filter chain returns as soon as the request is suspended, so exceptions thrown afterwards never reach it.
+ * Those thrown by the resource method are mapped by Jersey's exception mappers (in the executing thread),
+ * and the rest (e.g failures when writing the response) are handled by Jersey and the container.
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class UncaughtExceptionHandlerFilter extends GenericFilterBean {
@@ -57,6 +67,11 @@ public class UncaughtExceptionHandlerFilter extends GenericFilterBean {
      */
     private final ApiObjectMapper apiObjectMapper;
 
+    /**
+     * The {@link PreRenderedBodies} used to write static entities without serializing them again.
+     */
+    private final PreRenderedBodies preRenderedBodies;
+
     /**
      * Constructor.
      *
@@ -66,6 +81,7 @@ public class UncaughtExceptionHandlerFilter extends GenericFilterBean {
     public UncaughtExceptionHandlerFilter(final ErrorHandler handler, final ApiObjectMapper apiObjectMapper) {
         this.handler = handler;
         this.apiObjectMapper = apiObjectMapper;
+        this.preRenderedBodies = new PreRenderedBodies(apiObjectMapper);
     }
 
     @Override
@@ -79,20 +95,37 @@ public class UncaughtExceptionHandlerFilter extends GenericFilterBean {
                 LOGGER.error("Response was committed before handling exception");
                 return;
             }
+            final var event = ErrorHandlingEvent.start();
             try {
                 final var container = handler.handle(exception);
                 response.setStatus(container.getHttpErrorCode());
+                if (exception instanceof CircuitBreakerOpenException) {
+                    final var retryAfter = ((CircuitBreakerOpenException) exception).getRetryAfterSeconds();
+                    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                }
                 Optional.ofNullable(container.getErrorRepresentationEntity())
                         .ifPresent(entity -> {
+                            final var start = System.nanoTime();
                             try {
+                                final var renderedBody = preRenderedBodies.lookup(entity);
+                                if (renderedBody.isPresent()) {
+                                    response.setContentType(renderedBody.get().getContentType());
+                                    response.setContentLength(renderedBody.get().getContentLength());
+                                    renderedBody.get().writeTo(response.getOutputStream());
+                                    return;
+                                }
                                 response.setContentType(CONTENT_TYPE);
                                 apiObjectMapper.writeValue(response.getOutputStream(), entity);
                             } catch (final IOException e) {
                                 throw new UncheckedIOException(e);
+                            } finally {
+                                InstrumentedErrorHandler.recordSerialization(handler, System.nanoTime() - start);
                             }
                         });
             } catch (final Throwable e) {
                 LOGGER.error("Exception was thrown when handling exception!", e);
+            } finally {
+                event.finish(UncaughtExceptionHandlerFilter.class.getSimpleName(), exception, response.getStatus());
             }
         }
     }
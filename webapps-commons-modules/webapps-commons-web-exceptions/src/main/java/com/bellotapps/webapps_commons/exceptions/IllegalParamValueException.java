@@ -74,4 +74,10 @@ public class IllegalParamValueException extends RuntimeException {
     public List<String> getConflictingParams() {
         return conflictingParams;
     }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
 }
@@ -21,6 +21,11 @@ package com.bellotapps.webapps_commons.exceptions;
  */
 public class MissingJsonException extends RuntimeException {
 
+    /**
+     * Shared argument-less instance, without stack trace, to be used in stackless mode.
+     */
+    private static final MissingJsonException SHARED_INSTANCE = new MissingJsonException(null, null, false, false);
+
     /**
      * Default constructor.
      */
@@ -45,4 +50,35 @@ public class MissingJsonException extends RuntimeException {
     public MissingJsonException(final String message, final Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Constructor which allows disabling suppression and the stack trace (used to create the shared instance).
+     *
+     * @param message            The detail message.
+     * @param cause              The cause.
+     * @param enableSuppression  Whether suppression is enabled or disabled.
+     * @param writableStackTrace Whether the stack trace should be writable.
+     */
+    private MissingJsonException(final String message, final Throwable cause,
+                                  final boolean enableSuppression, final boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+
+    /**
+     * Returns an argument-less {@link MissingJsonException}.
+     * When the stackless mode is enabled (see {@link StacklessExceptions}), a shared pre-allocated instance
+     * is returned. Otherwise, a new instance is created.
+     *
+     * @return An argument-less {@link MissingJsonException}.
+     */
+    public static MissingJsonException create() {
+        return StacklessExceptions.isEnabled() ? SHARED_INSTANCE : new MissingJsonException();
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.exceptions;
+
+/**
+ * A {@link RuntimeException} that must be thrown when an API consumer has sent too many requests
+ * in a given amount of time (i.e it has exceeded the rate limit applied to it).
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Shared argument-less instance, without stack trace, to be used in stackless mode.
+     */
+    private static final TooManyRequestsException SHARED_INSTANCE =
+            new TooManyRequestsException(null, null, false, false);
+
+    /**
+     * Default constructor.
+     */
+    public TooManyRequestsException() {
+        super();
+    }
+
+    /**
+     * Constructor which can set a {@code message}.
+     *
+     * @param message The detail message, which is saved for later retrieval by the {@link #getMessage()} method.
+     */
+    public TooManyRequestsException(final String message) {
+        super(message);
+    }
+
+    /**
+     * @param message The detail message, which is saved for later retrieval by the {@link #getMessage()} method.
+     * @param cause   The cause (which is saved for later retrieval by the {@link #getCause()} method).
+     *                For more information, see {@link RuntimeException#RuntimeException(Throwable)}.
+     */
+    public TooManyRequestsException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructor which allows disabling suppression and the stack trace (used to create the shared instance).
+     *
+     * @param message            The detail message.
+     * @param cause              The cause.
+     * @param enableSuppression  Whether suppression is enabled or disabled.
+     * @param writableStackTrace Whether the stack trace should be writable.
+     */
+    private TooManyRequestsException(final String message, final Throwable cause,
+                                      final boolean enableSuppression, final boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+
+    /**
+     * Returns an argument-less {@link TooManyRequestsException}.
+     * When the stackless mode is enabled (see {@link StacklessExceptions}), a shared pre-allocated instance
+     * is returned. Otherwise, a new instance is created.
+     *
+     * @return An argument-less {@link TooManyRequestsException}.
+     */
+    public static TooManyRequestsException create() {
+        return StacklessExceptions.isEnabled() ? SHARED_INSTANCE : new TooManyRequestsException();
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Skip capturing the stack trace when in stackless mode
+        return StacklessExceptions.isEnabled() ? this : super.fillInStackTrace();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import com.bellotapps.webapps_commons.resilience.BulkheadFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the {@link com.bellotapps.webapps_commons.resilience.Bulkhead}s created by the
+ * {@link BulkheadFactory} (whose circuit breakers use the {@link CircuitBreakerProperties} settings).
+ *
+ * @see BulkheadFactory
+ */
+@ConfigurationProperties(prefix = BulkheadProperties.PREFIX)
+public class BulkheadProperties {
+
+    /**
+     * Prefix for the "bulkhead" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".bulkhead";
+
+    /**
+     * The maximum amount of concurrent calls to each service.
+     */
+    private int maxConcurrentCalls = 25;
+
+    /**
+     * The amount of milliseconds after which a call is considered slow (i.e a failure for the circuit breaker).
+     */
+    private long slowCallThreshold = 5_000;
+
+
+    /**
+     * Getter for the max. amount of concurrent calls.
+     *
+     * @return The maximum amount of concurrent calls to each service.
+     */
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * Getter for the slow call threshold.
+     *
+     * @return The amount of milliseconds after which a call is considered slow.
+     */
+    public long getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    /**
+     * Setter for the max. amount of concurrent calls.
+     *
+     * @param maxConcurrentCalls The maximum amount of concurrent calls to each service.
+     */
+    public void setMaxConcurrentCalls(final int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    /**
+     * Setter for the slow call threshold.
+     *
+     * @param slowCallThreshold The amount of milliseconds after which a call is considered slow.
+     */
+    public void setSlowCallThreshold(final long slowCallThreshold) {
+        this.slowCallThreshold = slowCallThreshold;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the database circuit breaker
+ * (whose settings, except for the enabled flag, are also used by the circuit breakers of the bulkheads).
+ *
+ * @see DatabaseCircuitBreakerPostProcessor
+ * @see BulkheadProperties
+ */
+@ConfigurationProperties(prefix = CircuitBreakerProperties.PREFIX)
+public class CircuitBreakerProperties {
+
+    /**
+     * Prefix for the "circuit-breaker" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".circuit-breaker";
+
+    /**
+     * Indicates whether calls to the repositories must be short-circuited while the database circuit breaker is open.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The failure rate (greater than 0 and at most 1) that opens the circuit breaker.
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * The minimum amount of calls a window must have in order to evaluate its failure rate.
+     */
+    private long minimumCalls = 20;
+
+    /**
+     * The duration (in milliseconds) of each window.
+     */
+    private long window = 10_000;
+
+    /**
+     * The amount of milliseconds the circuit breaker stays open before letting probes through.
+     */
+    private long openDuration = 10_000;
+
+    /**
+     * The amount of probes let through while the circuit breaker is half-open.
+     */
+    private int halfOpenProbes = 5;
+
+
+    /**
+     * Getter for the enabled flag.
+     *
+     * @return {@code true} if calls to the repositories must be short-circuited while the circuit breaker is open,
+     * or {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Getter for the failure rate threshold.
+     *
+     * @return The failure rate that opens the circuit breaker.
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Getter for the minimum amount of calls.
+     *
+     * @return The minimum amount of calls a window must have in order to evaluate its failure rate.
+     */
+    public long getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Getter for the window duration.
+     *
+     * @return The duration (in milliseconds) of each window.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Getter for the open duration.
+     *
+     * @return The amount of milliseconds the circuit breaker stays open before letting probes through.
+     */
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Getter for the amount of half-open probes.
+     *
+     * @return The amount of probes let through while the circuit breaker is half-open.
+     */
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    /**
+     * Setter for the enabled flag.
+     *
+     * @param enabled {@code true} if calls to the repositories must be short-circuited
+     *                while the circuit breaker is open, or {@code false} otherwise.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Setter for the failure rate threshold.
+     *
+     * @param failureRateThreshold The failure rate that opens the circuit breaker.
+     */
+    public void setFailureRateThreshold(final double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    /**
+     * Setter for the minimum amount of calls.
+     *
+     * @param minimumCalls The minimum amount of calls a window must have in order to evaluate its failure rate.
+     */
+    public void setMinimumCalls(final long minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    /**
+     * Setter for the window duration.
+     *
+     * @param window The duration (in milliseconds) of each window.
+     */
+    public void setWindow(final long window) {
+        this.window = window;
+    }
+
+    /**
+     * Setter for the open duration.
+     *
+     * @param openDuration The amount of milliseconds the circuit breaker stays open before letting probes through.
+     */
+    public void setOpenDuration(final long openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Setter for the amount of half-open probes.
+     *
+     * @param halfOpenProbes The amount of probes let through while the circuit breaker is half-open.
+     */
+    public void setHalfOpenProbes(final int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+}
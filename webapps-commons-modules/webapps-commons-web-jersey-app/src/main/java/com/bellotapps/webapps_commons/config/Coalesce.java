@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Indicates that concurrent identical requests to a GET resource method of a {@link JerseyController}
+ * must be coalesced (i.e only one of them executes the method, and the rest get a copy of its response).
+ * Requests are identical if they have the same URI (including the query), the same {@code Accept} header,
+ * and (unless {@link #perPrincipal()} is unset) the same authenticated principal.
+ * <p>
+ * Only methods whose responses do not depend on anything else must be annotated
+ * (e.g reads of popular resources, whose cache expiration makes lots of requests reach the database at once).
+ *
+ * @see CoalescingFeature
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesce {
+
+    /**
+     * Indicates whether the authenticated principal is part of the requests identity
+     * (i.e whether the response depends on who performs the request).
+     * Defaults to {@code true}, so responses are never shared among different principals;
+     * it must only be unset for methods whose responses are the same for everyone (e.g public resources).
+     *
+     * @return {@code true} if only requests of the same principal must be coalesced, or {@code false} otherwise.
+     */
+    boolean perPrincipal() default true;
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.Assert;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link DynamicFeature} that coalesces concurrent identical requests to the GET resource methods
+ * annotated with {@link Coalesce} (i.e single-flight): the first request executes the method,
+ * and the identical requests that arrive while it is in flight wait for it, and get a copy of its response
+ * (i.e the same status, headers, except for cookies, and serialized body), without executing the method.
+ * <p>
+ * Followers get the response of the first request whether it is successful or not
+ * (error responses are rendered responses too), so a failure is not retried by each of them at once.
+ * If the first request does not produce a shareable response (e.g its body is larger than the maximum size,
+ * or it is not ready within the maximum wait), its followers are executed as if they were not coalesced.
+ * <p>
+ * Memory is bounded: at most {@code maxFlights} distinct requests are coalesced at the same time,
+ * and each of them holds at most {@code maxBodySize} bytes, which are released once the followers are answered.
+ *
+ * @see CoalescingProperties
+ */
+public class CoalescingFeature implements DynamicFeature {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingFeature.class);
+
+    /**
+     * The requests in flight, by key (shared by the filters of all the resource methods).
+     */
+    private final ConcurrentMap<String, CoalescingFilter.Flight> flights;
+
+    /**
+     * The maximum amount of distinct requests being coalesced at the same time.
+     */
+    private final int maxFlights;
+
+    /**
+     * The maximum size (in bytes) of a shared response body.
+     */
+    private final int maxBodySize;
+
+    /**
+     * The maximum time (in nanoseconds) a request waits for the response of an identical one.
+     */
+    private final long maxWaitNanos;
+
+
+    /**
+     * Constructor.
+     *
+     * @param maxFlights    The maximum amount of distinct requests being coalesced at the same time.
+     * @param maxBodySize   The maximum size (in bytes) of a shared response body.
+     * @param maxWaitMillis The maximum time (in milliseconds) a request waits for the response of an identical one.
+     * @throws IllegalArgumentException If any of the values is not positive.
+     */
+    public CoalescingFeature(final int maxFlights, final int maxBodySize, final long maxWaitMillis)
+            throws IllegalArgumentException {
+        Assert.isTrue(maxFlights > 0, "The maximum amount of flights must be positive");
+        Assert.isTrue(maxBodySize > 0, "The maximum body size must be positive");
+        Assert.isTrue(maxWaitMillis > 0, "The maximum wait must be positive");
+        this.flights = new ConcurrentHashMap<>();
+        this.maxFlights = maxFlights;
+        this.maxBodySize = maxBodySize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+        final var method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+        final var coalesce = AnnotatedElementUtils.findMergedAnnotation(method, Coalesce.class);
+        if (coalesce == null) {
+            return;
+        }
+        if (!AnnotatedElementUtils.hasAnnotation(method, GET.class)) {
+            LOGGER.warn("Ignoring @Coalesce in {}, as only GET resource methods can be coalesced", method);
+            return;
+        }
+        context.register(new CoalescingFilter(flights, coalesce.perPrincipal(), maxFlights, maxBodySize,
+                maxWaitNanos));
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.data_transfer.json.RenderedBody;
+import com.bellotapps.webapps_commons.resilience.Deadline;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The Jersey filter (and {@link WriterInterceptor}) registered by the {@link CoalescingFeature}
+ * for each resource method annotated with {@link Coalesce}.
+ * The first request with a given key is the leader of the flight (i.e it executes the method,
+ * and its serialized response body is captured while written), and the rest are its followers
+ * (i.e they wait for the leader's response, and abort with a copy of it).
+ */
+@Priority(Priorities.USER)
+/* package */ final class CoalescingFilter
+        implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    /**
+     * Name of the request property that holds the {@link Flight} led by a request.
+     */
+    private static final String FLIGHT_PROPERTY = CoalescingFilter.class.getName() + ".flight";
+
+    /**
+     * Name of the request property that holds the response status of a leader request.
+     */
+    private static final String STATUS_PROPERTY = CoalescingFilter.class.getName() + ".status";
+
+    /**
+     * The requests in flight, by key.
+     */
+    private final ConcurrentMap<String, Flight> flights;
+
+    /**
+     * Indicates whether the authenticated principal is part of the requests keys.
+     */
+    private final boolean perPrincipal;
+
+    /**
+     * The maximum amount of distinct requests being coalesced at the same time.
+     */
+    private final int maxFlights;
+
+    /**
+     * The maximum size (in bytes) of a shared response body.
+     */
+    private final int maxBodySize;
+
+    /**
+     * The maximum time (in nanoseconds) a request waits for the response of an identical one.
+     */
+    private final long maxWaitNanos;
+
+
+    /**
+     * Constructor.
+     *
+     * @param flights      The requests in flight, by key.
+     * @param perPrincipal Indicates whether the authenticated principal is part of the requests keys.
+     * @param maxFlights   The maximum amount of distinct requests being coalesced at the same time.
+     * @param maxBodySize  The maximum size (in bytes) of a shared response body.
+     * @param maxWaitNanos The maximum time (in nanoseconds) a request waits for the response of an identical one.
+     */
+    /* package */ CoalescingFilter(final ConcurrentMap<String, Flight> flights, final boolean perPrincipal,
+                                   final int maxFlights, final int maxBodySize, final long maxWaitNanos) {
+        this.flights = flights;
+        this.perPrincipal = perPrincipal;
+        this.maxFlights = maxFlights;
+        this.maxBodySize = maxBodySize;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final var key = keyOf(requestContext);
+        var existing = flights.get(key);
+        if (existing == null) {
+            // Only new leaders are bounded, as followers of an existing flight do not take more memory
+            if (flights.size() >= maxFlights) {
+                return; // Not coalesced, in order to bound memory
+            }
+            final var flight = new Flight(key);
+            existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                requestContext.setProperty(FLIGHT_PROPERTY, flight);
+                return;
+            }
+        }
+        if (existing.isStale(maxWaitNanos)) {
+            // The leader did not finish in time (e.g it is stuck), so this request takes its place
+            final var flight = new Flight(key);
+            if (flights.replace(key, existing, flight)) {
+                requestContext.setProperty(FLIGHT_PROPERTY, flight);
+            }
+            return;
+        }
+        final var response = existing.await(maxWaitNanos);
+        // The deadline might have expired while waiting
+        Deadline.checkCurrent();
+        response.ifPresent(sharedResponse -> requestContext.abortWith(sharedResponse.toResponse()));
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        final var flight = (Flight) requestContext.getProperty(FLIGHT_PROPERTY);
+        if (flight == null) {
+            return;
+        }
+        if (!responseContext.hasEntity()) {
+            complete(flight, new SharedResponse(responseContext.getStatus(),
+                    copyHeaders(responseContext.getStringHeaders()), null));
+            return;
+        }
+        // The response is shared once its body is written
+        requestContext.setProperty(STATUS_PROPERTY, responseContext.getStatus());
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final var flight = (Flight) context.getProperty(FLIGHT_PROPERTY);
+        final var status = context.getProperty(STATUS_PROPERTY);
+        if (flight == null || !(status instanceof Integer)) {
+            context.proceed();
+            return;
+        }
+        final var original = context.getOutputStream();
+        final var capturing = new CapturingOutputStream(original, maxBodySize);
+        context.setOutputStream(capturing);
+        SharedResponse sharedResponse = null;
+        try {
+            context.proceed();
+            final var mediaType = context.getMediaType();
+            sharedResponse = mediaType == null ? null : capturing.getCaptured()
+                    .map(bytes -> new SharedResponse((Integer) status, copyHeaders(context.getHeaders()),
+                            new RenderedBody(bytes, mediaType.toString())))
+                    .orElse(null);
+        } finally {
+            context.setOutputStream(original);
+            // If the response could not be captured, followers are released without it
+            complete(flight, sharedResponse);
+        }
+    }
+
+
+    /**
+     * Builds the key of the given request (i.e its URI, its {@code Accept} header, and its principal if needed).
+     *
+     * @param requestContext The {@link ContainerRequestContext}.
+     * @return The key of the request.
+     */
+    private String keyOf(final ContainerRequestContext requestContext) {
+        final var key = new StringBuilder()
+                .append(requestContext.getMethod())
+                .append(' ')
+                .append(requestContext.getUriInfo().getRequestUri())
+                .append('\n')
+                .append(Optional.ofNullable(requestContext.getHeaderString(HttpHeaders.ACCEPT)).orElse(""));
+        if (perPrincipal) {
+            final var securityContext = requestContext.getSecurityContext();
+            final var principal = securityContext == null ? null : securityContext.getUserPrincipal();
+            key.append('\n').append(principal == null ? "" : principal.getName());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Ends the given {@code flight}, releasing its followers.
+     *
+     * @param flight         The {@link Flight} to be ended.
+     * @param sharedResponse The {@link SharedResponse} to be sent to the followers
+     *                       (or {@code null} if they must be executed as if they were not coalesced).
+     */
+    private void complete(final Flight flight, final SharedResponse sharedResponse) {
+        flights.remove(flight.key, flight);
+        flight.response.complete(sharedResponse);
+    }
+
+    /**
+     * Copies the given {@code headers}, except for the ones that must not be shared
+     * (i.e cookies, and the ones set when writing the response).
+     *
+     * @param headers The headers to be copied.
+     * @param <V>     The concrete type of the headers values.
+     * @return The copied headers.
+     */
+    private static <V> Map<String, List<Object>> copyHeaders(final MultivaluedMap<String, V> headers) {
+        final var copy = new LinkedHashMap<String, List<Object>>();
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.SET_COOKIE.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                copy.put(name, new ArrayList<>(values));
+            }
+        });
+        return copy;
+    }
+
+
+    /**
+     * A request in flight, whose response is shared with its followers.
+     */
+    /* package */ static final class Flight {
+
+        /**
+         * The key of the request.
+         */
+        private final String key;
+
+        /**
+         * The value of {@link System#nanoTime()} when the flight started.
+         */
+        private final long startNanos;
+
+        /**
+         * Completed with the {@link SharedResponse} (or with {@code null} if there is none) when the flight ends.
+         */
+        private final CompletableFuture<SharedResponse> response;
+
+        /**
+         * Constructor.
+         *
+         * @param key The key of the request.
+         */
+        private Flight(final String key) {
+            this.key = key;
+            this.startNanos = System.nanoTime();
+            this.response = new CompletableFuture<>();
+        }
+
+        /**
+         * Indicates whether this flight was started more than the given amount of nanoseconds ago.
+         *
+         * @param maxWaitNanos The maximum time (in nanoseconds) a request waits for the response of the flight.
+         * @return {@code true} if this flight is stale, or {@code false} otherwise.
+         */
+        private boolean isStale(final long maxWaitNanos) {
+            return System.nanoTime() - startNanos > maxWaitNanos;
+        }
+
+        /**
+         * Waits for the {@link SharedResponse} of this flight, at most the given amount of nanoseconds
+         * (or until the current {@link Deadline} expires, if it is earlier).
+         *
+         * @param maxWaitNanos The maximum time (in nanoseconds) to wait.
+         * @return An {@link Optional} containing the {@link SharedResponse},
+         * or empty if there is none (or it was not ready in time).
+         */
+        private Optional<SharedResponse> await(final long maxWaitNanos) {
+            final var waitNanos = Deadline.current()
+                    .map(deadline -> Math.min(maxWaitNanos, deadline.getRemaining().toNanos()))
+                    .orElse(maxWaitNanos);
+            try {
+                return Optional.ofNullable(response.get(waitNanos, TimeUnit.NANOSECONDS));
+            } catch (final TimeoutException | ExecutionException e) {
+                return Optional.empty();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * A response shared with the followers of a {@link Flight}.
+     */
+    private static final class SharedResponse {
+
+        /**
+         * The status code.
+         */
+        private final int status;
+
+        /**
+         * The headers (without the content type, which is held by the body).
+         */
+        private final Map<String, List<Object>> headers;
+
+        /**
+         * The serialized body (or {@code null} if there is no body).
+         */
+        private final RenderedBody body;
+
+        /**
+         * Constructor.
+         *
+         * @param status  The status code.
+         * @param headers The headers (without the content type, which is held by the body).
+         * @param body    The serialized body (or {@code null} if there is no body).
+         */
+        private SharedResponse(final int status, final Map<String, List<Object>> headers, final RenderedBody body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * @return A {@link Response} with a copy of this shared response.
+         */
+        private Response toResponse() {
+            final var builder = Response.status(status);
+            headers.forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+            if (body != null) {
+                builder.type(body.getContentType()).entity(body);
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * An {@link OutputStream} that writes to another one, capturing the written bytes up to a maximum size.
+     */
+    private static final class CapturingOutputStream extends OutputStream {
+
+        /**
+         * The {@link OutputStream} to which bytes are written.
+         */
+        private final OutputStream delegate;
+
+        /**
+         * The maximum amount of bytes to be captured.
+         */
+        private final int maxSize;
+
+        /**
+         * The captured bytes (or {@code null} if more than the maximum amount of bytes were written).
+         */
+        private ByteArrayOutputStream captured;
+
+        /**
+         * Constructor.
+         *
+         * @param delegate The {@link OutputStream} to which bytes are written.
+         * @param maxSize  The maximum amount of bytes to be captured.
+         */
+        private CapturingOutputStream(final OutputStream delegate, final int maxSize) {
+            this.delegate = delegate;
+            this.maxSize = maxSize;
+            this.captured = new ByteArrayOutputStream();
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            delegate.write(b);
+            if (reserve(1)) {
+                captured.write(b);
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            delegate.write(b, off, len);
+            if (reserve(len)) {
+                captured.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        /**
+         * @return An {@link Optional} containing the captured bytes,
+         * or empty if more than the maximum amount of bytes were written.
+         */
+        private Optional<byte[]> getCaptured() {
+            return Optional.ofNullable(captured).map(ByteArrayOutputStream::toByteArray);
+        }
+
+        /**
+         * Checks whether the given amount of bytes can still be captured
+         * (once the maximum size is exceeded, nothing else is captured).
+         *
+         * @param len The amount of bytes to be captured.
+         * @return {@code true} if the bytes must be captured, or {@code false} otherwise.
+         */
+        private boolean reserve(final int len) {
+            if (captured != null && captured.size() + len > maxSize) {
+                captured = null;
+            }
+            return captured != null;
+        }
+    }
+}
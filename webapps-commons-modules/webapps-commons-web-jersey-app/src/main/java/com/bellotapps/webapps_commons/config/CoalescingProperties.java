@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the coalescing of requests.
+ *
+ * @see CoalescingFeature
+ */
+@ConfigurationProperties(prefix = CoalescingProperties.PREFIX)
+public class CoalescingProperties {
+
+    /**
+     * Prefix for the "coalescing" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".coalescing";
+
+    /**
+     * The maximum amount of distinct requests being coalesced at the same time
+     * (requests over this amount are not coalesced).
+     */
+    private int maxFlights = 1000;
+
+    /**
+     * The maximum size (in bytes) of a shared response body (larger responses are not shared).
+     */
+    private int maxBodySize = 1024 * 1024;
+
+    /**
+     * The maximum time (in milliseconds) a request waits for the response of an identical one
+     * (after which it is executed as if it was not coalesced).
+     */
+    private long maxWait = 5000;
+
+
+    /**
+     * Getter for the maximum amount of flights.
+     *
+     * @return The maximum amount of distinct requests being coalesced at the same time.
+     */
+    public int getMaxFlights() {
+        return maxFlights;
+    }
+
+    /**
+     * Getter for the maximum body size.
+     *
+     * @return The maximum size (in bytes) of a shared response body.
+     */
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Getter for the maximum wait.
+     *
+     * @return The maximum time (in milliseconds) a request waits for the response of an identical one.
+     */
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Setter for the maximum amount of flights.
+     *
+     * @param maxFlights The maximum amount of distinct requests being coalesced at the same time.
+     */
+    public void setMaxFlights(final int maxFlights) {
+        this.maxFlights = maxFlights;
+    }
+
+    /**
+     * Setter for the maximum body size.
+     *
+     * @param maxBodySize The maximum size (in bytes) of a shared response body.
+     */
+    public void setMaxBodySize(final int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Setter for the maximum wait.
+     *
+     * @param maxWait The maximum time (in milliseconds) a request waits for the response of an identical one.
+     */
+    public void setMaxWait(final long maxWait) {
+        this.maxWait = maxWait;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.data_transfer.json.PreRenderedBodies;
+import com.bellotapps.webapps_commons.data_transfer.json.RenderedBody;
+import com.bellotapps.webapps_commons.error_handling.UncaughtExceptionHandlerFilter;
+import com.bellotapps.webapps_commons.resilience.AdaptiveConcurrencyLimiter;
+import com.bellotapps.webapps_commons.resilience.ConcurrencyLimitExceededException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.GenericFilterBean;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A filter that limits the amount of in-flight requests using an {@link AdaptiveConcurrencyLimiter}.
+ * It is placed right after the {@link UncaughtExceptionHandlerFilter}, so requests over the limit
+ * are rejected before any other work (e.g authentication) is performed for them.
+ * Requests are assigned to the partition of the longest path prefix they match
+ * (or to the {@link AdaptiveConcurrencyLimiter#DEFAULT_PARTITION} if they match none).
+ * <p>
+ * Rejected requests are answered using the {@link com.bellotapps.utils.error_handler.HandlingResult}
+ * the {@link ErrorHandler} returns for a {@link ConcurrencyLimitExceededException}
+ * (which is computed, and rendered, once, when this filter is created).
+ *
+ * @see ConcurrencyLimitProperties
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends GenericFilterBean {
+
+    /**
+     * The {@link AdaptiveConcurrencyLimiter} that decides whether requests are let through.
+     */
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * The path prefixes of the partitions, sorted from the longest to the shortest.
+     */
+    private final List<Map.Entry<String, String>> partitionsByPathPrefix;
+
+    /**
+     * The status code to be sent when a request is rejected.
+     */
+    private final int rejectionStatus;
+
+    /**
+     * The body to be sent when a request is rejected (or {@code null} if no body must be sent).
+     */
+    private final RenderedBody rejectionBody;
+
+
+    /**
+     * Constructor.
+     *
+     * @param limiter                The {@link AdaptiveConcurrencyLimiter} that decides whether requests are let
+     *                               through.
+     * @param partitionsByPathPrefix The names of the partitions, by the path prefix of their requests.
+     * @param errorHandler           The {@link ErrorHandler} used to get the result to be sent when rejecting.
+     * @param objectMapper           {@link ApiObjectMapper} used to render the rejection result.
+     * @throws IllegalStateException If the rejection result could not be rendered.
+     */
+    public ConcurrencyLimitFilter(final AdaptiveConcurrencyLimiter limiter,
+                                  final Map<String, String> partitionsByPathPrefix,
+                                  final ErrorHandler errorHandler, final ApiObjectMapper objectMapper)
+            throws IllegalStateException {
+        Assert.notNull(limiter, "The limiter must not be null");
+        Assert.notNull(partitionsByPathPrefix, "The partitions map must not be null");
+        Assert.notNull(errorHandler, "The error handler must not be null");
+        Assert.notNull(objectMapper, "The object mapper must not be null");
+        this.limiter = limiter;
+        this.partitionsByPathPrefix = partitionsByPathPrefix.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, String> entry) -> entry.getKey().length())
+                        .reversed())
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toUnmodifiableList());
+
+        final var result = errorHandler.handle(new ConcurrencyLimitExceededException(limiter.getName()));
+        this.rejectionStatus = result.getHttpErrorCode();
+        final var entity = result.getErrorRepresentationEntity();
+        if (entity == null) {
+            this.rejectionBody = null;
+            return;
+        }
+        // The result is usually a static one, whose payload is already rendered
+        this.rejectionBody = new PreRenderedBodies(objectMapper).lookup(entity).orElseGet(() -> {
+            try {
+                return new RenderedBody(objectMapper.writeValueAsBytes(entity), PreRenderedBodies.CONTENT_TYPE);
+            } catch (final JsonProcessingException e) {
+                throw new IllegalStateException("Could not render the concurrency limit rejection result", e);
+            }
+        });
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        final var permit = limiter.tryAcquire(partitionOf((HttpServletRequest) request));
+        if (permit.isEmpty()) {
+            reject((HttpServletResponse) response);
+            return;
+        }
+        var completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // The request is still in-flight (e.g a managed async resource method is being executed)
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit.get()));
+            } else if (completed) {
+                permit.get().release();
+            } else {
+                permit.get().releaseWithoutSample();
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the partition of the given {@code request}.
+     *
+     * @param request The {@link HttpServletRequest}.
+     * @return The name of the partition of the request.
+     */
+    private String partitionOf(final HttpServletRequest request) {
+        final var path = request.getRequestURI().substring(request.getContextPath().length());
+        for (final var partition : partitionsByPathPrefix) {
+            if (path.startsWith(partition.getKey())) {
+                return partition.getValue();
+            }
+        }
+        return AdaptiveConcurrencyLimiter.DEFAULT_PARTITION;
+    }
+
+    /**
+     * Sets up the given {@code response} in order to reject the request.
+     *
+     * @param response The {@link HttpServletResponse} to be set up.
+     * @throws IOException In case the body could not be written.
+     */
+    private void reject(final HttpServletResponse response) throws IOException {
+        response.setStatus(rejectionStatus);
+        if (rejectionBody == null) {
+            return;
+        }
+        response.setContentType(rejectionBody.getContentType());
+        response.setContentLength(rejectionBody.getContentLength());
+        rejectionBody.writeTo(response.getOutputStream());
+    }
+
+
+    /**
+     * An {@link AsyncListener} that releases a {@link AdaptiveConcurrencyLimiter.Permit}
+     * once an asynchronous request finishes.
+     */
+    private static final class PermitReleasingListener implements AsyncListener {
+
+        /**
+         * The {@link AdaptiveConcurrencyLimiter.Permit} to be released.
+         */
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+
+        /**
+         * Constructor.
+         *
+         * @param permit The {@link AdaptiveConcurrencyLimiter.Permit} to be released.
+         */
+        private PermitReleasingListener(final AdaptiveConcurrencyLimiter.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            permit.releaseWithoutSample();
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            permit.releaseWithoutSample();
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // Listeners are removed when the request is dispatched again in asynchronous mode
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
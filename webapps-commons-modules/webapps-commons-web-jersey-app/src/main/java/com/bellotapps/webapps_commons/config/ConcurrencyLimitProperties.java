@@ -0,0 +1,279 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the adaptive concurrency limit.
+ *
+ * @see ConcurrencyLimitFilter
+ * @see com.bellotapps.webapps_commons.resilience.AdaptiveConcurrencyLimiter
+ */
+@ConfigurationProperties(prefix = ConcurrencyLimitProperties.PREFIX)
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Prefix for the "concurrency-limit" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".concurrency-limit";
+
+    /**
+     * Indicates whether the amount of in-flight requests must be limited.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The initial limit of in-flight requests.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * The minimum limit of in-flight requests.
+     */
+    private int minLimit = 10;
+
+    /**
+     * The maximum limit of in-flight requests.
+     */
+    private int maxLimit = 1000;
+
+    /**
+     * The ratio by which the latency can exceed the no-load latency without reducing the limit.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * The weight (greater than 0 and at most 1) of each new estimation in the limit.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * The duration (in milliseconds) of each latency sampling window.
+     */
+    private long window = 100;
+
+    /**
+     * The partitions that reserve a share of the limit, by name.
+     */
+    private Map<String, PartitionProperties> partitions = new LinkedHashMap<>();
+
+
+    /**
+     * Getter for the enabled flag.
+     *
+     * @return {@code true} if the amount of in-flight requests must be limited, or {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Getter for the initial limit.
+     *
+     * @return The initial limit of in-flight requests.
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Getter for the minimum limit.
+     *
+     * @return The minimum limit of in-flight requests.
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * Getter for the maximum limit.
+     *
+     * @return The maximum limit of in-flight requests.
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Getter for the RTT tolerance.
+     *
+     * @return The ratio by which the latency can exceed the no-load latency without reducing the limit.
+     */
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    /**
+     * Getter for the smoothing.
+     *
+     * @return The weight of each new estimation in the limit.
+     */
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * Getter for the window duration.
+     *
+     * @return The duration (in milliseconds) of each latency sampling window.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Getter for the partitions.
+     *
+     * @return The partitions that reserve a share of the limit, by name.
+     */
+    public Map<String, PartitionProperties> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Setter for the enabled flag.
+     *
+     * @param enabled {@code true} if the amount of in-flight requests must be limited, or {@code false} otherwise.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Setter for the initial limit.
+     *
+     * @param initialLimit The initial limit of in-flight requests.
+     */
+    public void setInitialLimit(final int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    /**
+     * Setter for the minimum limit.
+     *
+     * @param minLimit The minimum limit of in-flight requests.
+     */
+    public void setMinLimit(final int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * Setter for the maximum limit.
+     *
+     * @param maxLimit The maximum limit of in-flight requests.
+     */
+    public void setMaxLimit(final int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Setter for the RTT tolerance.
+     *
+     * @param rttTolerance The ratio by which the latency can exceed the no-load latency without reducing the limit.
+     */
+    public void setRttTolerance(final double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    /**
+     * Setter for the smoothing.
+     *
+     * @param smoothing The weight of each new estimation in the limit.
+     */
+    public void setSmoothing(final double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Setter for the window duration.
+     *
+     * @param window The duration (in milliseconds) of each latency sampling window.
+     */
+    public void setWindow(final long window) {
+        this.window = window;
+    }
+
+    /**
+     * Setter for the partitions.
+     *
+     * @param partitions The partitions that reserve a share of the limit, by name.
+     */
+    public void setPartitions(final Map<String, PartitionProperties> partitions) {
+        this.partitions = partitions;
+    }
+
+
+    /**
+     * Configuration properties for a partition of requests.
+     */
+    public static final class PartitionProperties {
+
+        /**
+         * The path prefixes of the requests of the partition.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * The share of the limit (greater than 0 and at most 1) reserved by the partition.
+         */
+        private double reservedShare = 0.1;
+
+
+        /**
+         * Getter for the paths.
+         *
+         * @return The path prefixes of the requests of the partition.
+         */
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        /**
+         * Getter for the reserved share.
+         *
+         * @return The share of the limit reserved by the partition.
+         */
+        public double getReservedShare() {
+            return reservedShare;
+        }
+
+        /**
+         * Setter for the paths.
+         *
+         * @param paths The path prefixes of the requests of the partition.
+         */
+        public void setPaths(final List<String> paths) {
+            this.paths = paths;
+        }
+
+        /**
+         * Setter for the reserved share.
+         *
+         * @param reservedShare The share of the limit reserved by the partition.
+         */
+        public void setReservedShare(final double reservedShare) {
+            this.reservedShare = reservedShare;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.resilience.CircuitBreaker;
+import com.bellotapps.webapps_commons.resilience.CircuitBreakerOpenException;
+import com.bellotapps.webapps_commons.resilience.Deadline;
+import com.bellotapps.webapps_commons.resilience.DeadlineExceededException;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+
+/**
+ * A bean post-processor that protects the beans annotated with {@link Repository} with a {@link CircuitBreaker}
+ * (in the same way the {@code PersistenceExceptionTranslationPostProcessor} translates their exceptions).
+ * <p>
+ * Calls to repositories are short-circuited with a {@link CircuitBreakerOpenException} while the breaker is open
+ * (i.e instead of letting them wait for the database to time out), so only the requests that access the database
+ * are rejected. The outcome of each permitted call is reported to the breaker: calls failing because the database
+ * is unreachable or overloaded (i.e with a transient, recoverable or connection related {@link java.sql.SQLException}
+ * in their causes chain) are failures, while the rest (including those failing with constraint violations,
+ * which are the client's fault) are successes.
+ * <p>
+ * Calls are not performed once the current {@link Deadline} has expired (they are aborted with a
+ * {@link DeadlineExceededException} instead, which is not reported to the breaker). The remaining budget is available
+ * to repositories through {@link Deadline#currentQueryTimeoutSeconds()} (e.g to set their query timeouts).
+ *
+ * @see CircuitBreakerProperties
+ */
+public class DatabaseCircuitBreakerPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    /**
+     * Constructor.
+     *
+     * @param circuitBreaker The {@link CircuitBreaker} protecting the database.
+     */
+    public DatabaseCircuitBreakerPostProcessor(final CircuitBreaker circuitBreaker) {
+        Assert.notNull(circuitBreaker, "The circuit breaker must not be null");
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true),
+                new CircuitBreakerInterceptor(circuitBreaker));
+        // Calls must be short-circuited before being translated, opening transactions, etc.
+        setBeforeExistingAdvisors(true);
+    }
+
+
+    /**
+     * Indicates whether the given {@code throwable} signals that the database is unreachable or overloaded.
+     *
+     * @param throwable The {@link Throwable} thrown by a repository.
+     * @return {@code true} if the database is failing, or {@code false} otherwise.
+     */
+    private static boolean isDatabaseFailure(final Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof SQLTransientException
+                    || current instanceof SQLRecoverableException
+                    || current instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The {@link MethodInterceptor} that protects the repositories' methods.
+     */
+    private static final class CircuitBreakerInterceptor implements MethodInterceptor {
+
+        /**
+         * The {@link CircuitBreaker} protecting the database.
+         */
+        private final CircuitBreaker circuitBreaker;
+
+        /**
+         * Constructor.
+         *
+         * @param circuitBreaker The {@link CircuitBreaker} protecting the database.
+         */
+        private CircuitBreakerInterceptor(final CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        @Override
+        public Object invoke(final MethodInvocation invocation) throws Throwable {
+            // Nobody is waiting for the result of calls performed after the deadline
+            Deadline.checkCurrent();
+            final var permission = circuitBreaker.tryAcquirePermission();
+            if (permission == CircuitBreaker.NOT_PERMITTED) {
+                throw CircuitBreakerOpenException.of(circuitBreaker);
+            }
+            try {
+                final var result = invocation.proceed();
+                circuitBreaker.recordSuccess(permission);
+                return result;
+            } catch (final Throwable e) {
+                if (isDatabaseFailure(e)) {
+                    circuitBreaker.recordFailure(permission);
+                } else {
+                    circuitBreaker.recordSuccess(permission);
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.resilience.Deadline;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.GenericFilterBean;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * A filter that removes the current {@link Deadline} of the container thread once it finishes serving a request.
+ * <p>
+ * The {@link DeadlineFilter} sets the deadline in the container thread, but when resource methods are executed
+ * asynchronously (e.g managed async ones), its response filter runs in the executing thread,
+ * so the container thread would keep a stale deadline (which would abort, for instance,
+ * the work performed by other filters for the next request it serves).
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class DeadlineClearingFilter extends GenericFilterBean {
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.setCurrent(null);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.resilience.Deadline;
+import com.bellotapps.webapps_commons.resilience.DeadlineExceededException;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Jersey filter that sets the {@link Deadline} of each request as the current deadline
+ * of the thread serving it (see {@link DeadlineTaskDecorator} for resource methods executed by other threads,
+ * and {@link DeadlineClearingFilter}, which removes it from the container thread once the request is served).
+ * The timeout is taken from the timeout header sent by the client (capped to the configured maximum),
+ * or else from the {@link RequestTimeout} of the matched resource method (or of its controller),
+ * or else from the configured default timeout (if any).
+ * <p>
+ * Requests whose deadline already expired when they reach this filter are aborted with
+ * a {@link DeadlineExceededException} (which is handled by the {@link ThrowableMapper}),
+ * as are the ones whose repositories or downstream calls check the deadline after it expires.
+ *
+ * @see DeadlineProperties
+ */
+@Priority(Priorities.AUTHENTICATION - 2)
+public class DeadlineFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * The name of the header in which clients send their timeout (in milliseconds).
+     */
+    private final String header;
+
+    /**
+     * The timeout (in milliseconds) of requests without any other timeout (zero or negative means none).
+     */
+    private final long defaultTimeout;
+
+    /**
+     * The maximum timeout (in milliseconds) clients can ask for (zero or negative means no maximum).
+     */
+    private final long maxTimeout;
+
+    /**
+     * The timeouts already resolved, by resource method
+     * (which avoids looking for the {@link RequestTimeout} annotation on each request).
+     */
+    private final ConcurrentMap<ResourceMethod, OptionalLong> timeouts;
+
+
+    /**
+     * Constructor.
+     *
+     * @param header         The name of the header in which clients send their timeout (in milliseconds).
+     * @param defaultTimeout The timeout (in milliseconds) of requests without any other timeout
+     *                       (zero or negative means none).
+     * @param maxTimeout     The maximum timeout (in milliseconds) clients can ask for
+     *                       (zero or negative means no maximum).
+     */
+    public DeadlineFilter(final String header, final long defaultTimeout, final long maxTimeout) {
+        Assert.hasText(header, "The header must have text");
+        this.header = header;
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        this.timeouts = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        var timeout = clientTimeout(requestContext);
+        if (timeout.isEmpty()) {
+            timeout = resourceMethodTimeout(requestContext);
+        }
+        if (timeout.isEmpty()) {
+            // The thread must not hold the deadline of a previous request
+            Deadline.setCurrent(null);
+            return;
+        }
+        final var deadline = Deadline.afterMillis(timeout.getAsLong());
+        Deadline.setCurrent(deadline);
+        deadline.check();
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        Deadline.setCurrent(null);
+    }
+
+    /**
+     * Returns the timeout sent by the client in the timeout header, capped to the maximum timeout.
+     * Malformed or negative values are ignored.
+     *
+     * @param requestContext The {@link ContainerRequestContext}.
+     * @return An {@link OptionalLong} containing the timeout (in milliseconds), or empty if there is none.
+     */
+    private OptionalLong clientTimeout(final ContainerRequestContext requestContext) {
+        final var value = requestContext.getHeaderString(header);
+        if (!StringUtils.hasText(value)) {
+            return OptionalLong.empty();
+        }
+        try {
+            final var timeout = Long.parseLong(value.trim());
+            if (timeout < 0) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(maxTimeout > 0 ? Math.min(timeout, maxTimeout) : timeout);
+        } catch (final NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Returns the timeout of the matched resource method (i.e the one set in its {@link RequestTimeout},
+     * or the default timeout if it has none).
+     *
+     * @param requestContext The {@link ContainerRequestContext}.
+     * @return An {@link OptionalLong} containing the timeout (in milliseconds), or empty if there is none.
+     */
+    private OptionalLong resourceMethodTimeout(final ContainerRequestContext requestContext) {
+        final var resourceMethod = requestContext instanceof ContainerRequest ?
+                ((ContainerRequest) requestContext).getUriInfo().getMatchedResourceMethod() : null;
+        if (resourceMethod == null) {
+            return defaultTimeout();
+        }
+        final var timeout = timeouts.get(resourceMethod);
+        return timeout != null ? timeout : timeouts.computeIfAbsent(resourceMethod, this::resolveTimeout);
+    }
+
+    /**
+     * Resolves the timeout of the given {@code resourceMethod}.
+     *
+     * @param resourceMethod The {@link ResourceMethod}.
+     * @return An {@link OptionalLong} containing the timeout (in milliseconds), or empty if there is none.
+     */
+    private OptionalLong resolveTimeout(final ResourceMethod resourceMethod) {
+        final var invocable = resourceMethod.getInvocable();
+        return Optional.ofNullable(
+                AnnotatedElementUtils.findMergedAnnotation(invocable.getHandlingMethod(), RequestTimeout.class))
+                .or(() -> Optional.ofNullable(AnnotatedElementUtils
+                        .findMergedAnnotation(invocable.getHandler().getHandlerClass(), RequestTimeout.class)))
+                .map(requestTimeout -> requestTimeout.value() > 0 ?
+                        OptionalLong.of(requestTimeout.value()) : OptionalLong.empty())
+                .orElseGet(this::defaultTimeout);
+    }
+
+    /**
+     * @return An {@link OptionalLong} containing the default timeout (in milliseconds), or empty if there is none.
+     */
+    private OptionalLong defaultTimeout() {
+        return defaultTimeout > 0 ? OptionalLong.of(defaultTimeout) : OptionalLong.empty();
+    }
+}
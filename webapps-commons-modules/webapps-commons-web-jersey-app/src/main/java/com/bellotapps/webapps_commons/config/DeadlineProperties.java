@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the requests deadlines.
+ *
+ * @see DeadlineFilter
+ */
+@ConfigurationProperties(prefix = DeadlineProperties.PREFIX)
+public class DeadlineProperties {
+
+    /**
+     * Prefix for the "deadline" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".deadline";
+
+    /**
+     * Indicates whether requests deadlines are enabled.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The name of the header in which clients send their timeout (in milliseconds).
+     */
+    private String header = "X-Request-Timeout";
+
+    /**
+     * The timeout (in milliseconds) of requests to resource methods without a {@link RequestTimeout},
+     * when clients do not send their own timeout (zero or negative means no timeout).
+     */
+    private long defaultTimeout = 0;
+
+    /**
+     * The maximum timeout (in milliseconds) clients can ask for (zero or negative means no maximum).
+     */
+    private long maxTimeout = 0;
+
+
+    /**
+     * Getter for the enabled flag.
+     *
+     * @return {@code true} if requests deadlines are enabled, or {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Getter for the timeout header name.
+     *
+     * @return The name of the header in which clients send their timeout.
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Getter for the default timeout.
+     *
+     * @return The timeout (in milliseconds) of requests without any other timeout (zero or negative means none).
+     */
+    public long getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Getter for the maximum timeout.
+     *
+     * @return The maximum timeout (in milliseconds) clients can ask for (zero or negative means no maximum).
+     */
+    public long getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    /**
+     * Setter for the enabled flag.
+     *
+     * @param enabled {@code true} if requests deadlines are enabled, or {@code false} otherwise.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Setter for the timeout header name.
+     *
+     * @param header The name of the header in which clients send their timeout.
+     */
+    public void setHeader(final String header) {
+        this.header = header;
+    }
+
+    /**
+     * Setter for the default timeout.
+     *
+     * @param defaultTimeout The timeout (in milliseconds) of requests without any other timeout
+     *                       (zero or negative means none).
+     */
+    public void setDefaultTimeout(final long defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * Setter for the maximum timeout.
+     *
+     * @param maxTimeout The maximum timeout (in milliseconds) clients can ask for (zero or negative means no maximum).
+     */
+    public void setMaxTimeout(final long maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+}
@@ -20,7 +20,11 @@ package com.bellotapps.webapps_commons.config;
 import com.bellotapps.utils.error_handler.ErrorHandler;
 import com.bellotapps.utils.error_handler.ExceptionHandler;
 import com.bellotapps.utils.error_handler.ExceptionHandlerObject;
+import com.bellotapps.webapps_commons.core.StartupProfiler;
+import com.bellotapps.webapps_commons.core.StartupReport;
 import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.error_handling.ErrorHandlingMetrics;
+import com.bellotapps.webapps_commons.error_handling.ErrorHandlingMetricsConfigurer;
 import com.bellotapps.webapps_commons.error_handling.UncaughtExceptionHandlerFilter;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.annotation.AliasFor;
@@ -37,6 +41,9 @@ import java.lang.annotation.*;
  * @see ExceptionHandler
  * @see ErrorHandler
  * @see ExceptionHandlerObject
+ * @see ErrorHandlingMetrics
+ * @see ResourceMethodMetrics
+ * @see StartupReport
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
@@ -45,6 +52,7 @@ import java.lang.annotation.*;
 @Import(value = {
         JerseyApplicationConfigurer.class,
         ErrorHandlerConfigurer.class,
+        ErrorHandlingMetricsConfigurer.class,
 })
 public @interface EnableJerseyApplication {
 
@@ -92,4 +100,31 @@ public @interface EnableJerseyApplication {
      * @return The classes whose packages must be search for {@link ExceptionHandler}s.
      */
     Class<?>[] errorHandlersPackagesClasses() default {};
+
+    /**
+     * Path in which a snapshot of the {@link ErrorHandlingMetrics} is exposed (as a JSON, through a GET request).
+     * If empty (the default), the snapshot is not exposed.
+     *
+     * @return The path in which the error handling metrics are exposed.
+     */
+    String errorHandlingMetricsPath() default "";
+
+    /**
+     * Path in which a snapshot of the {@link ResourceMethodMetrics} is exposed (as a JSON, through a GET request).
+     * POST requests to the same path take an interval snapshot (i.e metrics are reset).
+     * If empty (the default), the snapshot is not exposed (metrics are recorded anyway).
+     *
+     * @return The path in which the resource method metrics are exposed.
+     */
+    String resourceMethodMetricsPath() default "";
+
+    /**
+     * Path in which the {@link StartupReport} is exposed (as a JSON, through a GET request).
+     * If empty (the default), the report is not exposed.
+     * Note that the report is only built if startup profiling is enabled.
+     *
+     * @return The path in which the startup report is exposed.
+     * @see StartupProfiler
+     */
+    String startupReportPath() default "";
 }
@@ -17,35 +17,94 @@
 package com.bellotapps.webapps_commons.config;
 
 import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.webapps_commons.core.WarmUpTask;
 import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.error_handling.DispatchingErrorHandler;
+import com.bellotapps.webapps_commons.error_handling.ExceptionHandlerDispatchTable;
+import com.bellotapps.webapps_commons.error_handling.ErrorHandlingMetrics;
 import com.bellotapps.webapps_commons.error_handling.UncaughtExceptionHandlerFilter;
+import com.bellotapps.webapps_commons.resilience.AdaptiveConcurrencyLimiter;
+import com.bellotapps.webapps_commons.resilience.BulkheadFactory;
+import com.bellotapps.webapps_commons.resilience.CircuitBreaker;
+import com.bellotapps.webapps_commons.web.dtos.api_errors.ErrorDtosWarmUpTask;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportAware;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Configuration class for a Jersey application, which includes a {@link JerseyConfig} bean,
  * an {@link ObjectMapper} bean, a {@link ThrowableMapper} bean, and an {@link UncaughtExceptionHandlerFilter} bean.
+ * Both the {@link ThrowableMapper} and the {@link UncaughtExceptionHandlerFilter} use a {@link DispatchingErrorHandler}
+ * that wraps the {@link ErrorHandler} bean, backed by the {@link ExceptionHandlerDispatchTable} bean
+ * (which is built once, and shared with any other component that dispatches exceptions).
+ * If the database circuit breaker is enabled, a {@link DatabaseCircuitBreakerPostProcessor} bean is also included,
+ * which protects the repositories with the database {@link CircuitBreaker} bean.
+ * A {@link ResourceMethodMetrics} bean is also included, in which a {@link ResourceMethodMetricsFilter}
+ * (registered in the {@link JerseyConfig}) records the latency of each resource method.
+ * A {@link CoalescingFeature} bean is also included (and registered in the {@link JerseyConfig}),
+ * which coalesces concurrent identical requests to the resource methods annotated with {@link Coalesce}.
+ * An {@link ErrorDtosWarmUpTask} is also included (executed only if warm-up is enabled).
+ * A {@link ConcurrencyLimitFilter} bean is also included if the adaptive concurrency limit is enabled.
+ * If requests deadlines are enabled, a {@link DeadlineFilter} bean (registered in the {@link JerseyConfig}),
+ * a {@link DeadlineClearingFilter} bean and a {@link DeadlineTaskDecorator} bean are also included.
+ * If virtual threads execution is enabled, a {@link ManagedAsyncExecutorServiceProvider} bean is also included
+ * (and registered in the {@link JerseyConfig}), which applies the {@link TaskDecorator} beans to resource methods.
+ *
+ * @see CircuitBreakerProperties
+ * @see RequestExecutionProperties
+ * @see ConcurrencyLimitProperties
+ * @see DeadlineProperties
+ * @see CoalescingProperties
  */
 @Configuration
-public class JerseyApplicationConfigurer implements ImportAware, InitializingBean {
+@EnableConfigurationProperties({
+        CircuitBreakerProperties.class,
+        BulkheadProperties.class,
+        RequestExecutionProperties.class,
+        ConcurrencyLimitProperties.class,
+        DeadlineProperties.class,
+        CoalescingProperties.class,
+})
+public class JerseyApplicationConfigurer
+        implements ImportAware, InitializingBean, BeanFactoryAware, BeanClassLoaderAware {
 
     /**
      * The {@link Logger} object.
      */
     private final static Logger LOGGER = LoggerFactory.getLogger(JerseyApplicationConfigurer.class);
 
+    /**
+     * The name of the service protected by the {@link AdaptiveConcurrencyLimiter} (i.e this application).
+     */
+    private static final String CONCURRENCY_LIMITER_NAME = "application";
+
+    /**
+     * The name of the database {@link CircuitBreaker}.
+     */
+    private static final String DATABASE_CIRCUIT_BREAKER_NAME = "database";
+
     /**
      * The {@link AnnotationMetadata} from where packages names will be taken for Jersey Providers package scan.
      */
@@ -56,6 +115,36 @@ public class JerseyApplicationConfigurer implements ImportAware, InitializingBea
      */
     private String[] jerseyProviderPackages;
 
+    /**
+     * The packages to be scanned in order to search for exception handlers.
+     */
+    private String[] errorHandlersPackages;
+
+    /**
+     * The path in which the error handling metrics are exposed (empty if they must not be exposed).
+     */
+    private String errorHandlingMetricsPath;
+
+    /**
+     * The path in which the resource method metrics are exposed (empty if they must not be exposed).
+     */
+    private String resourceMethodMetricsPath;
+
+    /**
+     * The path in which the startup report is exposed (empty if it must not be exposed).
+     */
+    private String startupReportPath;
+
+    /**
+     * The {@link BeanFactory} used to instantiate the exception handlers.
+     */
+    private BeanFactory beanFactory;
+
+    /**
+     * The {@link ClassLoader} used to load the exception handlers.
+     */
+    private ClassLoader classLoader;
+
     /**
      * Flag indicating if this configuration class is initialized.
      */
@@ -66,6 +155,10 @@ public class JerseyApplicationConfigurer implements ImportAware, InitializingBea
      */
     public JerseyApplicationConfigurer() {
         this.jerseyProviderPackages = null;
+        this.errorHandlersPackages = null;
+        this.errorHandlingMetricsPath = null;
+        this.resourceMethodMetricsPath = null;
+        this.startupReportPath = null;
         this.initialized = false;
     }
 
@@ -74,6 +167,16 @@ public class JerseyApplicationConfigurer implements ImportAware, InitializingBea
         this.importMetadata = importMetadata;
     }
 
+    @Override
+    public void setBeanFactory(final BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void setBeanClassLoader(final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
         initialize();
@@ -86,11 +189,30 @@ public class JerseyApplicationConfigurer implements ImportAware, InitializingBea
 
     @Bean
     @ConditionalOnMissingBean
-    public JerseyConfig jerseyConfig(final ApiObjectMapper apiObjectMapper, final ThrowableMapper throwableMapper) {
+    public JerseyConfig jerseyConfig(final ApiObjectMapper apiObjectMapper, final ThrowableMapper throwableMapper,
+                                     final ErrorHandlingMetrics errorHandlingMetrics,
+                                     final ResourceMethodMetrics resourceMethodMetrics,
+                                     final CoalescingFeature coalescingFeature,
+                                     final ObjectProvider<DeadlineFilter> deadlineFilter,
+                                     final ObjectProvider<ManagedAsyncExecutorServiceProvider> executorProvider) {
         if (!initialized || jerseyProviderPackages == null) {
             throw new IllegalStateException("The JerseyApplicationConfigurer was not correctly initialized");
         }
-        return new JerseyConfig(apiObjectMapper, throwableMapper, jerseyProviderPackages);
+        final var jerseyConfig = new JerseyConfig(apiObjectMapper, throwableMapper, jerseyProviderPackages);
+        if (StringUtils.hasText(errorHandlingMetricsPath)) {
+            jerseyConfig.registerErrorHandlingMetricsResource(errorHandlingMetricsPath, errorHandlingMetrics);
+        }
+        jerseyConfig.registerResourceMethodMetrics(resourceMethodMetrics);
+        jerseyConfig.register(coalescingFeature);
+        if (StringUtils.hasText(resourceMethodMetricsPath)) {
+            jerseyConfig.registerResourceMethodMetricsResource(resourceMethodMetricsPath, resourceMethodMetrics);
+        }
+        if (StringUtils.hasText(startupReportPath)) {
+            jerseyConfig.registerStartupReportResource(startupReportPath);
+        }
+        deadlineFilter.ifAvailable(jerseyConfig::register);
+        executorProvider.ifAvailable(jerseyConfig::registerManagedAsyncExecution);
+        return jerseyConfig;
     }
 
     @Bean
@@ -104,15 +226,127 @@ public class JerseyApplicationConfigurer implements ImportAware, InitializingBea
 
     @Bean
     @ConditionalOnMissingBean
-    public ThrowableMapper throwableMapper(final ErrorHandler errorHandler) {
-        return new ThrowableMapper(errorHandler);
+    public ResourceMethodMetrics resourceMethodMetrics() {
+        return new ResourceMethodMetrics();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CoalescingFeature coalescingFeature(final CoalescingProperties properties) {
+        return new CoalescingFeature(properties.getMaxFlights(), properties.getMaxBodySize(), properties.getMaxWait());
+    }
+
+    @Bean
+    public WarmUpTask errorDtosWarmUpTask(final ApiObjectMapper apiObjectMapper) {
+        return new ErrorDtosWarmUpTask(apiObjectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionHandlerDispatchTable exceptionHandlerDispatchTable() {
+        if (!initialized || errorHandlersPackages == null) {
+            throw new IllegalStateException("The JerseyApplicationConfigurer was not correctly initialized");
+        }
+        return ExceptionHandlerDispatchTable.scanning(beanFactory, classLoader, errorHandlersPackages);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ThrowableMapper throwableMapper(final ErrorHandler errorHandler,
+                                           final ExceptionHandlerDispatchTable dispatchTable,
+                                           final ApiObjectMapper apiObjectMapper) {
+        return new ThrowableMapper(DispatchingErrorHandler.wrap(errorHandler, dispatchTable), apiObjectMapper);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public UncaughtExceptionHandlerFilter uncaughtExceptionHandlerFilter(final ErrorHandler errorHandler,
-                                                                         final ApiObjectMapper apiObjectMapper) {
-        return new UncaughtExceptionHandlerFilter(errorHandler, apiObjectMapper);
+    public UncaughtExceptionHandlerFilter uncaughtExceptionHandlerFilter(
+            final ErrorHandler errorHandler,
+            final ExceptionHandlerDispatchTable dispatchTable,
+            final ApiObjectMapper apiObjectMapper) {
+        return new UncaughtExceptionHandlerFilter(DispatchingErrorHandler.wrap(errorHandler, dispatchTable),
+                apiObjectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = CircuitBreakerProperties.PREFIX, name = "enabled", havingValue = "true")
+    public static CircuitBreaker databaseCircuitBreaker(final CircuitBreakerProperties properties) {
+        return newCircuitBreaker(DATABASE_CIRCUIT_BREAKER_NAME, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = CircuitBreakerProperties.PREFIX, name = "enabled", havingValue = "true")
+    public static DatabaseCircuitBreakerPostProcessor databaseCircuitBreakerPostProcessor(
+            final CircuitBreaker databaseCircuitBreaker) {
+        // Static, as post-processors are created before any other bean
+        return new DatabaseCircuitBreakerPostProcessor(databaseCircuitBreaker);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BulkheadFactory bulkheadFactory(final BulkheadProperties bulkheadProperties,
+                                           final CircuitBreakerProperties circuitBreakerProperties) {
+        return new BulkheadFactory(bulkheadProperties.getMaxConcurrentCalls(),
+                bulkheadProperties.getSlowCallThreshold(),
+                name -> newCircuitBreaker(name, circuitBreakerProperties));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = ConcurrencyLimitProperties.PREFIX, name = "enabled", havingValue = "true")
+    public ConcurrencyLimitFilter concurrencyLimitFilter(final ConcurrencyLimitProperties properties,
+                                                         final ErrorHandler errorHandler,
+                                                         final ExceptionHandlerDispatchTable dispatchTable,
+                                                         final ApiObjectMapper apiObjectMapper) {
+        final var reservedShares = new HashMap<String, Double>();
+        final var partitionsByPathPrefix = new HashMap<String, String>();
+        properties.getPartitions().forEach((name, partition) -> {
+            reservedShares.put(name, partition.getReservedShare());
+            partition.getPaths().forEach(path -> partitionsByPathPrefix.put(path, name));
+        });
+        final var limiter = new AdaptiveConcurrencyLimiter(CONCURRENCY_LIMITER_NAME,
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getRttTolerance(),
+                properties.getSmoothing(),
+                properties.getWindow(),
+                reservedShares);
+        return new ConcurrencyLimitFilter(limiter, partitionsByPathPrefix,
+                DispatchingErrorHandler.wrap(errorHandler, dispatchTable), apiObjectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = DeadlineProperties.PREFIX, name = "enabled", havingValue = "true")
+    public DeadlineFilter deadlineFilter(final DeadlineProperties properties) {
+        return new DeadlineFilter(properties.getHeader(), properties.getDefaultTimeout(), properties.getMaxTimeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = DeadlineProperties.PREFIX, name = "enabled", havingValue = "true")
+    public DeadlineClearingFilter deadlineClearingFilter() {
+        return new DeadlineClearingFilter();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = DeadlineProperties.PREFIX, name = "enabled", havingValue = "true")
+    public DeadlineTaskDecorator deadlineTaskDecorator() {
+        return new DeadlineTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = RequestExecutionProperties.PREFIX, name = "virtual-threads", havingValue = "true")
+    public ManagedAsyncExecutorServiceProvider managedAsyncExecutorServiceProvider(
+            final RequestExecutionProperties properties,
+            final ObjectProvider<TaskDecorator> taskDecorators) {
+        return new ManagedAsyncExecutorServiceProvider(properties.getFallbackPoolSize(),
+                properties.getFallbackQueueCapacity(), taskDecorators.orderedStream().collect(Collectors.toList()));
     }
 
 
@@ -133,6 +367,10 @@ public class JerseyApplicationConfigurer implements ImportAware, InitializingBea
                 .orElseThrow(IllegalArgumentException::new);
         this.jerseyProviderPackages = getPackages(enableJerseyApplication);
         LOGGER.debug("Will scan the following packages for Providers: {}", Arrays.asList(this.jerseyProviderPackages));
+        this.errorHandlersPackages = getErrorHandlersPackages(enableJerseyApplication);
+        this.errorHandlingMetricsPath = enableJerseyApplication.errorHandlingMetricsPath();
+        this.resourceMethodMetricsPath = enableJerseyApplication.resourceMethodMetricsPath();
+        this.startupReportPath = enableJerseyApplication.startupReportPath();
 
         this.initialized = true;
     }
@@ -151,4 +389,36 @@ public class JerseyApplicationConfigurer implements ImportAware, InitializingBea
                 .map(Package::getName);
         return Stream.concat(basePackagesStream, basePackageClassesStream).toArray(String[]::new);
     }
+
+    /**
+     * Returns an array of packages names where exception handlers must be search for
+     * (i.e the same packages used to create the {@link ErrorHandler} by the {@link ErrorHandlerConfigurer}).
+     *
+     * @param enableJerseyApplication The {@link EnableJerseyApplication} annotation
+     *                                from where packages names must be taken from.
+     * @return The array of packages names.
+     */
+    private String[] getErrorHandlersPackages(final EnableJerseyApplication enableJerseyApplication) {
+        final var basePackagesStream = Arrays.stream(enableJerseyApplication.errorHandlersPackages());
+        final var basePackageClassesStream = Arrays.stream(enableJerseyApplication.errorHandlersPackagesClasses())
+                .map(Class::getPackage)
+                .map(Package::getName);
+        return Stream.concat(basePackagesStream, basePackageClassesStream).distinct().toArray(String[]::new);
+    }
+
+    /**
+     * Creates a new {@link CircuitBreaker} with the given {@code name} and {@code properties}.
+     *
+     * @param name       The name of the circuit breaker.
+     * @param properties The {@link CircuitBreakerProperties} with the circuit breaker's settings.
+     * @return The created {@link CircuitBreaker}.
+     */
+    private static CircuitBreaker newCircuitBreaker(final String name, final CircuitBreakerProperties properties) {
+        return new CircuitBreaker(name,
+                properties.getFailureRateThreshold(),
+                properties.getMinimumCalls(),
+                properties.getWindow(),
+                properties.getOpenDuration(),
+                properties.getHalfOpenProbes());
+    }
 }
@@ -16,10 +16,15 @@
 
 package com.bellotapps.webapps_commons.config;
 
+import com.bellotapps.webapps_commons.core.ComponentIndex;
+import com.bellotapps.webapps_commons.core.StartupProfiler;
+import com.bellotapps.webapps_commons.core.StartupReport;
+import com.bellotapps.webapps_commons.error_handling.ErrorHandlingMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -27,10 +32,13 @@ import org.springframework.context.annotation.ClassPathScanningCandidateComponen
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.util.ClassUtils;
 
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.Provider;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -52,31 +60,108 @@ public class JerseyConfig extends ResourceConfig {
     public JerseyConfig(final ObjectMapper objectMapper,
                         final ThrowableMapper throwableMapper, final String... packages) {
         // Register packages with resources and providers
-        registerPackages(packages);
+        try (final var ignored = StartupProfiler.begin(StartupProfiler.SCAN, "JerseyConfig#registerPackages")) {
+            registerPackages(packages);
+        }
         // Register ObjectMapper which will be used to serialize/deserialize JSON
         register(new JacksonJaxbJsonProvider(objectMapper, JacksonJaxbJsonProvider.DEFAULT_ANNOTATIONS));
         // Register the ThrowableMapper that will wire the exception into the error handler
         register(throwableMapper);
+        // Register the writer for the bodies pre-rendered by the ThrowableMapper
+        register(RenderedBodyMessageBodyWriter.class);
         // Disable Bean Validation
         property(ServerProperties.BV_FEATURE_DISABLE, true);
     }
 
+    /**
+     * Registers a resource that exposes a snapshot of the given {@code metrics}, in JSON format,
+     * through GET requests to the given {@code path}.
+     *
+     * @param path    The path of the resource.
+     * @param metrics The {@link ErrorHandlingMetrics} to be exposed.
+     */
+    public void registerErrorHandlingMetricsResource(final String path, final ErrorHandlingMetrics metrics) {
+        final var resourceBuilder = Resource.builder(path);
+        resourceBuilder.addMethod(HttpMethod.GET)
+                .produces(MediaType.APPLICATION_JSON_TYPE)
+                .handledBy(containerRequestContext -> metrics.snapshot());
+        registerResources(resourceBuilder.build());
+    }
+
+    /**
+     * Registers the {@link ResourceMethodMetricsFilter}, which records the latency of each resource method
+     * in the given {@code metrics}.
+     *
+     * @param metrics The {@link ResourceMethodMetrics} in which latencies are recorded.
+     */
+    public void registerResourceMethodMetrics(final ResourceMethodMetrics metrics) {
+        register(new ResourceMethodMetricsFilter(metrics));
+    }
+
+    /**
+     * Registers a resource that exposes a snapshot of the given {@code metrics}, in JSON format,
+     * through GET requests to the given {@code path}.
+     * POST requests to the same {@code path} take an interval snapshot (i.e metrics are reset),
+     * as they modify the state of the metrics.
+     *
+     * @param path    The path of the resource.
+     * @param metrics The {@link ResourceMethodMetrics} to be exposed.
+     */
+    public void registerResourceMethodMetricsResource(final String path, final ResourceMethodMetrics metrics) {
+        final var resourceBuilder = Resource.builder(path);
+        resourceBuilder.addMethod(HttpMethod.GET)
+                .produces(MediaType.APPLICATION_JSON_TYPE)
+                .handledBy(containerRequestContext -> metrics.snapshot());
+        resourceBuilder.addMethod(HttpMethod.POST)
+                .produces(MediaType.APPLICATION_JSON_TYPE)
+                .handledBy(containerRequestContext -> metrics.snapshotAndReset());
+        registerResources(resourceBuilder.build());
+    }
+
+    /**
+     * Registers a resource that exposes the {@link StartupReport} built by the {@link StartupProfiler},
+     * in JSON format, through GET requests to the given {@code path}.
+     * If startup profiling is not enabled, there is no report, and requests get an empty response.
+     *
+     * @param path The path of the resource.
+     */
+    public void registerStartupReportResource(final String path) {
+        final var resourceBuilder = Resource.builder(path);
+        resourceBuilder.addMethod(HttpMethod.GET)
+                .produces(MediaType.APPLICATION_JSON_TYPE)
+                .handledBy(containerRequestContext -> StartupProfiler.getReport().orElse(null));
+        registerResources(resourceBuilder.build());
+    }
+
+    /**
+     * Makes resource methods be executed by the given {@link ManagedAsyncExecutorServiceProvider},
+     * instead of by the container threads.
+     *
+     * @param executorServiceProvider The {@link ManagedAsyncExecutorServiceProvider}.
+     */
+    public void registerManagedAsyncExecution(final ManagedAsyncExecutorServiceProvider executorServiceProvider) {
+        register(executorServiceProvider);
+        register(new ManagedAsyncModelProcessor());
+    }
+
     /**
      * Registers the classes annotated with the {@link Provider} annotation in the given {@code packages}.
      * This allows package scanning with Jersey (as currently not supported by library).
+     * Classes are taken from the {@link ComponentIndex} for the packages it is authoritative for,
+     * scanning the rest of them (e.g packages in jars built without the index processor).
      *
      * @param packages The packages containing providers.
      */
     private void registerPackages(final String... packages) {
-        // First, initialize the scanner that will be used to scan the packages.
+        // First, initialize the scanner that will be used to scan the packages not included in the index.
         final var scanner = new ClassPathScanningCandidateComponentProvider(false);
         scanner.addIncludeFilter(new AnnotationTypeFilter(Provider.class));
+        final var index = ComponentIndex.load(this.getClassLoader());
 
         // Then search for classes that are providers in the given packages.
         final var classesNames = Arrays.stream(packages)
-                .map(scanner::findCandidateComponents)
+                .map(basePackage -> findProviders(basePackage, index, scanner))
                 .flatMap(Collection::stream)
-                .map(BeanDefinition::getBeanClassName)
                 .collect(Collectors.toList());
 
         // Some class names might be null (according to the documentation).
@@ -87,7 +172,30 @@ public class JerseyConfig extends ResourceConfig {
         // Finally, register those classes that are not null
         classesNames.stream()
                 .filter(Objects::nonNull)
+                .distinct()
                 .map(className -> ClassUtils.resolveClassName(className, this.getClassLoader()))
                 .forEach(this::register);
     }
+
+    /**
+     * Finds the names of the provider classes in the given {@code basePackage},
+     * using the given {@code index} if it is authoritative for the package, or the {@code scanner} otherwise.
+     *
+     * @param basePackage The package containing providers.
+     * @param index       An {@link Optional} holding the {@link ComponentIndex} (if there is one).
+     * @param scanner     The {@link ClassPathScanningCandidateComponentProvider} used to scan the package.
+     * @return The names of the provider classes (some of them might be null if scanning was performed).
+     */
+    private static Collection<String> findProviders(final String basePackage,
+                                                    final Optional<ComponentIndex> index,
+                                                    final ClassPathScanningCandidateComponentProvider scanner) {
+        final var authoritativeIndex = index.filter(componentIndex -> componentIndex.isAuthoritativeFor(basePackage));
+        if (authoritativeIndex.isPresent()) {
+            LOGGER.debug("Using the component index for providers in package {}", basePackage);
+            return authoritativeIndex.get().getCandidateTypes(basePackage, ComponentIndex.PROVIDER);
+        }
+        return scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .collect(Collectors.toList());
+    }
 }
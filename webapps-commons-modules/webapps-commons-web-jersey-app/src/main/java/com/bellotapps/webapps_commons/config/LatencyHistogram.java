@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, log-linear latency histogram (similar to an HDR histogram).
+ * Each power of two is split into {@link #SUB_BUCKETS} linear buckets, so recorded values are kept
+ * with a relative error lower than {@code 1 / SUB_BUCKETS} (i.e about 3%), using a fixed amount of memory.
+ * <p>
+ * Recording only increments atomic counters, so it never blocks the request threads.
+ * Snapshots can be cumulative ({@link #snapshot()}), or by interval ({@link #snapshotAndReset()}),
+ * in which case each recorded value is included in exactly one interval snapshot.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Amount of bits used to index the linear buckets of each power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Amount of linear buckets of each power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Total amount of buckets (i.e enough to index any non-negative {@code long}).
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The percentiles included in the snapshots.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * The buckets counts.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * Total time (in nanoseconds) of the recorded values.
+     */
+    private final LongAdder totalNanos;
+
+    /**
+     * Max. time (in nanoseconds) of the recorded values.
+     */
+    private final LongAccumulator maxNanos;
+
+
+    /**
+     * Constructor.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+
+    /**
+     * Records a value.
+     *
+     * @param nanos The time (in nanoseconds) to be recorded. Negative values are recorded as zero.
+     */
+    public void record(final long nanos) {
+        final var value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Takes a snapshot of all the values recorded since this histogram was created (or last reset).
+     * Note that, as values are recorded concurrently, the snapshot might not be consistent among its values.
+     *
+     * @return The {@link Snapshot}.
+     */
+    public Snapshot snapshot() {
+        final var snapshot = new long[BUCKETS];
+        for (var i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return Snapshot.of(snapshot, totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Takes a snapshot of the values recorded since this histogram was created (or last reset), and resets it.
+     * Each bucket is reset atomically, so values recorded concurrently are included in this snapshot or in the next.
+     *
+     * @return The {@link Snapshot}.
+     */
+    public Snapshot snapshotAndReset() {
+        final var snapshot = new long[BUCKETS];
+        for (var i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.getAndSet(i, 0);
+        }
+        return Snapshot.of(snapshot, totalNanos.sumThenReset(), maxNanos.getThenReset());
+    }
+
+
+    /**
+     * Returns the index of the bucket in which the given {@code value} is counted.
+     *
+     * @param value The value (non-negative).
+     * @return The index of the bucket.
+     */
+    /* package */
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // The most significant bit selects the power of two, and the following bits, the linear bucket
+        final var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns the highest value counted in the bucket with the given {@code index}.
+     *
+     * @param index The index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    /* package */
+    static long highestValueOf(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final var shift = index / SUB_BUCKETS - 1;
+        final var subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1L) << shift) - 1;
+    }
+
+
+    /**
+     * A snapshot of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        /**
+         * Amount of recorded values.
+         */
+        private final long count;
+
+        /**
+         * Mean time (in nanoseconds) of the recorded values.
+         */
+        private final double meanNanos;
+
+        /**
+         * Max. time (in nanoseconds) of the recorded values.
+         */
+        private final long maxNanos;
+
+        /**
+         * Time (in nanoseconds) of the 50th, 90th, 99th and 99.9th percentiles.
+         */
+        private final long[] percentilesNanos;
+
+        /**
+         * Constructor.
+         *
+         * @param count            Amount of recorded values.
+         * @param meanNanos        Mean time (in nanoseconds) of the recorded values.
+         * @param maxNanos         Max. time (in nanoseconds) of the recorded values.
+         * @param percentilesNanos Time (in nanoseconds) of the 50th, 90th, 99th and 99.9th percentiles.
+         */
+        private Snapshot(final long count, final double meanNanos, final long maxNanos,
+                         final long[] percentilesNanos) {
+            this.count = count;
+            this.meanNanos = meanNanos;
+            this.maxNanos = maxNanos;
+            this.percentilesNanos = percentilesNanos;
+        }
+
+        /**
+         * @return Amount of recorded values.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Mean time (in nanoseconds) of the recorded values.
+         */
+        public double getMeanNanos() {
+            return meanNanos;
+        }
+
+        /**
+         * @return Max. time (in nanoseconds) of the recorded values.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return Time (in nanoseconds) of the 50th percentile.
+         */
+        public long getP50Nanos() {
+            return percentilesNanos[0];
+        }
+
+        /**
+         * @return Time (in nanoseconds) of the 90th percentile.
+         */
+        public long getP90Nanos() {
+            return percentilesNanos[1];
+        }
+
+        /**
+         * @return Time (in nanoseconds) of the 99th percentile.
+         */
+        public long getP99Nanos() {
+            return percentilesNanos[2];
+        }
+
+        /**
+         * @return Time (in nanoseconds) of the 99.9th percentile.
+         */
+        public long getP999Nanos() {
+            return percentilesNanos[3];
+        }
+
+        /**
+         * Creates a {@link Snapshot} from the given buckets {@code counts}.
+         *
+         * @param counts     The buckets counts.
+         * @param totalNanos Total time (in nanoseconds) of the recorded values.
+         * @param maxNanos   Max. time (in nanoseconds) of the recorded values.
+         * @return The created {@link Snapshot}.
+         */
+        private static Snapshot of(final long[] counts, final long totalNanos, final long maxNanos) {
+            var count = 0L;
+            for (final var bucketCount : counts) {
+                count += bucketCount;
+            }
+            final var percentilesNanos = new long[PERCENTILES.length];
+            if (count == 0) {
+                return new Snapshot(0, 0, 0, percentilesNanos);
+            }
+            var percentile = 0;
+            var accumulated = 0L;
+            for (var i = 0; i < BUCKETS && percentile < PERCENTILES.length; i++) {
+                accumulated += counts[i];
+                while (percentile < PERCENTILES.length && accumulated >= rankOf(PERCENTILES[percentile], count)) {
+                    // The max. value is the tightest upper bound for the last bucket
+                    percentilesNanos[percentile] = Math.min(highestValueOf(i), maxNanos);
+                    percentile++;
+                }
+            }
+            return new Snapshot(count, (double) totalNanos / count, maxNanos, percentilesNanos);
+        }
+
+        /**
+         * Returns the amount of values that are lower than or equal to the given {@code percentile}.
+         *
+         * @param percentile The percentile.
+         * @param count      The amount of recorded values.
+         * @return The rank of the percentile (at least one).
+         */
+        private static long rankOf(final double percentile, final long count) {
+            return Math.max(1, (long) Math.ceil(count * percentile / 100));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.resilience.CallNotPermittedException;
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.ManagedAsyncExecutor;
+import org.glassfish.jersey.spi.ExecutorServiceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link ExecutorServiceProvider} for {@link ManagedAsync} resource methods, which executes them
+ * in virtual threads if the running JVM supports them, or in a pool of platform threads otherwise.
+ * Tasks are decorated with the given {@link TaskDecorator}s, in order to propagate thread bound state
+ * (e.g the security context) from the container threads.
+ * <p>
+ * The pool of platform threads has a bounded queue. When it is full, resource methods are rejected
+ * with a {@link CallNotPermittedException} (i.e a {@code 503 Service Unavailable} response),
+ * which is thrown in the container thread, so it is mapped by Jersey like any other exception.
+ *
+ * @see ManagedAsyncModelProcessor
+ * @see RequestExecutionProperties
+ */
+@ManagedAsyncExecutor
+public class ManagedAsyncExecutorServiceProvider implements ExecutorServiceProvider {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedAsyncExecutorServiceProvider.class);
+
+    /**
+     * The {@link Executors} method that creates an {@link ExecutorService} that starts a virtual thread per task
+     * (only present in JVMs supporting virtual threads).
+     */
+    private static final String VIRTUAL_THREAD_PER_TASK_EXECUTOR_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    /**
+     * Amount of seconds an idle platform thread is kept alive.
+     */
+    private static final long PLATFORM_THREADS_KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * The name of the "service" reported when a resource method is rejected.
+     */
+    private static final String REQUEST_EXECUTION_SERVICE = "request-execution";
+
+    /**
+     * The {@link ExecutorService} in which resource methods are executed.
+     */
+    private final ExecutorService executorService;
+
+
+    /**
+     * Constructor.
+     *
+     * @param fallbackPoolSize      The amount of platform threads used when virtual threads are not supported.
+     * @param fallbackQueueCapacity The maximum amount of resource methods waiting for a platform thread.
+     * @param taskDecorators        The {@link TaskDecorator}s applied (in order) to each task.
+     */
+    public ManagedAsyncExecutorServiceProvider(final int fallbackPoolSize, final int fallbackQueueCapacity,
+                                               final List<TaskDecorator> taskDecorators) {
+        Assert.notNull(taskDecorators, "The task decorators list must not be null");
+        this.executorService = new DecoratingExecutorService(
+                newExecutorService(fallbackPoolSize, fallbackQueueCapacity), taskDecorators);
+    }
+
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    @Override
+    public void dispose(final ExecutorService executorService) {
+        executorService.shutdown();
+    }
+
+
+    /**
+     * Creates an {@link ExecutorService} that starts a virtual thread per task if the running JVM supports them,
+     * or that uses a pool of platform threads (which are released when idle) otherwise.
+     *
+     * @param fallbackPoolSize      The amount of platform threads used when virtual threads are not supported.
+     * @param fallbackQueueCapacity The maximum amount of tasks waiting for a platform thread.
+     * @return The created {@link ExecutorService}.
+     */
+    /* package */ static ExecutorService newExecutorService(final int fallbackPoolSize,
+                                                           final int fallbackQueueCapacity) {
+        Assert.isTrue(fallbackPoolSize > 0, "The fallback pool size must be positive");
+        Assert.isTrue(fallbackQueueCapacity > 0, "The fallback queue capacity must be positive");
+        try {
+            final var executorService = (ExecutorService) Executors.class
+                    .getMethod(VIRTUAL_THREAD_PER_TASK_EXECUTOR_METHOD)
+                    .invoke(null);
+            LOGGER.info("Resource methods will be executed in virtual threads");
+            return executorService;
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            // Virtual threads are not present (or are a disabled preview feature) in the running JVM
+            LOGGER.warn("Virtual threads are not supported by the running JVM. " +
+                    "Resource methods will be executed in a pool of {} platform threads", fallbackPoolSize);
+        }
+        final var threadsCount = new AtomicInteger();
+        final var executor = new ThreadPoolExecutor(fallbackPoolSize, fallbackPoolSize,
+                PLATFORM_THREADS_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(fallbackQueueCapacity),
+                runnable -> {
+                    final var thread = new Thread(runnable, "managed-async-" + threadsCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+
+    /**
+     * An {@link ExecutorService} that decorates tasks (in the submitting thread) before delegating their execution,
+     * turning rejections into {@link CallNotPermittedException}s.
+     */
+    private static final class DecoratingExecutorService extends AbstractExecutorService {
+
+        /**
+         * The {@link ExecutorService} that executes the decorated tasks.
+         */
+        private final ExecutorService delegate;
+
+        /**
+         * The {@link TaskDecorator}s applied (in order) to each task.
+         */
+        private final List<TaskDecorator> taskDecorators;
+
+        /**
+         * Constructor.
+         *
+         * @param delegate       The {@link ExecutorService} that executes the decorated tasks.
+         * @param taskDecorators The {@link TaskDecorator}s applied (in order) to each task.
+         */
+        private DecoratingExecutorService(final ExecutorService delegate, final List<TaskDecorator> taskDecorators) {
+            this.delegate = delegate;
+            this.taskDecorators = List.copyOf(taskDecorators);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            var decorated = command;
+            for (final var taskDecorator : taskDecorators) {
+                decorated = taskDecorator.decorate(decorated);
+            }
+            try {
+                delegate.execute(decorated);
+            } catch (final RejectedExecutionException e) {
+                // The queue is full (or the application is shutting down), so the request must be shed
+                throw new CallNotPermittedException(REQUEST_EXECUTION_SERVICE,
+                        "Too many requests waiting for a thread");
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
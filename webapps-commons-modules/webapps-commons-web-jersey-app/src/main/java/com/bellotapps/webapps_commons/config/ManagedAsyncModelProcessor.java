@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.ManagedAsyncExecutor;
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+import javax.ws.rs.core.Configuration;
+
+/**
+ * A {@link ModelProcessor} that turns every resource method into a {@link ManagedAsync} one,
+ * so they are executed by the {@link ManagedAsyncExecutor} (i.e the {@link ManagedAsyncExecutorServiceProvider}),
+ * releasing the container threads while they execute.
+ * <p>
+ * As the container threads are released, servlet filters (e.g the uncaught exception handler filter)
+ * no longer wrap the execution of resource methods: exceptions thrown by them are mapped by Jersey's
+ * exception mappers (i.e the {@link ThrowableMapper}) in the executing thread.
+ */
+/* package */ class ManagedAsyncModelProcessor implements ModelProcessor {
+
+    @Override
+    public ResourceModel processResourceModel(final ResourceModel resourceModel, final Configuration configuration) {
+        return process(resourceModel, false);
+    }
+
+    @Override
+    public ResourceModel processSubResource(final ResourceModel subResourceModel, final Configuration configuration) {
+        return process(subResourceModel, true);
+    }
+
+
+    /**
+     * Builds a {@link ResourceModel} like the given one, but with {@link ManagedAsync} resource methods.
+     *
+     * @param resourceModel The {@link ResourceModel} to be processed.
+     * @param subResource   Indicates whether the given {@code resourceModel} is a sub-resource model.
+     * @return The new {@link ResourceModel}.
+     */
+    private static ResourceModel process(final ResourceModel resourceModel, final boolean subResource) {
+        final var builder = new ResourceModel.Builder(subResource);
+        resourceModel.getResources().stream()
+                .map(ManagedAsyncModelProcessor::managedAsync)
+                .forEach(builder::addResource);
+        return builder.build();
+    }
+
+    /**
+     * Builds a {@link Resource} like the given one (including its child resources),
+     * but with {@link ManagedAsync} resource methods.
+     *
+     * @param resource The {@link Resource} to be processed.
+     * @return The new {@link Resource}.
+     */
+    private static Resource managedAsync(final Resource resource) {
+        final var builder = Resource.builder(resource);
+        resource.getResourceMethods().stream()
+                .filter(method -> !method.isManagedAsyncDeclared())
+                .forEach(method -> builder.updateMethod(method).managedAsync());
+        resource.getChildResources()
+                .forEach(child -> builder.replaceChildResource(child, managedAsync(child)));
+        return builder.build();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.data_transfer.json.RenderedBody;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A {@link MessageBodyWriter} that writes {@link RenderedBody}s as they are (i.e without serializing anything).
+ */
+public class RenderedBodyMessageBodyWriter implements MessageBodyWriter<RenderedBody> {
+
+    @Override
+    public boolean isWriteable(
+            final Class<?> type,
+            final Type genericType,
+            final Annotation[] annotations,
+            final MediaType mediaType) {
+        return type == RenderedBody.class;
+    }
+
+    @Override
+    public long getSize(
+            final RenderedBody renderedBody,
+            final Class<?> type,
+            final Type genericType,
+            final Annotation[] annotations,
+            final MediaType mediaType) {
+        return renderedBody.getContentLength();
+    }
+
+    @Override
+    public void writeTo(
+            final RenderedBody renderedBody,
+            final Class<?> type,
+            final Type genericType,
+            final Annotation[] annotations,
+            final MediaType mediaType,
+            final MultivaluedMap<String, Object> httpHeaders,
+            final OutputStream entityStream) throws IOException {
+        httpHeaders.putSingle(HttpHeaders.CONTENT_LENGTH, renderedBody.getContentLength());
+        renderedBody.writeTo(entityStream);
+    }
+}
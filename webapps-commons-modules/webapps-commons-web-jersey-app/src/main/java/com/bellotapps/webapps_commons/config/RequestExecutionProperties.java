@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import com.bellotapps.webapps_commons.core.FrameworkConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the execution of resource methods.
+ *
+ * @see ManagedAsyncExecutorServiceProvider
+ */
+@ConfigurationProperties(prefix = RequestExecutionProperties.PREFIX)
+public class RequestExecutionProperties {
+
+    /**
+     * Prefix for the "request-execution" group.
+     */
+    /* package */ static final String PREFIX = FrameworkConstants.MAIN_PROPERTIES_PREFIX + ".request-execution";
+
+    /**
+     * Indicates whether resource methods must be executed in virtual threads
+     * (releasing the container threads while they execute).
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * The amount of platform threads used to execute resource methods
+     * when virtual threads are not supported by the running JVM.
+     */
+    private int fallbackPoolSize = 1000;
+
+    /**
+     * The maximum amount of resource methods waiting for a platform thread
+     * when virtual threads are not supported by the running JVM (the rest are rejected with a 503 response).
+     */
+    private int fallbackQueueCapacity = 1000;
+
+
+    /**
+     * Getter for the virtual threads flag.
+     *
+     * @return {@code true} if resource methods must be executed in virtual threads, or {@code false} otherwise.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Getter for the fallback pool size.
+     *
+     * @return The amount of platform threads used when virtual threads are not supported.
+     */
+    public int getFallbackPoolSize() {
+        return fallbackPoolSize;
+    }
+
+    /**
+     * Getter for the fallback queue capacity.
+     *
+     * @return The maximum amount of resource methods waiting for a platform thread.
+     */
+    public int getFallbackQueueCapacity() {
+        return fallbackQueueCapacity;
+    }
+
+    /**
+     * Setter for the virtual threads flag.
+     *
+     * @param virtualThreads {@code true} if resource methods must be executed in virtual threads,
+     *                       or {@code false} otherwise.
+     */
+    public void setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Setter for the fallback pool size.
+     *
+     * @param fallbackPoolSize The amount of platform threads used when virtual threads are not supported.
+     */
+    public void setFallbackPoolSize(final int fallbackPoolSize) {
+        this.fallbackPoolSize = fallbackPoolSize;
+    }
+
+    /**
+     * Setter for the fallback queue capacity.
+     *
+     * @param fallbackQueueCapacity The maximum amount of resource methods waiting for a platform thread.
+     */
+    public void setFallbackQueueCapacity(final int fallbackQueueCapacity) {
+        this.fallbackQueueCapacity = fallbackQueueCapacity;
+    }
+}
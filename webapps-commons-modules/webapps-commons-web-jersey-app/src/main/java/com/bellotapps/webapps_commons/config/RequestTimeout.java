@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Sets the default timeout of the requests served by a resource method of a {@link JerseyController}
+ * (or by all the resource methods of the annotated controller), used to set their
+ * {@link com.bellotapps.webapps_commons.resilience.Deadline} if the client does not send its own timeout.
+ *
+ * @see DeadlineFilter
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestTimeout {
+
+    /**
+     * The default timeout, in milliseconds (zero or negative means no timeout, even if there is a default one).
+     *
+     * @return The default timeout, in milliseconds.
+     */
+    long value();
+}
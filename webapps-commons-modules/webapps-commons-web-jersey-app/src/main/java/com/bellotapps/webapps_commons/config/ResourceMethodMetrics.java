@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * In-memory latency metrics of the resource methods (i.e a {@link LatencyHistogram} for each of them),
+ * recorded by the {@link ResourceMethodMetricsFilter}.
+ * Histograms are keyed by the matched resource method (i.e its HTTP method and path template),
+ * instead of by the requested URI, so the amount of histograms is bounded by the amount of resource methods.
+ * Metrics can be retrieved (without any metrics backend) through {@link #snapshot()},
+ * or by interval, through {@link #snapshotAndReset()}.
+ */
+public final class ResourceMethodMetrics {
+
+    /**
+     * The histograms, by resource method name.
+     */
+    private final ConcurrentMap<String, LatencyHistogram> histograms;
+
+
+    /**
+     * Constructor.
+     */
+    public ResourceMethodMetrics() {
+        this.histograms = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Returns the {@link LatencyHistogram} of the resource method with the given {@code name},
+     * creating it if needed.
+     *
+     * @param name The name of the resource method (e.g {@code GET /users/{id}}).
+     * @return The {@link LatencyHistogram}.
+     */
+    public LatencyHistogram histogram(final String name) {
+        Assert.notNull(name, "The name must not be null");
+        // Avoid computeIfAbsent in the common case, as it might lock even if the key is present
+        final var histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, ignored -> new LatencyHistogram());
+    }
+
+    /**
+     * Takes a snapshot of all the latencies recorded since the application started (or metrics were last reset).
+     *
+     * @return A sorted {@link Map} with the {@link LatencyHistogram.Snapshot} of each resource method.
+     */
+    public Map<String, LatencyHistogram.Snapshot> snapshot() {
+        return snapshot(LatencyHistogram::snapshot);
+    }
+
+    /**
+     * Takes a snapshot of the latencies recorded since the application started (or metrics were last reset),
+     * and resets them (i.e each latency is included in exactly one interval snapshot).
+     *
+     * @return A sorted {@link Map} with the {@link LatencyHistogram.Snapshot} of each resource method.
+     */
+    public Map<String, LatencyHistogram.Snapshot> snapshotAndReset() {
+        return snapshot(LatencyHistogram::snapshotAndReset);
+    }
+
+
+    /**
+     * Takes a snapshot of each histogram using the given {@code snapshotFunction}.
+     *
+     * @param snapshotFunction A {@link Function} that takes the snapshot of a {@link LatencyHistogram}.
+     * @return A sorted {@link Map} with the {@link LatencyHistogram.Snapshot} of each resource method.
+     */
+    private Map<String, LatencyHistogram.Snapshot> snapshot(
+            final Function<LatencyHistogram, LatencyHistogram.Snapshot> snapshotFunction) {
+        final var result = new TreeMap<String, LatencyHistogram.Snapshot>();
+        histograms.forEach((name, histogram) -> result.put(name, snapshotFunction.apply(histogram)));
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.config;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.springframework.util.Assert;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Jersey filter that records the latency of each request in the {@link LatencyHistogram}
+ * of the matched resource method (requests not matching any resource method are not recorded).
+ * Latency is measured from the first request filter (as this one is executed before the rest)
+ * to the last response filter, as it is taken in the response filter.
+ * This means that it excludes the serialization of the response entity (which is performed afterwards,
+ * by the message body writers), so resource methods returning big entities are slower than what is recorded.
+ *
+ * @see ResourceMethodMetrics
+ */
+@Priority(Priorities.AUTHENTICATION - 1)
+public class ResourceMethodMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * Name of the request property that holds the time (in nanoseconds) in which a request started.
+     */
+    private static final String START_NANOS_PROPERTY = ResourceMethodMetricsFilter.class.getName() + ".start";
+
+    /**
+     * The {@link ResourceMethodMetrics} in which latencies are recorded.
+     */
+    private final ResourceMethodMetrics metrics;
+
+    /**
+     * The histograms already resolved, by resource method
+     * (which avoids building the resource method name on each request).
+     */
+    private final ConcurrentMap<ResourceMethod, LatencyHistogram> histograms;
+
+
+    /**
+     * Constructor.
+     *
+     * @param metrics The {@link ResourceMethodMetrics} in which latencies are recorded.
+     */
+    public ResourceMethodMetricsFilter(final ResourceMethodMetrics metrics) {
+        Assert.notNull(metrics, "The metrics must not be null");
+        this.metrics = metrics;
+        this.histograms = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        requestContext.setProperty(START_NANOS_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        final var start = requestContext.getProperty(START_NANOS_PROPERTY);
+        if (!(start instanceof Long) || !(requestContext instanceof ContainerRequest)) {
+            return;
+        }
+        final var resourceMethod = ((ContainerRequest) requestContext).getUriInfo().getMatchedResourceMethod();
+        if (resourceMethod == null) {
+            return;
+        }
+        histogram(resourceMethod).record(System.nanoTime() - (Long) start);
+    }
+
+    /**
+     * Returns the {@link LatencyHistogram} of the given {@code resourceMethod}.
+     *
+     * @param resourceMethod The {@link ResourceMethod}.
+     * @return The {@link LatencyHistogram}.
+     */
+    private LatencyHistogram histogram(final ResourceMethod resourceMethod) {
+        final var histogram = histograms.get(resourceMethod);
+        return histogram != null ? histogram :
+                histograms.computeIfAbsent(resourceMethod, method -> metrics.histogram(nameOf(method)));
+    }
+
+    /**
+     * Builds the name of the given {@code resourceMethod} (i.e its HTTP method and its full path template).
+     *
+     * @param resourceMethod The {@link ResourceMethod}.
+     * @return The name of the resource method.
+     */
+    private static String nameOf(final ResourceMethod resourceMethod) {
+        final var paths = new ArrayDeque<String>();
+        for (var resource = resourceMethod.getParent(); resource != null; resource = resource.getParent()) {
+            paths.addFirst(trimSlashes(resource.getPath()));
+        }
+        final var path = new StringBuilder();
+        paths.stream().filter(segment -> !segment.isEmpty()).forEach(segment -> path.append('/').append(segment));
+        return resourceMethod.getHttpMethod() + " " + (path.length() == 0 ? "/" : path.toString());
+    }
+
+    /**
+     * Removes the leading and trailing slashes of the given {@code path}.
+     *
+     * @param path The path (might be {@code null}).
+     * @return The trimmed path (empty if {@code null}).
+     */
+    private static String trimSlashes(final String path) {
+        if (path == null) {
+            return "";
+        }
+        var start = 0;
+        var end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+}
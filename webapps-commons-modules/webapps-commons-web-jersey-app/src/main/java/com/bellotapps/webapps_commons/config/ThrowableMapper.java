@@ -14,39 +14,128 @@
  * limitations under the License.
  */
 
+
 package com.bellotapps.webapps_commons.config;
 
 import com.bellotapps.utils.error_handler.ErrorHandler;
+import com.bellotapps.webapps_commons.data_transfer.json.ApiObjectMapper;
+import com.bellotapps.webapps_commons.data_transfer.json.PreRenderedBodies;
+import com.bellotapps.webapps_commons.data_transfer.json.RenderedBody;
+import com.bellotapps.webapps_commons.error_handling.ErrorHandlingEvent;
+import com.bellotapps.webapps_commons.error_handling.InstrumentedErrorHandler;
+import com.bellotapps.webapps_commons.resilience.CircuitBreakerOpenException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.ext.ExceptionMapper;
-import java.util.Optional;
 
 /**
  * A global {@link ExceptionMapper} that is in charge of mapping any {@link Throwable} thrown
  * within a Jersey application, using an {@link ErrorHandler}.
+ * <p>
+ * Responses are built so Jersey does almost no work when writing them:
+ * results without entity are sent without entity (i.e without selecting any entity provider),
+ * static entities are sent using their pre-rendered bodies,
+ * and the rest of the entities are sent as {@link StreamingOutput}s, which serialize them straight into the response
+ * with an {@link ObjectWriter} resolved once per entity class (i.e without buffering them,
+ * so big entities like the streamed constraint violation errors are never held in memory at once).
+ * All bodies are sent with an explicit media type (i.e without content negotiation).
+ * Calls short-circuited by an open circuit breaker are answered with a {@code Retry-After} header.
+ * Note that a new {@link Response} is built each time, as Jersey uses it to hold per-request state.
  */
 public class ThrowableMapper implements ExceptionMapper<Throwable> {
 
+    /**
+     * The media type of the rendered bodies.
+     */
+    private static final MediaType CONTENT_TYPE = MediaType.valueOf(PreRenderedBodies.CONTENT_TYPE);
+
     /**
      * The {@link ErrorHandler} in charge of transforming an exception into data to be returned in the response.
      */
     private final ErrorHandler errorHandler;
 
+    /**
+     * The {@link PreRenderedBodies} used to send static entities without serializing them again.
+     */
+    private final PreRenderedBodies preRenderedBodies;
+
+    /**
+     * The {@link ObjectWriter}s used to stream non static entities, by entity class.
+     */
+    private final ClassValue<ObjectWriter> writers;
+
     /**
      * Constructor.
      *
      * @param exceptionHandler The {@link ErrorHandler} to be used to map errors into responses.
+     * @deprecated Use {@link #ThrowableMapper(ErrorHandler, ApiObjectMapper)} instead,
+     * as this constructor creates its own {@link ApiObjectMapper} (i.e it ignores the application's one).
      */
+    @Deprecated
     public ThrowableMapper(final ErrorHandler exceptionHandler) {
+        this(exceptionHandler, new ApiObjectMapper());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param exceptionHandler The {@link ErrorHandler} to be used to map errors into responses.
+     * @param apiObjectMapper  The {@link ApiObjectMapper} used to render entities.
+     */
+    public ThrowableMapper(final ErrorHandler exceptionHandler, final ApiObjectMapper apiObjectMapper) {
         this.errorHandler = exceptionHandler;
+        this.preRenderedBodies = new PreRenderedBodies(apiObjectMapper);
+        this.writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(final Class<?> type) {
+                // The entity stream belongs to Jersey, so it must not be closed by the writer
+                return apiObjectMapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            }
+        };
     }
 
     @Override
     public Response toResponse(final Throwable exception) {
+        final var event = ErrorHandlingEvent.start();
         final var result = errorHandler.handle(exception);
-        return Response.status(result.getHttpErrorCode())
-                .entity(Optional.ofNullable(result.getErrorRepresentationEntity()).orElse(""))
-                .build();
+        final var status = result.getHttpErrorCode();
+        final var entity = result.getErrorRepresentationEntity();
+        final var builder = Response.status(status);
+        if (exception instanceof CircuitBreakerOpenException) {
+            builder.header(HttpHeaders.RETRY_AFTER, ((CircuitBreakerOpenException) exception).getRetryAfterSeconds());
+        }
+        final var response = entity == null ?
+                builder.build() :
+                builder.type(CONTENT_TYPE).entity(render(entity)).build();
+        event.finish(ThrowableMapper.class.getSimpleName(), exception, status);
+        return response;
+    }
+
+    /**
+     * Renders the given {@code entity}.
+     *
+     * @param entity The entity to be rendered.
+     * @return The pre-rendered {@link RenderedBody} of the entity if it is a static one,
+     * or a {@link StreamingOutput} that serializes it when Jersey writes the response otherwise.
+     */
+    private Object render(final Object entity) {
+        final var preRendered = preRenderedBodies.lookup(entity);
+        if (preRendered.isPresent()) {
+            return preRendered.get();
+        }
+        final var writer = writers.get(entity.getClass());
+        return (StreamingOutput) output -> {
+            final var start = System.nanoTime();
+            try {
+                writer.writeValue(output, entity);
+            } finally {
+                InstrumentedErrorHandler.recordSerialization(errorHandler, System.nanoTime() - start);
+            }
+        };
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.sample;
+
+import com.bellotapps.webapps_commons.config.JerseyController;
+
+import javax.validation.constraints.Size;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Map;
+
+/**
+ * A simple {@link JerseyController}, so the sample application has a resource method.
+ */
+@Path(GreetingsController.GREETINGS_ENDPOINT)
+@Produces(MediaType.APPLICATION_JSON)
+@JerseyController
+public class GreetingsController {
+
+    /**
+     * Endpoint for greetings.
+     */
+    /* package */ static final String GREETINGS_ENDPOINT = "/greetings";
+
+    /**
+     * Maximum length of a name.
+     */
+    private static final int NAME_MAX_LENGTH = 64;
+
+
+    /**
+     * Greets the given name.
+     *
+     * @param name The name to greet.
+     * @return A 200 OK response with the greeting.
+     */
+    @GET
+    public Response greet(@QueryParam("name") @DefaultValue("World") @Size(max = NAME_MAX_LENGTH) final String name) {
+        return Response.ok(Map.of("greeting", "Hello, " + name + "!")).build();
+    }
+}
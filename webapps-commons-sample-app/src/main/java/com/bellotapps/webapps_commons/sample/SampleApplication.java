@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018-2019 BellotApps
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bellotapps.webapps_commons.sample;
+
+import com.bellotapps.webapps_commons.config.EnableJerseyApplication;
+import com.bellotapps.webapps_commons.security.authentication.EnableJwtAuthentication;
+import com.bellotapps.webapps_commons.startup.EnableWarmUp;
+import com.bellotapps.webapps_commons.validation.jersey.EnableJerseyValidation;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Sample application, used to train the Application Class Data Sharing archive, and to compare startup times.
+ */
+@SpringBootApplication
+@EnableJerseyApplication(basePackageClasses = SampleApplication.class)
+@EnableJwtAuthentication
+@EnableJerseyValidation
+@EnableWarmUp
+public class SampleApplication {
+
+    /**
+     * Entry point.
+     *
+     * @param args Program arguments.
+     */
+    public static void main(final String[] args) {
+        SpringApplication.run(SampleApplication.class, args);
+    }
+}